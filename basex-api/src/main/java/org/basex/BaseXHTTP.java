@@ -82,6 +82,7 @@ public final class BaseXHTTP extends CLI {
     // enable GZIP support
     if(soptions.get(StaticOptions.GZIP)) {
       final GzipHandler gzip = new GzipHandler();
+      gzip.setMinGzipSize(soptions.get(StaticOptions.GZIPMINSIZE));
       gzip.setHandler(wac);
       jetty.setHandler(gzip);
     } else {
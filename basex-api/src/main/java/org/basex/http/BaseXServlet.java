@@ -5,6 +5,8 @@ import static org.basex.http.HTTPText.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 import javax.servlet.*;
 import javax.servlet.http.*;
@@ -25,6 +27,8 @@ import org.basex.util.*;
  * @author Christian Gruen
  */
 public abstract class BaseXServlet extends HttpServlet {
+  /** Threads for asynchronous request processing (created with the first request). */
+  private volatile ThreadPoolExecutor pool;
   /** Servlet-specific user. */
   private String username;
   /** Servlet-specific authentication method. */
@@ -59,7 +63,95 @@ public abstract class BaseXServlet extends HttpServlet {
   public final void service(final HttpServletRequest request, final HttpServletResponse response)
       throws IOException {
 
-    final HTTPConnection conn = new HTTPConnection(request, response, auth);
+    if(request.isAsyncSupported()) {
+      // asynchronous processing: release container thread while the request is evaluated,
+      // and while waiting for locks or the responses of remote resources
+      final AsyncContext async = request.startAsync();
+      final AsyncRequest req = new AsyncRequest(request, async, getServletContext());
+      final HTTPConnection conn = new HTTPConnection(req, response, auth);
+      final StaticOptions sopts = conn.context.soptions;
+      // by default, no timeout is assigned (0)
+      async.setTimeout(Math.max(0, sopts.get(StaticOptions.ASYNCTIMEOUT)) * 1000L);
+      async.addListener(new AsyncListener() {
+        @Override
+        public void onTimeout(final AsyncEvent event) throws IOException {
+          req.timeout(conn);
+        }
+        @Override
+        public void onComplete(final AsyncEvent event) { }
+        @Override
+        public void onError(final AsyncEvent event) { }
+        @Override
+        public void onStartAsync(final AsyncEvent event) { }
+      });
+      try {
+        pool(sopts).execute(() -> {
+          if(!req.claim()) return;
+          try {
+            process(conn);
+          } catch(final IOException ex) {
+            Util.debug(ex);
+          } finally {
+            req.finish();
+          }
+        });
+      } catch(final RejectedExecutionException ex) {
+        // all threads are busy and the queue is full
+        Util.debug(ex);
+        if(req.claim()) {
+          conn.error(SC_SERVICE_UNAVAILABLE, SERVER_BUSY);
+          async.complete();
+        }
+      }
+    } else {
+      process(new HTTPConnection(request, response, auth));
+    }
+  }
+
+  @Override
+  public void destroy() {
+    final ThreadPoolExecutor tpe = pool;
+    if(tpe != null) tpe.shutdown();
+    super.destroy();
+  }
+
+  /**
+   * Returns the thread pool for asynchronous requests. The maximum number of threads and queued
+   * requests is defined by {@link StaticOptions#ASYNCTHREADS} and
+   * {@link StaticOptions#ASYNCQUEUE}. Requests that exceed these limits will be rejected.
+   * @param sopts static options
+   * @return thread pool
+   */
+  private ThreadPoolExecutor pool(final StaticOptions sopts) {
+    ThreadPoolExecutor tpe = pool;
+    if(tpe == null) {
+      synchronized(this) {
+        tpe = pool;
+        if(tpe == null) {
+          final int threads = Math.max(1, sopts.get(StaticOptions.ASYNCTHREADS));
+          final int queue = sopts.get(StaticOptions.ASYNCQUEUE);
+          tpe = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            queue > 0 ? new ArrayBlockingQueue<>(queue) : new SynchronousQueue<>(), runnable -> {
+              final Thread thread = new Thread(runnable);
+              thread.setDaemon(true);
+              return thread;
+            });
+          tpe.allowCoreThreadTimeOut(true);
+          pool = tpe;
+        }
+      }
+    }
+    return tpe;
+  }
+
+  /**
+   * Processes a request.
+   * @param conn HTTP connection
+   * @throws IOException I/O exception
+   */
+  private void process(final HTTPConnection conn) throws IOException {
+    final HttpServletRequest request = conn.request;
+    final HttpServletResponse response = conn.response;
     try {
       conn.authenticate(username);
       run(conn);
@@ -82,6 +174,7 @@ public abstract class BaseXServlet extends HttpServlet {
       Util.errln(msg);
       conn.error(SC_INTERNAL_SERVER_ERROR, Util.info(UNEXPECTED_X, msg));
     } finally {
+      conn.requestCtx.close();
       if(Prop.debug) {
         Util.errln("Request: " + request.getMethod() + ' ' + request.getRequestURL());
         for(final Enumeration<String> en = request.getHeaderNames(); en.hasMoreElements();) {
@@ -102,4 +195,152 @@ public abstract class BaseXServlet extends HttpServlet {
    * @throws Exception any exception
    */
   protected abstract void run(HTTPConnection conn) throws Exception;
+
+  /**
+   * Request that is processed asynchronously. As the container may reset the path information
+   * of the original request, the relevant properties are preserved. Forwards are dispatched
+   * to the container.
+   */
+  private static final class AsyncRequest extends HttpServletRequestWrapper {
+    /** Prefix of container attributes for asynchronous requests. */
+    private static final String ASYNC_PREFIX = "javax.servlet.async.";
+
+    /** Asynchronous context. */
+    private final AsyncContext async;
+    /** Servlet context. */
+    private final ServletContext context;
+    /** Context path. */
+    private final String contextPath;
+    /** Servlet path. */
+    private final String servletPath;
+    /** Path info (can be {@code null}). */
+    private final String pathInfo;
+    /** Indicates if the request has been dispatched. */
+    private boolean dispatched;
+    /** Indicates if the request has been claimed by a worker or by the timeout handler. */
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    /** Signals that the worker has finished. */
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    /**
+     * Constructor.
+     * @param request request
+     * @param async asynchronous context
+     * @param context servlet context
+     */
+    private AsyncRequest(final HttpServletRequest request, final AsyncContext async,
+        final ServletContext context) {
+      super(request);
+      this.async = async;
+      this.context = context;
+      contextPath = request.getContextPath();
+      servletPath = request.getServletPath();
+      pathInfo = request.getPathInfo();
+    }
+
+    /**
+     * Claims the request. Called by the worker before the request is processed, and by the
+     * container if the request is rejected or has timed out.
+     * @return {@code true} if the request has not been claimed yet
+     */
+    private boolean claim() {
+      return claimed.compareAndSet(false, true);
+    }
+
+    /**
+     * Called by the worker after the request has been processed. Completes the request.
+     */
+    private void finish() {
+      if(!dispatched) async.complete();
+      finished.countDown();
+    }
+
+    /**
+     * Called by the container if the request has timed out. If the request is still queued,
+     * an error is sent. Otherwise, the jobs of the request are stopped, and the container thread
+     * waits until the worker has sent its response and completed the request: the response must
+     * not be written and completed by two threads.
+     * @param conn HTTP connection
+     * @throws IOException I/O exception
+     */
+    private void timeout(final HTTPConnection conn) throws IOException {
+      if(claim()) {
+        conn.error(SC_SERVICE_UNAVAILABLE, REQUEST_TIMEOUT);
+        async.complete();
+        return;
+      }
+      for(final Job job : conn.context.jobs.active.values()) {
+        if(job.jc().context == conn.context) job.timeout();
+      }
+      try {
+        finished.await();
+      } catch(final InterruptedException ex) {
+        Util.debug(ex);
+      }
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+      return context;
+    }
+
+    @Override
+    public String getContextPath() {
+      return contextPath;
+    }
+
+    @Override
+    public String getServletPath() {
+      return servletPath;
+    }
+
+    @Override
+    public String getPathInfo() {
+      return pathInfo;
+    }
+
+    @Override
+    public Object getAttribute(final String name) {
+      return name.startsWith(ASYNC_PREFIX) ? null : super.getAttribute(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+      // hide attributes that have been assigned by the container
+      final ArrayList<String> names = new ArrayList<>();
+      for(final Enumeration<String> en = super.getAttributeNames(); en.hasMoreElements();) {
+        final String name = en.nextElement();
+        if(!name.startsWith(ASYNC_PREFIX)) names.add(name);
+      }
+      return Collections.enumeration(names);
+    }
+
+    @Override
+    public RequestDispatcher getRequestDispatcher(final String path) {
+      String target = path;
+      if(!Strings.startsWith(path, '/')) {
+        // resolve relative path against the path of the original request
+        final String current = servletPath + (pathInfo != null ? pathInfo : "");
+        final int slash = current.lastIndexOf('/');
+        target = (slash > 1 ? current.substring(0, slash + 1) : "/") + path;
+      }
+      final RequestDispatcher rd = context.getRequestDispatcher(target);
+      if(rd == null) return null;
+
+      final String location = target;
+      return new RequestDispatcher() {
+        @Override
+        public void forward(final ServletRequest request, final ServletResponse response) {
+          dispatched = true;
+          async.dispatch(context, location);
+        }
+
+        @Override
+        public void include(final ServletRequest request, final ServletResponse response)
+            throws ServletException, IOException {
+          rd.include(request, response);
+        }
+      };
+    }
+  }
 }
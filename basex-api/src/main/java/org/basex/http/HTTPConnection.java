@@ -5,6 +5,7 @@ import static org.basex.util.Token.*;
 import static org.basex.util.http.HttpText.*;
 
 import java.io.*;
+import java.security.*;
 import java.util.*;
 
 import javax.servlet.*;
@@ -14,6 +15,7 @@ import org.basex.core.*;
 import org.basex.core.StaticOptions.*;
 import org.basex.core.jobs.*;
 import org.basex.core.users.*;
+import org.basex.io.*;
 import org.basex.io.serial.*;
 import org.basex.server.*;
 import org.basex.server.Log.*;
@@ -355,7 +357,7 @@ public final class HTTPConnection implements ClientInfo {
 
           String h2 = method + ':' + map.get(Request.URI);
           final String qop = map.get(Request.QOP);
-          if(Strings.eq(qop, AUTH_INT)) h2 += ':' + Strings.md5(requestCtx.payload().toString());
+          if(Strings.eq(qop, AUTH_INT)) h2 += ':' + md5(requestCtx.payload());
           final String ha2 = Strings.md5(h2);
 
           final StringBuilder sb = new StringBuilder(ha1).append(':').append(nonce);
@@ -381,6 +383,26 @@ public final class HTTPConnection implements ClientInfo {
     }
   }
 
+  /**
+   * Returns an MD5 hash of the specified input in lower case. The input is read in chunks.
+   * @param input input
+   * @return md5 hash
+   * @throws IOException I/O exception
+   */
+  private static String md5(final IO input) throws IOException {
+    final MessageDigest md;
+    try {
+      md = MessageDigest.getInstance("MD5");
+    } catch(final NoSuchAlgorithmException ex) {
+      throw Util.notExpected(ex);
+    }
+    final byte[] buffer = new byte[IO.BLOCKSIZE];
+    try(InputStream is = input.inputStream()) {
+      for(int n; (n = is.read(buffer)) != -1;) md.update(buffer, 0, n);
+    }
+    return string(hex(md.digest(), false));
+  }
+
   /**
    * Returns a user for the specified string, or an error.
    * @param user user name (can be {@code null})
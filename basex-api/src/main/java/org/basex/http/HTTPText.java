@@ -26,6 +26,12 @@ public interface HTTPText {
   String WRONGAUTH_X = "% authentication expected.";
   /** Unexpected error. */
   String UNEXPECTED_X = "Unexpected error: %";
+  /** Rejected request. */
+  String SERVER_BUSY = "Server is busy, request was rejected.";
+  /** Timed out request. */
+  String REQUEST_TIMEOUT = "Request timed out.";
+  /** Closed WebSocket connection. */
+  String WS_QUEUE_EXCEEDED = "Too many pending messages.";
 
   /** DBA client id. */
   String DBA_CLIENT_ID = "dba";
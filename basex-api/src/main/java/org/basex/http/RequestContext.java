@@ -6,13 +6,17 @@ import java.util.*;
 
 import javax.servlet.http.*;
 
+import org.basex.build.*;
 import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.data.*;
 import org.basex.io.*;
-import org.basex.io.in.*;
+import org.basex.io.out.*;
 import org.basex.query.*;
 import org.basex.query.util.list.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
 import org.basex.util.*;
 import org.basex.util.http.*;
 
@@ -23,6 +27,9 @@ import org.basex.util.http.*;
  * @author Christian Gruen
  */
 public final class RequestContext {
+  /** Maximum size of request bodies that will be cached in main memory. */
+  public static final int MAXCACHE = 1 << 24;
+
   /** HTTP servlet request. */
   public final HttpServletRequest request;
 
@@ -32,8 +39,12 @@ public final class RequestContext {
   private Map<String, Value> values;
   /** Form parameters. */
   private Map<String, Value> form;
-  /** Content body. */
-  private IOContent content;
+  /** Content body (main memory or temporary file). */
+  private IO content;
+  /** Temporary database for a large XML body (can be {@code null}). */
+  private Data data;
+  /** Static options (assigned if a temporary database has been created). */
+  private StaticOptions soptions;
 
   /**
    * Returns an immutable map with all query parameters.
@@ -109,16 +120,80 @@ public final class RequestContext {
 
   /**
    * Returns the cached payload.
+   * Bodies exceeding {@link #MAXCACHE} bytes are written to a temporary file, which will be
+   * deleted when the request has been processed. Binary items that are bound to the file will
+   * be cached in main memory if they are materialized (e.g., if they are stored in a session
+   * or passed on to a job).
    * @return value
    * @throws IOException I/O exception
    */
-  public IOContent payload() throws IOException {
+  public IO payload() throws IOException {
     if(content == null) {
-      content = new IOContent(BufferInput.get(request.getInputStream()).content());
+      final byte[] buffer = new byte[IO.BLOCKSIZE];
+      final ArrayOutput ao = new ArrayOutput();
+      try(InputStream is = request.getInputStream()) {
+        for(int n; (n = is.read(buffer)) != -1;) {
+          ao.write(buffer, 0, n);
+          if(ao.size() > MAXCACHE) {
+            // large body: write cached bytes and remaining input to temporary file
+            final IOFile file = new IOFile(File.createTempFile(Prop.NAME + '-', IO.TMPSUFFIX));
+            try(BufferOutput bo = new BufferOutput(file)) {
+              bo.write(ao.finish());
+              while((n = is.read(buffer)) != -1) bo.write(buffer, 0, n);
+            } catch(final IOException ex) {
+              file.delete();
+              throw ex;
+            }
+            content = file;
+            return content;
+          }
+        }
+      }
+      content = new IOContent(ao.finish());
     }
     return content;
   }
 
+  /**
+   * Returns the payload as XQuery value.
+   * Large XML bodies, which have been written to a temporary file, are parsed into a temporary
+   * database on disk. The database will be dropped when the request has been processed.
+   * @param type media type
+   * @param ctx database context
+   * @return value
+   * @throws IOException I/O exception
+   * @throws QueryException query exception
+   */
+  public Value body(final MediaType type, final Context ctx) throws IOException, QueryException {
+    final IO payload = payload();
+    final MainOptions mopts = ctx.options;
+    if(payload instanceof IOFile && type.isXML() && !mopts.get(MainOptions.MAINMEM)) {
+      if(data == null) {
+        soptions = ctx.soptions;
+        final String name = soptions.createRandomDb(Prop.NAME + "-request");
+        try {
+          data = new DiskBuilder(name, Parser.xmlParser(payload), soptions, mopts).build();
+        } catch(final IOException ex) {
+          DropDB.drop(name, soptions);
+          throw ex;
+        }
+      }
+      return new DBNode(data);
+    }
+    return HttpPayload.value(payload, mopts, type);
+  }
+
+  /**
+   * Deletes a temporary file and database that may have been created for the request body.
+   */
+  public void close() {
+    if(data != null) {
+      DropDB.drop(data, soptions);
+      data = null;
+    }
+    if(content instanceof IOFile) ((IOFile) content).delete();
+  }
+
   // PRIVATE FUNCTIONS ============================================================================
 
   /**
@@ -144,7 +219,7 @@ public final class RequestContext {
    * @throws IOException I/O exception
    */
   private void addURLEncoded(final Map<String, Value> map) throws IOException {
-    for(final String param : Strings.split(payload().toString(), '&')) {
+    for(final String param : Strings.split(Token.string(payload().read()), '&')) {
       final String[] parts = Strings.split(param, '=', 2);
       if(parts.length == 2) {
         final Atm atm = new Atm(URLDecoder.decode(parts[1], Strings.UTF8));
@@ -2,6 +2,8 @@ package org.basex.http;
 
 import javax.servlet.*;
 
+import org.basex.query.func.session.*;
+
 /**
  * This class creates and destroys servlet contexts.
  *
@@ -15,6 +17,7 @@ public final class ServletListener implements ServletContextListener {
 
   @Override
   public void contextDestroyed(final ServletContextEvent event) {
+    ASession.cleanup();
     HTTPContext.get().close();
   }
 }
@@ -34,13 +34,19 @@ final class RESTPost {
    */
   public static RESTCmd get(final RESTSession session) throws IOException {
     final HTTPConnection conn = session.conn;
-    String encoding = conn.request.getCharacterEncoding();
-    if(encoding == null) encoding = Strings.UTF8;
+    final String encoding = conn.request.getCharacterEncoding();
 
     // perform queries
     final DBNode doc;
-    try(NewlineInput ni = new NewlineInput(conn.request.getInputStream())) {
-      doc = new DBNode(new IOContent(ni.encoding(encoding).content()));
+    try {
+      if(encoding == null || Strings.normEncoding(encoding) == Strings.UTF8) {
+        // parse input stream directly; the XML parser will detect the encoding
+        doc = new DBNode(new IOStream(conn.request.getInputStream()));
+      } else {
+        try(NewlineInput ni = new NewlineInput(conn.request.getInputStream())) {
+          doc = new DBNode(new IOContent(ni.encoding(encoding).content()));
+        }
+      }
     } catch(final IOException ex) {
       throw HTTPCode.BAD_REQUEST_X.get(ex);
     }
@@ -79,6 +79,9 @@ final class RESTPut {
       }
     } else {
       if(xml) {
+        // large or chunked input: build document on disk before it is added to the database
+        final long length = conn.request.getContentLengthLong();
+        if(length == -1 || length > RequestContext.MAXCACHE) options.set(MainOptions.ADDCACHE, true);
         session.add(new Replace(path), is);
       } else {
         session.add(new Delete(path)).add(new Store(path), is);
@@ -0,0 +1,317 @@
+package org.basex.http.restxq;
+
+import static javax.servlet.http.HttpServletResponse.*;
+
+import java.io.*;
+import java.security.*;
+import java.util.*;
+import java.util.zip.*;
+
+import javax.servlet.http.*;
+
+import org.basex.core.*;
+import org.basex.core.locks.*;
+import org.basex.data.*;
+import org.basex.http.*;
+import org.basex.io.out.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.util.*;
+import org.basex.util.http.*;
+
+/**
+ * Cache for the responses of RESTXQ functions with a {@code %rest:cache} annotation.
+ *
+ * A cached response will be returned if the same function is called with the same request
+ * properties (see {@link RestXqFunction#cacheKey(HTTPConnection)}) and if the timestamps and
+ * update counters of all accessed databases are unchanged (see {@link MetaData#updates(String)}).
+ * Responses are only cached for GET requests and for read-only functions whose databases can be
+ * statically determined. Responses are cached separately for each database context. The size of
+ * the cache is limited by {@link StaticOptions#RESTXQCACHE}; least recently used responses are
+ * discarded first.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class RestXqCache {
+  /** Cached responses of the database contexts (identified by their shared database registry). */
+  private static final Map<Datas, Entries> CACHES = new WeakHashMap<>();
+
+  /** Cached responses of the current database context. */
+  private final Entries entries;
+  /** Function. */
+  private final RestXqFunction func;
+  /** HTTP connection. */
+  private final HTTPConnection conn;
+  /** Cache key. */
+  private final String key;
+  /** Timestamps of the accessed databases. */
+  private final String stamp;
+
+  /**
+   * Constructor.
+   * @param func function
+   * @param conn HTTP connection
+   * @param key cache key
+   * @param stamp database timestamps
+   */
+  private RestXqCache(final RestXqFunction func, final HTTPConnection conn, final String key,
+      final String stamp) {
+    synchronized(CACHES) {
+      entries = CACHES.computeIfAbsent(conn.context.datas, d -> new Entries());
+    }
+    this.func = func;
+    this.conn = conn;
+    this.key = key;
+    this.stamp = stamp;
+  }
+
+  /**
+   * Returns a cache instance for the current request.
+   * Must be called after the locks of the query have been acquired.
+   * @param func function
+   * @param conn HTTP connection
+   * @param qc query context
+   * @return instance, or {@code null} if the response cannot be cached
+   */
+  static RestXqCache get(final RestXqFunction func, final HTTPConnection conn,
+      final QueryContext qc) {
+
+    if(func.cache == -1 || !conn.method.equals(HttpMethod.GET.name())) return null;
+
+    // only cache responses of read-only queries with statically known databases
+    final Locks locks = qc.jc().locks;
+    if(locks.writes.locking() || locks.reads.global()) return null;
+
+    final Context ctx = conn.context;
+    final StringBuilder sb = new StringBuilder();
+    for(final String db : locks.reads) {
+      if(db.startsWith(Locking.PREFIX)) return null;
+      sb.append(db).append(':').append(ctx.datas.time(db, ctx.soptions)).append(':');
+      sb.append(MetaData.updates(db)).append('\n');
+    }
+    return new RestXqCache(func, conn, func.cacheKey(conn), sb.toString());
+  }
+
+  /**
+   * Sends a cached response to the client.
+   * @param body serialize body
+   * @return {@code true} if a cached response was found
+   * @throws IOException I/O exception
+   */
+  boolean send(final boolean body) throws IOException {
+    final Entry entry;
+    synchronized(entries) {
+      entry = entries.map.get(key);
+      if(entry == null) return false;
+      if(entry.function != func.function || !entry.stamp.equals(stamp) || func.cache != 0 &&
+          System.currentTimeMillis() - entry.time > func.cache * 1000) {
+        entries.remove(key);
+        return false;
+      }
+    }
+    send(entry, body);
+    return true;
+  }
+
+  /**
+   * Caches a serialized response and sends it to the client.
+   * @param content serialized response
+   * @throws IOException I/O exception
+   */
+  void put(final byte[] content) throws IOException {
+    final String type = conn.response.getContentType();
+    final StaticOptions sopts = conn.context.soptions;
+    final byte[] gzip = sopts.get(StaticOptions.GZIP) &&
+        content.length >= sopts.get(StaticOptions.GZIPMINSIZE) && compressible(type) ?
+        gzip(content) : null;
+    final Entry entry = new Entry(func.function, stamp, content, gzip, type,
+        conn.response.getCharacterEncoding());
+
+    final long max = sopts.get(StaticOptions.RESTXQCACHE) * 1024L * 1024L;
+    synchronized(entries) {
+      entries.remove(key);
+      if(entry.size() <= max) {
+        entries.map.put(key, entry);
+        entries.size += entry.size();
+        // discard least recently used responses
+        final Iterator<Entry> iter = entries.map.values().iterator();
+        while(entries.size > max && iter.hasNext()) {
+          entries.size -= iter.next().size();
+          iter.remove();
+        }
+      }
+    }
+    send(entry, true);
+  }
+
+  /**
+   * Sends a response to the client.
+   * If the client has already received the response ({@code If-None-Match} header),
+   * {@code 304} will be returned. If the client accepts compressed responses, and if a
+   * compressed response is available, it will be sent instead of the original response.
+   * @param entry cache entry
+   * @param body serialize body
+   * @throws IOException I/O exception
+   */
+  private void send(final Entry entry, final boolean body) throws IOException {
+    final HttpServletResponse response = conn.response;
+    final boolean gzip = entry.gzip != null && accepts(HttpText.GZIP);
+    if(entry.gzip != null) response.setHeader(HttpText.VARY, HttpText.ACCEPT_ENCODING);
+    response.setHeader(HttpText.ETAG, gzip ? entry.gzipEtag() : entry.etag);
+
+    // compressed and uncompressed representations are considered equivalent
+    if(matches(entry.etag) || entry.gzip != null && matches(entry.gzipEtag())) {
+      response.setStatus(SC_NOT_MODIFIED);
+    } else {
+      if(entry.type != null) response.setContentType(entry.type);
+      if(entry.encoding != null) response.setCharacterEncoding(entry.encoding);
+      if(gzip) response.setHeader(HttpText.CONTENT_ENCODING, HttpText.GZIP);
+      if(body) response.getOutputStream().write(gzip ? entry.gzip : entry.content);
+    }
+  }
+
+  /**
+   * Checks if the entity tag is contained in the {@code If-None-Match} header.
+   * @param etag entity tag
+   * @return result of check
+   */
+  private boolean matches(final String etag) {
+    final Enumeration<String> en = conn.request.getHeaders(HttpText.IF_NONE_MATCH);
+    while(en != null && en.hasMoreElements()) {
+      for(final String tag : en.nextElement().split(",")) {
+        final String t = tag.trim();
+        if(t.equals("*") || t.equals(etag) || t.equals("W/" + etag)) return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks if the specified content encoding is accepted by the client.
+   * @param encoding content encoding
+   * @return result of check
+   */
+  private boolean accepts(final String encoding) {
+    final Enumeration<String> en = conn.request.getHeaders(HttpText.ACCEPT_ENCODING);
+    while(en != null && en.hasMoreElements()) {
+      for(final String value : en.nextElement().split(",")) {
+        final String[] parts = value.split(";");
+        final String name = parts[0].trim();
+        if(!name.equalsIgnoreCase(encoding) && !name.equals("*")) continue;
+        // skip encodings with a quality value of 0
+        boolean accept = true;
+        for(int p = 1; p < parts.length; p++) {
+          final String param = parts[p].replaceAll("\\s", "");
+          if(param.matches("q=0(\\.0*)?")) accept = false;
+        }
+        if(accept) return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks if responses of the specified content type should be compressed.
+   * @param type content type (can be {@code null})
+   * @return result of check
+   */
+  private static boolean compressible(final String type) {
+    if(type == null) return false;
+    final MediaType mt = new MediaType(type);
+    return mt.isText() || mt.isXML() || mt.isJSON() || mt.isXQuery() || mt.isCSV() ||
+        mt.sub().contains("javascript");
+  }
+
+  /**
+   * Compresses the specified content.
+   * @param content content
+   * @return compressed content
+   * @throws IOException I/O exception
+   */
+  private static byte[] gzip(final byte[] content) throws IOException {
+    final ArrayOutput ao = new ArrayOutput();
+    try(GZIPOutputStream out = new GZIPOutputStream(ao)) {
+      out.write(content);
+    }
+    return ao.finish();
+  }
+
+  /** Cached responses of a database context. */
+  private static final class Entries {
+    /** Cached responses, ordered by their last access. */
+    private final LinkedHashMap<String, Entry> map = new LinkedHashMap<>(16, 0.75f, true);
+    /** Total size of cached responses. */
+    private long size;
+
+    /**
+     * Removes a cache entry.
+     * @param key key
+     */
+    private void remove(final String key) {
+      final Entry entry = map.remove(key);
+      if(entry != null) size -= entry.size();
+    }
+  }
+
+  /** Cache entry. */
+  private static final class Entry {
+    /** Function. */
+    private final StaticFunc function;
+    /** Timestamps of the accessed databases. */
+    private final String stamp;
+    /** Serialized response. */
+    private final byte[] content;
+    /** Compressed response (can be {@code null}). */
+    private final byte[] gzip;
+    /** Content type (can be {@code null}). */
+    private final String type;
+    /** Character encoding (can be {@code null}). */
+    private final String encoding;
+    /** Entity tag. */
+    private final String etag;
+    /** Creation time. */
+    private final long time = System.currentTimeMillis();
+
+    /**
+     * Constructor.
+     * @param function function
+     * @param stamp database timestamps
+     * @param content serialized response
+     * @param gzip compressed response (can be {@code null})
+     * @param type content type
+     * @param encoding character encoding
+     */
+    private Entry(final StaticFunc function, final String stamp, final byte[] content,
+        final byte[] gzip, final String type, final String encoding) {
+      this.function = function;
+      this.stamp = stamp;
+      this.content = content;
+      this.gzip = gzip;
+      this.type = type;
+      this.encoding = encoding;
+      try {
+        final byte[] hash = MessageDigest.getInstance(HttpText.MD5).digest(content);
+        etag = '"' + Token.string(Token.hex(hash, false)) + '"';
+      } catch(final NoSuchAlgorithmException ex) {
+        throw Util.notExpected(ex);
+      }
+    }
+
+    /**
+     * Returns the entity tag of the compressed response.
+     * @return entity tag
+     */
+    private String gzipEtag() {
+      return etag.substring(0, etag.length() - 1) + "--" + HttpText.GZIP + '"';
+    }
+
+    /**
+     * Returns the memory consumed by the cached responses.
+     * @return size
+     */
+    private long size() {
+      return content.length + (gzip != null ? gzip.length : 0);
+    }
+  }
+}
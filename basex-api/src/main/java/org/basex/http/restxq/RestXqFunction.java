@@ -18,6 +18,7 @@ import org.basex.build.html.*;
 import org.basex.build.json.*;
 import org.basex.build.text.*;
 import org.basex.core.*;
+import org.basex.core.jobs.*;
 import org.basex.http.*;
 import org.basex.http.web.*;
 import org.basex.io.*;
@@ -71,6 +72,10 @@ public final class RestXqFunction extends WebFunction {
   public RestXqPath path;
   /** Singleton id (can be {@code null}). */
   String singleton;
+  /** Maximum age of cached responses in seconds ({@code -1}: no caching, {@code 0}: no limit). */
+  long cache = -1;
+  /** Job priority (can be {@code null}). */
+  JobPriority priority;
 
   /** Post/Put variable (can be {@code null}). */
   private QNm requestBody;
@@ -133,6 +138,12 @@ public final class RestXqFunction extends WebFunction {
       } else if(sig == _REST_SINGLE) {
         singleton = '\u0001' + (args.length > 0 ? toString(args[0]) :
           (function.info.path() + ':' + function.info.line()));
+      } else if(sig == _REST_CACHE) {
+        cache = args.length > 0 ? Math.max(0, args[0].itr(ann.info)) : 0;
+      } else if(sig == _REST_PRIORITY) {
+        final String prio = toString(args[0]);
+        priority = JobPriority.get(prio);
+        if(priority == null) throw error(ann.info, UNKNOWN_PRIORITY_X, prio);
       } else if(eq(sig.uri, QueryText.REST_URI)) {
         final Item body = args.length == 0 ? null : args[0];
         addMethod(string(sig.local()), body, declared, ann.info);
@@ -215,8 +226,7 @@ public final class RestXqFunction extends WebFunction {
     final MainOptions mopts = conn.context.options;
     if(requestBody != null) {
       try {
-        final IOContent payload = conn.requestCtx.payload();
-        bind(requestBody, args, HttpPayload.value(payload, mopts, conn.contentType()), qc);
+        bind(requestBody, args, conn.requestCtx.body(conn.contentType(), conn.context), qc);
       } catch(final IOException ex) {
         throw error(INPUT_CONV_X, ex);
       }
@@ -268,6 +278,38 @@ public final class RestXqFunction extends WebFunction {
     }
   }
 
+  /**
+   * Returns a key for caching the response to the current request. The key is composed of the
+   * request path, the query string, the current user and all headers and cookies that may be
+   * bound to parameters or that influence content negotiation.
+   * @param conn HTTP connection
+   * @return key
+   */
+  String cacheKey(final HTTPConnection conn) {
+    final StringBuilder sb = new StringBuilder().append(conn.path());
+    final String query = conn.request.getQueryString();
+    if(query != null) sb.append('?').append(query);
+    sb.append('\n').append(conn.context.user().name());
+    sb.append('\n').append(conn.request.getHeader(HttpText.ACCEPT));
+    for(final WebParam rxp : headerParams) {
+      final Enumeration<?> en = conn.request.getHeaders(rxp.name);
+      while(en.hasMoreElements()) {
+        sb.append('\n').append(rxp.name).append(": ").append(en.nextElement());
+      }
+    }
+    final Cookie[] ck = conn.request.getCookies();
+    if(ck != null) {
+      for(final WebParam rxp : cookieParams) {
+        for(final Cookie c : ck) {
+          if(rxp.name.equals(c.getName())) {
+            sb.append('\n').append(c.getName()).append('=').append(c.getValue());
+          }
+        }
+      }
+    }
+    return sb.toString();
+  }
+
   /**
    * Checks if an HTTP request matches this function and its constraints.
    * @param conn HTTP connection
@@ -277,8 +319,8 @@ public final class RestXqFunction extends WebFunction {
    */
   public boolean matches(final HTTPConnection conn, final QNm err, final boolean perm) {
     // check method, consumed and produced media type, and path or error
-    if(!((methods.isEmpty() || methods.contains(conn.method)) && consumes(conn) &&
-        produces(conn))) return false;
+    if(!((methods.isEmpty() || methods.contains(conn.method)) &&
+        consumes(conn.contentType()) && produces(conn.accepts()))) return false;
 
     if(perm) return permission != null && permission.matches(conn);
     if(err != null) return error != null && error.matches(err);
@@ -358,14 +400,13 @@ public final class RestXqFunction extends WebFunction {
 
   /**
    * Checks if the consumed content type matches.
-   * @param conn HTTP connection
+   * @param type content type of the request
    * @return result of check
    */
-  private boolean consumes(final HTTPConnection conn) {
+  boolean consumes(final MediaType type) {
     // return true if no type is given
     if(consumes.isEmpty()) return true;
     // return true if no content type is specified by the user
-    final MediaType type = conn.contentType();
     if(type.type().isEmpty()) return true;
 
     // check if any combination matches
@@ -377,14 +418,14 @@ public final class RestXqFunction extends WebFunction {
 
   /**
    * Checks if the produced media type matches.
-   * @param conn HTTP connection
+   * @param accepts media types accepted by the client
    * @return result of check
    */
-  private boolean produces(final HTTPConnection conn) {
+  boolean produces(final ArrayList<MediaType> accepts) {
     // return true if no type is given
     if(produces.isEmpty()) return true;
     // check if any combination matches
-    for(final MediaType accept : conn.accepts()) {
+    for(final MediaType accept : accepts) {
       for(final MediaType produce : produces) {
         if(produce.matches(accept)) return true;
       }
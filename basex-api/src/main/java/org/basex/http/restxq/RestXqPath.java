@@ -47,6 +47,23 @@ final class RestXqPath extends WebPath implements Comparable<RestXqPath> {
     return matcher.varNames;
   }
 
+  /**
+   * Returns the leading segments of the path that contain no templates.
+   * @return URL-decoded segments
+   */
+  List<String> literals() {
+    final ArrayList<String> list = new ArrayList<>();
+    for(final String segment : path.split("/")) {
+      // duplicate slashes are ignored
+      if(segment.isEmpty()) continue;
+      if(segment.indexOf('{') != -1) break;
+      final byte[] decoded = Token.decodeUri(Token.token(segment));
+      if(decoded == null) break;
+      list.add(Token.string(decoded));
+    }
+    return list;
+  }
+
   /**
    * Gets the variable values for the given HTTP context path.
    * @param conn HTTP connection
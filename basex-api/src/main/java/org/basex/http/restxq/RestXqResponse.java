@@ -53,6 +53,7 @@ public final class RestXqResponse extends WebResponse {
     qc.putProperty(HTTPText.REQUEST, conn.requestCtx);
     qc.jc().type(RESTXQ);
     func.parse(ctx);
+    qc.jc().priority = func.priority;
   }
 
   @Override
@@ -68,10 +69,15 @@ public final class RestXqResponse extends WebResponse {
     final RestXqSingleton singleton = id != null ? new RestXqSingleton(conn, id, qc) : null;
     String forward = null;
     OutputStream out = null;
+    RestXqCache cache = null;
     boolean response;
 
     qc.register(ctx);
     try {
+      // return cached response
+      cache = RestXqCache.get(func, conn, qc);
+      if(cache != null && cache.send(body)) return Response.STANDARD;
+
       // evaluate query
       final Iter iter = qc.iter();
       Item item = iter.next();
@@ -117,7 +123,7 @@ public final class RestXqResponse extends WebResponse {
 
       // serialize result
       if(item != null && body) {
-        out = id != null ? new ArrayOutput() : conn.response.getOutputStream();
+        out = id != null || cache != null ? new ArrayOutput() : conn.response.getOutputStream();
         try(Serializer ser = Serializer.get(out, so)) {
           for(; item != null; item = qc.next(iter)) ser.serialize(item);
         }
@@ -138,8 +144,12 @@ public final class RestXqResponse extends WebResponse {
     // write cached result
     if(out instanceof ArrayOutput) {
       final ArrayOutput ao = (ArrayOutput) out;
-      final int size = (int) ao.size();
-      if(size > 0) conn.response.getOutputStream().write(ao.buffer(), 0, size);
+      if(cache != null && status == null && forward == null) {
+        cache.put(ao.finish());
+      } else {
+        final int size = (int) ao.size();
+        if(size > 0) conn.response.getOutputStream().write(ao.buffer(), 0, size);
+      }
     }
 
     return status != null || forward != null ? Response.CUSTOM :
@@ -0,0 +1,134 @@
+package org.basex.http.restxq;
+
+import java.util.*;
+
+import org.basex.http.*;
+import org.basex.http.web.*;
+import org.basex.util.http.*;
+
+/**
+ * Routing table for RESTXQ functions with path annotations.
+ *
+ * Functions are stored in a tree of path segments, using the leading segments of their path
+ * templates that contain no template variables. At each node, functions are grouped by their
+ * HTTP methods. For a request, only the functions that are found along the segments of the
+ * request path and that accept the request method will be considered. The media types of the
+ * request are parsed once and checked before the path templates are matched.
+ * The table is rebuilt whenever the module cache is updated.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class RestXqRoutes {
+  /** Root node. */
+  private final Node root = new Node();
+
+  /**
+   * Constructor.
+   * @param modules modules
+   */
+  public RestXqRoutes(final Collection<WebModule> modules) {
+    // add functions in the order of their specifity
+    final ArrayList<RestXqFunction> funcs = new ArrayList<>();
+    for(final WebModule module : modules) {
+      for(final RestXqFunction func : module.functions()) {
+        if(func.path != null) funcs.add(func);
+      }
+    }
+    Collections.sort(funcs);
+
+    for(final RestXqFunction func : funcs) {
+      Node node = root;
+      for(final String segment : func.path.literals()) {
+        node = node.children.computeIfAbsent(segment, s -> new Node());
+      }
+      if(func.methods.isEmpty()) {
+        node.funcs.add(func);
+      } else {
+        for(final String method : func.methods) {
+          node.methods.computeIfAbsent(method, m -> new ArrayList<>()).add(func);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns all functions with path annotations that match the current request.
+   * @param conn HTTP connection
+   * @return list of matching functions, ordered by specifity
+   */
+  public List<RestXqFunction> find(final HTTPConnection conn) {
+    final Request request = new Request(conn);
+    final String path = conn.path();
+    Node node = root;
+    request.add(node);
+    // path always starts with a slash, and it contains no empty segments
+    final int pl = path.length();
+    for(int p = 1; p < pl && !node.children.isEmpty();) {
+      int e = path.indexOf('/', p);
+      if(e == -1) e = pl;
+      node = node.children.get(path.substring(p, e));
+      if(node == null) break;
+      request.add(node);
+      p = e + 1;
+    }
+    // functions of each group are sorted; sort again if functions of several groups were found
+    final ArrayList<RestXqFunction> list = request.list;
+    if(list.size() > 1) Collections.sort(list);
+    return list;
+  }
+
+  /** Node of the routing tree. */
+  private static final class Node {
+    /** Child nodes, indexed by path segments. */
+    private final HashMap<String, Node> children = new HashMap<>();
+    /** Functions with method annotations whose literal path segments end at this node. */
+    private final HashMap<String, ArrayList<RestXqFunction>> methods = new HashMap<>();
+    /** Functions without method annotations whose literal path segments end at this node. */
+    private final ArrayList<RestXqFunction> funcs = new ArrayList<>();
+  }
+
+  /** Properties of the current request. */
+  private static final class Request {
+    /** Matching functions. */
+    private final ArrayList<RestXqFunction> list = new ArrayList<>();
+    /** HTTP connection. */
+    private final HTTPConnection conn;
+    /** Content type (parsed once). */
+    private final MediaType type;
+    /** Accepted media types (parsed once). */
+    private final ArrayList<MediaType> accepts;
+
+    /**
+     * Constructor.
+     * @param conn HTTP connection
+     */
+    private Request(final HTTPConnection conn) {
+      this.conn = conn;
+      type = conn.contentType();
+      accepts = conn.accepts();
+    }
+
+    /**
+     * Adds the functions of the specified node that match the current request.
+     * @param node node
+     */
+    private void add(final Node node) {
+      final ArrayList<RestXqFunction> funcs = node.methods.get(conn.method);
+      if(funcs != null) add(funcs);
+      add(node.funcs);
+    }
+
+    /**
+     * Adds the functions that match the current request.
+     * @param funcs functions (the method has already been checked)
+     */
+    private void add(final ArrayList<RestXqFunction> funcs) {
+      for(final RestXqFunction func : funcs) {
+        if(func.consumes(type) && func.produces(accepts) && func.path.matches(conn)) {
+          list.add(func);
+        }
+      }
+    }
+  }
+}
@@ -28,8 +28,8 @@ public final class WebModule {
   private final ArrayList<WsFunction> wsFunctions = new ArrayList<>();
   /** File reference. */
   private final IOFile file;
-  /** Parsing timestamp. */
-  private long time;
+  /** Source of the parsed module (replaced when the module is parsed again). */
+  private volatile Source source;
 
   /**
    * Constructor.
@@ -37,7 +37,6 @@ public final class WebModule {
    */
   public WebModule(final IOFile file) {
     this.file = file;
-    time = file.timeStamp();
   }
 
   /**
@@ -51,16 +50,19 @@ public final class WebModule {
     functions.clear();
     wsFunctions.clear();
 
-    try(QueryContext qc = qc(ctx)) {
-      // loop through all functions
-      final String name = file.name();
-      for(final StaticFunc sf : qc.funcs.funcs()) {
-        // only add functions that are defined in the same module (file)
-        if(sf.expr != null && name.equals(new IOFile(sf.info.path()).name())) {
-          final RestXqFunction rxf = new RestXqFunction(sf, qc, this);
-          if(rxf.parse(ctx)) functions.add(rxf);
-          final WsFunction wxq = new WsFunction(sf, qc, this);
-          if(wxq.parse(ctx)) wsFunctions.add(wxq);
+    try {
+      source = new Source(file);
+      try(QueryContext qc = qc(ctx)) {
+        // loop through all functions
+        final String name = file.name();
+        for(final StaticFunc sf : qc.funcs.funcs()) {
+          // only add functions that are defined in the same module (file)
+          if(sf.expr != null && name.equals(new IOFile(sf.info.path()).name())) {
+            final RestXqFunction rxf = new RestXqFunction(sf, qc, this);
+            if(rxf.parse(ctx)) functions.add(rxf);
+            final WsFunction wxq = new WsFunction(sf, qc, this);
+            if(wxq.parse(ctx)) wsFunctions.add(wxq);
+          }
         }
       }
     } catch(final QueryException ex) {
@@ -72,18 +74,12 @@ public final class WebModule {
   }
 
   /**
-   * Checks if the timestamp is still up-to-date.
+   * Checks if the parsed module is still up-to-date.
    * @return result of check
    */
   public boolean uptodate() {
-    return time == file.timeStamp();
-  }
-
-  /**
-   * Updates the timestamp.
-   */
-  public void touch() {
-    time = file.timeStamp();
+    final Source src = source;
+    return src != null && src.time == file.timeStamp();
   }
 
   /**
@@ -104,19 +100,18 @@ public final class WebModule {
 
   /**
    * Retrieves a query context for the given module.
+   * The source of the parsed module is reused, so requests will not access the file system.
+   * Parsing and compiling the module remains a per-request cost: static functions are rewritten
+   * during compilation and bound to the query context, so they cannot be shared by concurrent
+   * requests.
    * @param ctx database context
    * @return query context
    * @throws QueryException query exception
    */
   public QueryContext qc(final Context ctx) throws QueryException {
     final QueryContext qc = new QueryContext(ctx);
-    try {
-      qc.parse(string(file.read()), file.path());
-      return qc;
-    } catch(final IOException ex) {
-      // may be triggered when reading the file
-      throw IOERR_X.get(null, ex);
-    }
+    qc.parse(source.query, file.path());
+    return qc;
   }
 
   /**
@@ -133,4 +128,27 @@ public final class WebModule {
     // will only happen if file has been swapped between caching and parsing
     throw HTTPCode.NO_XQUERY.get();
   }
+
+  /** Module source with the timestamp of its file. */
+  private static final class Source {
+    /** Timestamp of the file (assigned before the file is read). */
+    private final long time;
+    /** Query string. */
+    private final String query;
+
+    /**
+     * Constructor.
+     * @param file file
+     * @throws QueryException query exception
+     */
+    private Source(final IOFile file) throws QueryException {
+      time = file.timeStamp();
+      try {
+        query = string(file.read());
+      } catch(final IOException ex) {
+        // may be triggered when reading the file
+        throw IOERR_X.get(null, ex);
+      }
+    }
+  }
 }
@@ -35,6 +35,8 @@ public final class WebModules {
 
   /** Module cache. */
   private HashMap<String, WebModule> modules = new HashMap<>();
+  /** Routing table for RESTXQ paths (rebuilt with the module cache). */
+  private RestXqRoutes routes = new RestXqRoutes(modules.values());
   /** Current parsing state. */
   private boolean parsed;
   /** Last access time. */
@@ -138,6 +140,9 @@ public final class WebModules {
   private List<RestXqFunction> find(final HTTPConnection conn, final QNm error, final boolean perm)
       throws QueryException, IOException {
 
+    // path lookup: consult routing table
+    if(error == null && !perm) return routes(conn.context).find(conn);
+
     // collect and sort all functions
     final ArrayList<RestXqFunction> list = new ArrayList<>();
     for(final WebModule mod : cache(conn.context).values()) {
@@ -306,6 +311,7 @@ public final class WebModules {
       cache = new HashMap<>();
       parse(ctx, path, cache, modules);
       modules = cache;
+      routes = new RestXqRoutes(cache.values());
       parsed = true;
     }
 
@@ -314,6 +320,18 @@ public final class WebModules {
     return cache;
   }
 
+  /**
+   * Returns the routing table for RESTXQ paths.
+   * @param ctx database context
+   * @return routing table
+   * @throws QueryException query exception
+   * @throws IOException I/O exception
+   */
+  private synchronized RestXqRoutes routes(final Context ctx) throws QueryException, IOException {
+    cache(ctx);
+    return routes;
+  }
+
   /**
    * Parses the specified path for modules with relevant annotations and caches new entries.
    * @param root root path
@@ -349,10 +367,7 @@ public final class WebModules {
             module = new WebModule(file);
           }
           // add module if it has been parsed, and if it contains relevant annotations
-          if(parsed || module.parse(ctx)) {
-            module.touch();
-            cache.put(path, module);
-          }
+          if(parsed || module.parse(ctx)) cache.put(path, module);
         }
       }
     }
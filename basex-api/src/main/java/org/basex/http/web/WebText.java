@@ -86,6 +86,8 @@ public interface WebText {
   /** Error message. */
   String UNKNOWN_SER_X = "Unknown serialization parameter: %.";
   /** Error message. */
+  String UNKNOWN_PRIORITY_X = "Unknown job priority: %.";
+  /** Error message. */
   String UNEXP_NODE_X = "Unexpected node: %.";
   /** Error message. */
   String HEAD_METHOD = "HEAD method must return a single 'restxq:response' element.";
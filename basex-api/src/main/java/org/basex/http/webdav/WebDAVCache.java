@@ -0,0 +1,122 @@
+package org.basex.http.webdav;
+
+import static org.basex.http.webdav.WebDAVUtils.*;
+
+import java.util.*;
+
+import org.basex.data.*;
+
+/**
+ * Cache for the contents of WebDAV folders.
+ *
+ * A cached folder listing is valid as long as the timestamp and the update counter of its
+ * database are unchanged (see {@link MetaData#updates(String)}).
+ * The total number of cached resources is limited; least recently used folders are
+ * discarded first.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class WebDAVCache {
+  /** Maximum number of cached resources. */
+  private static final int MAX = 1 << 20;
+  /** Cached folders, ordered by their last access. */
+  private static final LinkedHashMap<String, Folder> FOLDERS =
+      new LinkedHashMap<>(16, 0.75f, true);
+  /** Total number of cached resources. */
+  private static int size;
+
+  /** Private constructor. */
+  private WebDAVCache() { }
+
+  /**
+   * Returns the contents of a cached folder.
+   * @param db database
+   * @param path path to the folder
+   * @param time timestamp of the database
+   * @param updates update counter of the database
+   * @return folder or {@code null}
+   */
+  static Folder get(final String db, final String path, final long time, final long updates) {
+    final String key = key(db, path);
+    synchronized(FOLDERS) {
+      final Folder folder = FOLDERS.get(key);
+      if(folder == null || folder.time == time && folder.updates == updates) return folder;
+      remove(key);
+      return null;
+    }
+  }
+
+  /**
+   * Caches the contents of a folder.
+   * @param db database
+   * @param path path to the folder
+   * @param folder folder
+   */
+  static void put(final String db, final String path, final Folder folder) {
+    final String key = key(db, path);
+    synchronized(FOLDERS) {
+      remove(key);
+      if(folder.resources.size() > MAX) return;
+      FOLDERS.put(key, folder);
+      size += folder.resources.size();
+      // discard least recently used folders
+      final Iterator<Folder> iter = FOLDERS.values().iterator();
+      while(size > MAX && iter.hasNext()) {
+        size -= iter.next().resources.size();
+        iter.remove();
+      }
+    }
+  }
+
+  /**
+   * Removes a cached folder.
+   * @param key key
+   */
+  private static void remove(final String key) {
+    final Folder folder = FOLDERS.remove(key);
+    if(folder != null) size -= folder.resources.size();
+  }
+
+  /**
+   * Returns the key for the specified folder.
+   * @param db database
+   * @param path path to the folder
+   * @return key
+   */
+  private static String key(final String db, final String path) {
+    return db + SEP + stripLeadingSlash(path);
+  }
+
+  /** Contents of a folder. */
+  static final class Folder {
+    /** Meta data of the child resources, indexed by their paths. */
+    final LinkedHashMap<String, WebDAVMetaData> resources = new LinkedHashMap<>();
+    /** Paths of the child folders. */
+    final HashSet<String> folders = new HashSet<>();
+    /** Timestamp of the database. */
+    final long time;
+    /** Update counter of the database. */
+    final long updates;
+
+    /**
+     * Constructor.
+     * @param time timestamp of the database
+     * @param updates update counter of the database
+     */
+    Folder(final long time, final long updates) {
+      this.time = time;
+      this.updates = updates;
+    }
+
+    /**
+     * Adds a child resource.
+     * @param meta meta data
+     * @param folder folder flag
+     */
+    void add(final WebDAVMetaData meta, final boolean folder) {
+      resources.put(meta.path, meta);
+      if(folder) folders.add(meta.path);
+    }
+  }
+}
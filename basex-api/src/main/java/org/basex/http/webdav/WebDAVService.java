@@ -11,6 +11,8 @@ import org.basex.api.client.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.core.cmd.Set;
+import org.basex.core.users.*;
+import org.basex.data.*;
 import org.basex.http.*;
 import org.basex.io.in.*;
 import org.basex.io.serial.*;
@@ -272,6 +274,37 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   List<WebDAVResource> list(final String db, final String path) throws IOException {
+    final WebDAVCache.Folder folder = folder(db, path);
+    final List<WebDAVResource> ch = new ArrayList<>(folder.resources.size());
+    for(final WebDAVMetaData meta : folder.resources.values()) ch.add(resource(folder, meta));
+    return ch;
+  }
+
+  /**
+   * Returns the cached contents of a folder.
+   * @param db database
+   * @param path path
+   * @return folder contents, or {@code null} if no valid contents have been cached
+   */
+  private WebDAVCache.Folder cached(final String db, final String path) {
+    return conn.context.user().has(Perm.READ, db) ?
+      WebDAVCache.get(db, path, time(db), MetaData.updates(db)) : null;
+  }
+
+  /**
+   * Returns the contents of a folder.
+   * Cached contents will be returned if the database has not been updated in the meantime.
+   * @param db database
+   * @param path path
+   * @return folder contents
+   * @throws IOException I/O exception
+   */
+  private WebDAVCache.Folder folder(final String db, final String path) throws IOException {
+    WebDAVCache.Folder folder = cached(db, path);
+    if(folder != null) return folder;
+
+    // timestamp and update counter must be requested before the query is evaluated
+    final long time = time(db), updates = MetaData.updates(db);
     final WebDAVQuery query = new WebDAVQuery(STRING_JOIN.args(
       _DB_DIR.args(" $db", " $path") + " ! (string(), name() = 'dir', " +
       "for $a in ('modified-date', 'raw', 'content-type', 'size') " +
@@ -280,7 +313,7 @@ final class WebDAVService {
     query.bind("path", path);
 
     final String[] result = Strings.split(query.execute(session()), '\t');
-    final List<WebDAVResource> ch = new ArrayList<>();
+    folder = new WebDAVCache.Folder(time, updates);
     final int rs = result.length - 5;
     for(int r = 0; r < rs; r += 6) {
       final String name = result[r];
@@ -289,15 +322,37 @@ final class WebDAVService {
       // check if document or folder
       final String p = path + SEP + name;
       if(dir) {
-        ch.add(WebDAVFactory.folder(this, new WebDAVMetaData(db, p, mod)));
+        folder.add(new WebDAVMetaData(db, p, mod), true);
       } else if(!name.equals(DUMMY)) {
         final boolean raw = Boolean.parseBoolean(result[r + 3]);
         final MediaType ctype = new MediaType(result[r + 4]);
         final String size = result[r + 5];
-        ch.add(WebDAVFactory.file(this, new WebDAVMetaData(db, p, mod, raw, ctype, size)));
+        folder.add(new WebDAVMetaData(db, p, mod, raw, ctype, size), false);
       }
     }
-    return ch;
+    WebDAVCache.put(db, path, folder);
+    return folder;
+  }
+
+  /**
+   * Creates a resource for a child of a folder.
+   * @param folder folder contents
+   * @param meta meta data of the child
+   * @return resource
+   */
+  private WebDAVResource resource(final WebDAVCache.Folder folder, final WebDAVMetaData meta) {
+    return folder.folders.contains(meta.path) ? WebDAVFactory.folder(this, meta) :
+      WebDAVFactory.file(this, meta);
+  }
+
+  /**
+   * Returns the timestamp of a database. In contrast to {@link #timestamp(String)},
+   * the current timestamp of an opened database instance is returned.
+   * @param db database
+   * @return timestamp
+   */
+  private long time(final String db) {
+    return conn.context.datas.time(db, conn.context.soptions);
   }
 
   /**
@@ -345,6 +400,15 @@ final class WebDAVService {
    * @throws IOException I/O exception
    */
   WebDAVResource resource(final String db, final String path) throws IOException {
+    // check if the contents of the parent folder have been cached
+    final String pth = stripLeadingSlash(path);
+    final int i = pth.lastIndexOf(SEP);
+    final WebDAVCache.Folder folder = cached(db, i == -1 ? "" : pth.substring(0, i));
+    if(folder != null) {
+      final WebDAVMetaData meta = folder.resources.get(pth);
+      return meta != null ? resource(folder, meta) : null;
+    }
+
     return exists(db, path) ?
       WebDAVFactory.file(this, metaData(db, path)) :
       pathExists(db, path) ?
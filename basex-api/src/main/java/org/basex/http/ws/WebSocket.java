@@ -3,6 +3,7 @@ package org.basex.http.ws;
 import static org.basex.http.HTTPText.*;
 
 import java.io.*;
+import java.nio.*;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.function.*;
@@ -10,6 +11,7 @@ import java.util.function.*;
 import javax.servlet.http.*;
 
 import org.basex.core.*;
+import org.basex.core.StaticOptions.*;
 import org.basex.http.*;
 import org.basex.http.web.*;
 import org.basex.query.ann.*;
@@ -40,6 +42,8 @@ public final class WebSocket extends WebSocketAdapter implements ClientInfo {
   final Map<String, Value> headers = new HashMap<>();
   /** Servlet request. */
   final HttpServletRequest request;
+  /** Queue of the messages that are sent to the client. */
+  private final WsQueue queue = new WsQueue((part, callback) -> part.send(getRemote(), callback));
 
   /** Client WebSocket id. */
   public String id;
@@ -153,6 +157,32 @@ public final class WebSocket extends WebSocketAdapter implements ClientInfo {
     getSession().close();
   }
 
+  /**
+   * Asynchronously sends a serialized message to the client.
+   * If the number of pending message parts would exceed {@link StaticOptions#WSQUEUE},
+   * messages will be dropped as defined by {@link StaticOptions#WSDROP}.
+   * @param parts message parts
+   * @return number of dropped messages
+   */
+  int send(final List<WsPart> parts) {
+    final StaticOptions sopts = context.soptions;
+    final WsDrop drop = sopts.get(StaticOptions.WSDROP);
+    final int dropped = queue.add(parts, sopts.get(StaticOptions.WSQUEUE), drop);
+    if(dropped > 0 && drop == WsDrop.CLOSE) {
+      WsPool.remove(id);
+      getSession().close(StatusCode.POLICY_VIOLATION, WS_QUEUE_EXCEEDED);
+    }
+    return dropped;
+  }
+
+  /**
+   * Returns the number of pending message parts.
+   * @return number of parts
+   */
+  int pending() {
+    return queue.pending();
+  }
+
   /**
    * Finds a function and processes it.
    * @param ann annotation
@@ -0,0 +1,47 @@
+package org.basex.http.ws;
+
+import java.nio.*;
+
+import org.eclipse.jetty.websocket.api.*;
+
+/**
+ * Serialized part of a WebSocket message. A part is created once and can be sent to
+ * multiple clients.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class WsPart {
+  /** Text ({@code null} for binary data). */
+  private final String text;
+  /** Binary data ({@code null} for text). */
+  private final ByteBuffer bytes;
+
+  /**
+   * Constructor.
+   * @param value value (string or byte buffer)
+   */
+  WsPart(final Object value) {
+    if(value instanceof String) {
+      text = (String) value;
+      bytes = null;
+    } else {
+      text = null;
+      bytes = (ByteBuffer) value;
+    }
+  }
+
+  /**
+   * Asynchronously sends the part to a client.
+   * @param remote remote endpoint of the client
+   * @param callback callback
+   */
+  void send(final RemoteEndpoint remote, final WriteCallback callback) {
+    if(text != null) {
+      remote.sendString(text, callback);
+    } else {
+      // buffers are shared by all clients: create independent positions and limits
+      remote.sendBytes(bytes.duplicate(), callback);
+    }
+  }
+}
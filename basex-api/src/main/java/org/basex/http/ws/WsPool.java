@@ -1,15 +1,17 @@
 package org.basex.http.ws;
 
-import java.nio.*;
+import java.math.*;
 import java.util.*;
 import java.util.Map.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 import org.basex.io.serial.*;
 import org.basex.query.*;
 import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.map.*;
 import org.basex.util.list.*;
-import org.eclipse.jetty.websocket.api.*;
 
 /**
  * This class defines a pool for WebSockets. It manages all connected WebSockets.
@@ -25,6 +27,17 @@ public final class WsPool {
   /** Incrementing id. */
   private static long websocketId = -1;
 
+  /** Number of sent message parts. */
+  private static final LongAdder SENT = new LongAdder();
+  /** Number of dropped messages. */
+  private static final LongAdder DROPPED = new LongAdder();
+  /** Number of failed message parts. */
+  private static final LongAdder FAILED = new LongAdder();
+  /** Accumulated send latency (nanoseconds). */
+  private static final LongAdder LATENCY = new LongAdder();
+  /** Maximum send latency (nanoseconds). */
+  private static final AtomicLong MAXLATENCY = new AtomicLong();
+
   /** Private constructor. */
   private WsPool() { }
 
@@ -113,28 +126,63 @@ public final class WsPool {
   private static void send(final Value message, final List<WebSocket> websockets)
       throws QueryException {
 
-    // serialize contents once
-    final List<Object> values;
+    // serialize and encode contents once
+    final List<WsPart> parts = new ArrayList<>();
     try {
-      values = WsResponse.serialize(message.iter(), new SerializerOptions());
+      for(final Object value : WsResponse.serialize(message.iter(), new SerializerOptions())) {
+        parts.add(new WsPart(value));
+      }
     } catch(final QueryIOException ex) {
       throw ex.getCause();
     }
 
-    // send result to all clients
+    // send result to all clients; slow clients will not block the others
     for(final WebSocket ws : websockets) {
-      if(!ws.isConnected()) continue;
-      final RemoteEndpoint remote = ws.getSession().getRemote();
-      for(final Object value : values) {
-        if(value instanceof ByteBuffer) {
-          remote.sendBytesByFuture((ByteBuffer) value);
-        } else {
-          remote.sendStringByFuture((String) value);
-        }
-      }
+      if(ws.isConnected()) DROPPED.add(ws.send(parts));
     }
   }
 
+  /**
+   * Registers a sent message part.
+   * @param ns send latency (nanoseconds)
+   */
+  static void sent(final long ns) {
+    SENT.increment();
+    LATENCY.add(ns);
+    MAXLATENCY.accumulateAndGet(ns, Math::max);
+  }
+
+  /**
+   * Registers a message part that could not be sent.
+   */
+  static void failed() {
+    FAILED.increment();
+  }
+
+  /**
+   * Returns statistics on the sent messages.
+   * @return map with statistics
+   * @throws QueryException query exception
+   */
+  public static XQMap stats() throws QueryException {
+    long pending = 0;
+    for(final WebSocket ws : CLIENTS.values()) pending += ws.pending();
+    final long sent = SENT.sum();
+    final BigDecimal ms = BigDecimal.valueOf(1000000);
+
+    final MapBuilder mb = new MapBuilder();
+    mb.put("clients", Int.get(CLIENTS.size()));
+    mb.put("pending", Int.get(pending));
+    mb.put("sent", Int.get(sent));
+    mb.put("dropped", Int.get(DROPPED.sum()));
+    mb.put("failed", Int.get(FAILED.sum()));
+    mb.put("latency", Dec.get(sent == 0 ? BigDecimal.ZERO :
+      BigDecimal.valueOf(LATENCY.sum() / sent).divide(ms, MathContext.DECIMAL64)));
+    mb.put("max-latency", Dec.get(
+      BigDecimal.valueOf(MAXLATENCY.get()).divide(ms, MathContext.DECIMAL64)));
+    return mb.finish();
+  }
+
   /**
    * Creates a new, unused WebSocket id.
    * @return new id
@@ -0,0 +1,134 @@
+package org.basex.http.ws;
+
+import java.util.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.*;
+
+import org.basex.core.StaticOptions.*;
+import org.basex.util.*;
+import org.eclipse.jetty.websocket.api.*;
+
+/**
+ * Queue of the messages that are sent to a single WebSocket client. A single message part is
+ * passed on to the client at a time, and the next part is sent when the previous part has been
+ * written. If a new message would exceed the maximum number of pending parts, messages will be
+ * dropped as defined by the {@link WsDrop} policy.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class WsQueue {
+  /** Sends a part to the client. */
+  private final BiConsumer<WsPart, WriteCallback> sender;
+  /** Queued messages. */
+  private final ArrayDeque<List<WsPart>> messages = new ArrayDeque<>();
+  /** Number of threads that have requested to send parts (see {@link #drain()}). */
+  private final AtomicInteger requests = new AtomicInteger();
+
+  /** Message that is currently sent (can be {@code null}). */
+  private List<WsPart> current;
+  /** Index of the next part of the current message. */
+  private int index;
+  /** Number of message parts that have been queued, but not sent yet. */
+  private int pending;
+  /** Indicates if a part is currently being sent. */
+  private boolean sending;
+
+  /**
+   * Constructor.
+   * @param sender function for sending a part to the client
+   */
+  WsQueue(final BiConsumer<WsPart, WriteCallback> sender) {
+    this.sender = sender;
+  }
+
+  /**
+   * Adds a message to the queue and sends it as soon as the previous messages have been sent.
+   * @param parts message parts
+   * @param max maximum number of pending parts
+   * @param drop drop policy
+   * @return number of dropped messages
+   */
+  int add(final List<WsPart> parts, final int max, final WsDrop drop) {
+    final int size = parts.size();
+    int dropped = 0;
+    synchronized(this) {
+      // always accept messages if no other parts are pending
+      if(pending > 0 && pending + size > max) {
+        if(drop == WsDrop.NEWEST) return 1;
+        // drop queued messages, starting with the oldest one
+        while(!messages.isEmpty() && (drop == WsDrop.CLOSE || pending + size > max)) {
+          pending -= messages.poll().size();
+          dropped++;
+        }
+        if(drop == WsDrop.CLOSE) return dropped + 1;
+      }
+      messages.add(parts);
+      pending += size;
+    }
+    drain();
+    return dropped;
+  }
+
+  /**
+   * Returns the number of pending message parts.
+   * @return number of parts
+   */
+  synchronized int pending() {
+    return pending;
+  }
+
+  /**
+   * Sends the next part if no other part is currently being sent. If a part is written
+   * synchronously, its callback will request the next part, which will then be sent by the
+   * same loop instead of a recursive call.
+   */
+  private void drain() {
+    if(requests.getAndIncrement() != 0) return;
+    do {
+      final WsPart part = next();
+      if(part != null) {
+        final long start = System.nanoTime();
+        sender.accept(part, new WriteCallback() {
+          @Override
+          public void writeSuccess() {
+            written();
+            WsPool.sent(System.nanoTime() - start);
+          }
+          @Override
+          public void writeFailed(final Throwable ex) {
+            written();
+            WsPool.failed();
+            Util.debug(ex);
+          }
+        });
+      }
+    } while(requests.decrementAndGet() != 0);
+  }
+
+  /**
+   * Returns the next part to be sent.
+   * @return part, or {@code null} if a part is currently being sent or if the queue is empty
+   */
+  private synchronized WsPart next() {
+    if(sending) return null;
+    if(current == null || index == current.size()) {
+      current = messages.poll();
+      index = 0;
+      if(current == null) return null;
+    }
+    sending = true;
+    return current.get(index++);
+  }
+
+  /**
+   * Registers a written part and sends the next part.
+   */
+  private void written() {
+    synchronized(this) {
+      sending = false;
+      pending--;
+    }
+    drain();
+  }
+}
@@ -255,7 +255,9 @@ public enum ApiFunction implements AFunction {
   /** XQuery function. */
   _WS_SEND(WsSend.class, "send(message[,ids])", arg(ITEM_O, STR_ZM), EMP, flag(NDT), WS_URI),
   /** XQuery function. */
-  _WS_SET(WsSet.class, "set(id,key,value)", arg(STR_O, STR_O, ITEM_ZM), EMP, flag(NDT), WS_URI);
+  _WS_SET(WsSet.class, "set(id,key,value)", arg(STR_O, STR_O, ITEM_ZM), EMP, flag(NDT), WS_URI),
+  /** XQuery function. */
+  _WS_STATS(WsStats.class, "stats()", arg(), MAP_O, flag(NDT), WS_URI);
 
   /** Function definition. */
   private final FuncDefinition definition;
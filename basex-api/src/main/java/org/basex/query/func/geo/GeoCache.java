@@ -0,0 +1,166 @@
+package org.basex.query.func.geo;
+
+import java.lang.ref.*;
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+import org.basex.data.*;
+import org.basex.query.value.node.*;
+
+import com.vividsolutions.jts.geom.*;
+import com.vividsolutions.jts.geom.prep.*;
+
+/**
+ * Cache for parsed geometries.
+ *
+ * Geometries of database nodes are cached until the database is updated (the timestamp and
+ * the update counter of the database are compared, see {@link MetaData#updates(String)}).
+ * Geometries of fragments are cached as long as the fragment is referenced. If a geometry is
+ * requested more than once, a prepared geometry will be created, which speeds up repeated spatial
+ * predicates. The cache size is limited; least recently used geometries are discarded first.
+ * Entries of discarded databases and fragments are removed when new geometries are cached.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class GeoCache {
+  /** Maximum number of cached geometries. */
+  private static final int MAX = 1 << 16;
+  /** Cached geometries, ordered by their last access. */
+  private static final LinkedHashMap<Key, Entry> ENTRIES =
+    new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(final Map.Entry<Key, GeoCache.Entry> eldest) {
+        return size() > MAX;
+      }
+    };
+  /** References to discarded databases and fragments. */
+  private static final ReferenceQueue<Object> DISCARDED = new ReferenceQueue<>();
+
+  /** Private constructor. */
+  private GeoCache() { }
+
+  /**
+   * Returns a cached geometry.
+   * @param node node
+   * @return cache entry or {@code null}
+   */
+  static Entry get(final ANode node) {
+    synchronized(ENTRIES) {
+      return ENTRIES.get(new Key(node, null));
+    }
+  }
+
+  /**
+   * Caches a geometry.
+   * @param node node
+   * @param geometry geometry
+   * @return cache entry
+   */
+  static Entry put(final ANode node, final Geometry geometry) {
+    final Entry entry = new Entry(geometry);
+    synchronized(ENTRIES) {
+      for(Reference<?> ref; (ref = DISCARDED.poll()) != null;) ENTRIES.remove(((Ref) ref).key);
+      ENTRIES.put(new Key(node, DISCARDED), entry);
+    }
+    return entry;
+  }
+
+  /** Cache entry. */
+  static final class Entry {
+    /** Geometry. */
+    final Geometry geometry;
+    /** Prepared geometry (can be {@code null}). */
+    private volatile PreparedGeometry prepared;
+    /** Number of requests. */
+    private final AtomicInteger requests = new AtomicInteger();
+
+    /**
+     * Constructor.
+     * @param geometry geometry
+     */
+    private Entry(final Geometry geometry) {
+      this.geometry = geometry;
+    }
+
+    /**
+     * Returns a prepared geometry if the geometry has been requested before.
+     * @return prepared geometry or {@code null}
+     */
+    PreparedGeometry prepared() {
+      if(prepared == null && requests.getAndIncrement() > 0) {
+        prepared = PreparedGeometryFactory.prepare(geometry);
+      }
+      return prepared;
+    }
+  }
+
+  /** Cache key, which references the database of a node or the node itself. */
+  private static final class Key {
+    /** Database or node. */
+    private final Ref ref;
+    /** Identity hash code of the database or node. */
+    private final int hash;
+    /** Pre value. */
+    private final int pre;
+    /** Database timestamp. */
+    private final long time;
+    /** Database update counter. */
+    private final long updates;
+
+    /**
+     * Constructor.
+     * @param node node
+     * @param queue queue for discarded references (can be {@code null})
+     */
+    private Key(final ANode node, final ReferenceQueue<Object> queue) {
+      final Object object;
+      if(node instanceof DBNode) {
+        final Data data = node.data();
+        object = data;
+        pre = ((DBNode) node).pre();
+        time = data.meta.time;
+        updates = MetaData.updates(data.meta.name);
+      } else {
+        object = node;
+        pre = 0;
+        time = 0;
+        updates = 0;
+      }
+      ref = new Ref(object, queue, this);
+      hash = System.identityHashCode(object);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash + pre;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if(this == obj) return true;
+      if(!(obj instanceof Key)) return false;
+      final Key key = (Key) obj;
+      final Object object = ref.get();
+      return object != null && object == key.ref.get() && pre == key.pre && time == key.time &&
+          updates == key.updates;
+    }
+  }
+
+  /** Weak reference to a database or node, which points back to its cache key. */
+  private static final class Ref extends WeakReference<Object> {
+    /** Cache key. */
+    private final Key key;
+
+    /**
+     * Constructor.
+     * @param object database or node
+     * @param queue queue for discarded references (can be {@code null})
+     * @param key cache key
+     */
+    private Ref(final Object object, final ReferenceQueue<Object> queue, final Key key) {
+      super(object, queue);
+      this.key = key;
+    }
+  }
+}
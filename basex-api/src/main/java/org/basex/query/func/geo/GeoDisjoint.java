@@ -4,6 +4,9 @@ import org.basex.query.*;
 import org.basex.query.value.item.*;
 import org.basex.util.*;
 
+import com.vividsolutions.jts.geom.*;
+import com.vividsolutions.jts.geom.prep.*;
+
 /**
  * Function implementation.
  *
@@ -13,6 +16,9 @@ import org.basex.util.*;
 public final class GeoDisjoint extends GeoFn {
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    return Bln.get(checkGeo(0, qc).disjoint(checkGeo(1, qc)));
+    final Geometry geo = checkGeo(0, qc);
+    final GeoCache.Entry entry = checkEntry(1, qc);
+    final PreparedGeometry prepared = entry.prepared();
+    return Bln.get(prepared != null ? prepared.disjoint(geo) : geo.disjoint(entry.geometry));
   }
 }
@@ -66,6 +66,18 @@ abstract class GeoFn extends StandardFunc {
    * @throws QueryException query exception
    */
   final Geometry checkGeo(final int i, final QueryContext qc) throws QueryException {
+    return checkGeo(toElem(exprs[i], qc)).geometry;
+  }
+
+  /**
+   * Reads an element as a GML node. Returns a cached geometry
+   * or throws an exception if the element is of the wrong type.
+   * @param i index of argument
+   * @param qc query context
+   * @return cache entry
+   * @throws QueryException query exception
+   */
+  final GeoCache.Entry checkEntry(final int i, final QueryContext qc) throws QueryException {
     return checkGeo(toElem(exprs[i], qc));
   }
 
@@ -83,12 +95,12 @@ abstract class GeoFn extends StandardFunc {
       throws QueryException {
 
     final ANode node = toElem(exprs[i], qc);
-    final Geometry geo = geo(node, names);
-    if(geo == null) {
+    final GeoCache.Entry entry = geo(node, names);
+    if(entry == null) {
       checkGeo(node);
       throw GEO_TYPE.get(info, type, node.qname().local());
     }
-    return geo;
+    return entry.geometry;
   }
 
   /**
@@ -120,37 +132,42 @@ abstract class GeoFn extends StandardFunc {
    * Reads an element as a GML node. Returns a geometry element
    * or throws an exception if the element is of the wrong type.
    * @param node xml node containing GML object(s)
-   * @return geometry
+   * @return cache entry
    * @throws QueryException query exception
    */
-  private Geometry checkGeo(final ANode node) throws QueryException {
-    final Geometry geo = geo(node, QNAMES);
-    if(geo == null) throw GEO_WHICH.get(info, node.qname().local());
-    return geo;
+  private GeoCache.Entry checkGeo(final ANode node) throws QueryException {
+    final GeoCache.Entry entry = geo(node, QNAMES);
+    if(entry == null) throw GEO_WHICH.get(info, node.qname().local());
+    return entry;
   }
 
   /**
-   * Reads an element as a GML node. Returns a geometry element or {@code null}.
+   * Reads an element as a GML node. Returns a cached geometry or {@code null}.
    * @param node xml node containing GML object(s)
    * @param names allowed geometry types
-   * @return geometry or {@code null}
+   * @return cache entry or {@code null}
    * @throws QueryException query exception
    */
-  private Geometry geo(final ANode node, final QNm... names) throws QueryException {
+  private GeoCache.Entry geo(final ANode node, final QNm... names) throws QueryException {
     if(node.type != NodeType.ELM) throw typeError(node, NodeType.ELM, null);
 
     final QNm qname = node.qname();
     for(final QNm geo : names) {
       if(!qname.eq(geo)) continue;
-      // type found... create reader and geometry element
+      // type found... return cached geometry
+      final GeoCache.Entry entry = GeoCache.get(node);
+      if(entry != null) return entry;
+      // create reader and geometry element
+      final Geometry geometry;
       try {
         final String input = node.serialize().toString();
         final GMLReader gmlReader = new GMLReader();
         final GeometryFactory geoFactory = new GeometryFactory();
-        return gmlReader.read(input, geoFactory);
+        geometry = gmlReader.read(input, geoFactory);
       } catch(final Throwable ex) {
         throw GEO_READ.get(info, ex);
       }
+      return GeoCache.put(node, geometry);
     }
     return null;
   }
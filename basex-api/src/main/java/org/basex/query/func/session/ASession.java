@@ -4,6 +4,7 @@ import java.util.*;
 
 import javax.servlet.http.*;
 
+import org.basex.query.*;
 import org.basex.query.value.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.seq.*;
@@ -28,6 +29,14 @@ public final class ASession {
     this.session = session;
   }
 
+  /**
+   * Deletes the temporary files of all session values.
+   * Called when the servlet context is destroyed.
+   */
+  public static void cleanup() {
+    SessionValue.cleanup();
+  }
+
   /**
    * Returns the session ID.
    * @return session id
@@ -66,19 +75,25 @@ public final class ASession {
   /**
    * Returns a session attribute.
    * @param key key to be requested
+   * @param qc query context
    * @return session attribute or {@code null}
+   * @throws QueryException query exception
    */
-  public Object get(final byte[] key) {
-    return session.getAttribute(Token.string(key));
+  public Object get(final byte[] key, final QueryContext qc) throws QueryException {
+    final Object object = session.getAttribute(Token.string(key));
+    return object instanceof SessionValue ? ((SessionValue) object).value(qc) : object;
   }
 
   /**
    * Updates a session attribute.
    * @param name name of the attribute
    * @param value value to be stored
+   * @param qc query context
+   * @throws QueryException query exception
    */
-  public void set(final byte[] name, final Value value) {
-    session.setAttribute(Token.string(name), value);
+  public void set(final byte[] name, final Value value, final QueryContext qc)
+      throws QueryException {
+    session.setAttribute(Token.string(name), SessionValue.get(value, qc.context));
   }
 
   /**
@@ -17,7 +17,7 @@ public final class SessionGet extends SessionFn {
     final byte[] name = toToken(exprs[0], qc);
     final Value dflt = exprs.length == 1 ? Empty.VALUE : exprs[1].value(qc);
 
-    final Object object = session(qc).get(name);
+    final Object object = session(qc).get(name, qc);
     return object != null ? JavaCall.toValue(object, qc, sc) : dflt;
   }
 }
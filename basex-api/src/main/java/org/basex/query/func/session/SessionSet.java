@@ -20,7 +20,7 @@ public final class SessionSet extends SessionFn {
     final byte[] name = toToken(exprs[0], qc);
     final Value value = exprs[1].value(qc);
 
-    session(qc).set(name, value.materialize(qc, SESSION_SET_X, info));
+    session(qc).set(name, value.materialize(qc, SESSION_SET_X, info), qc);
     return Empty.VALUE;
   }
 }
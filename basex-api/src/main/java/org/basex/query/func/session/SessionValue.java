@@ -0,0 +1,176 @@
+package org.basex.query.func.session;
+
+import static org.basex.query.QueryError.*;
+
+import java.io.*;
+import java.lang.ref.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import javax.servlet.http.*;
+
+import org.basex.build.*;
+import org.basex.build.xml.*;
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.DataOutput;
+import org.basex.io.serial.*;
+import org.basex.query.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
+
+/**
+ * Session value that is stored in a temporary file.
+ *
+ * Large XML documents and elements are serialized to disk if they exceed the number of nodes
+ * specified by {@link StaticOptions#SESSIONSTORE}. The value is parsed again when it is
+ * requested, and it is kept in main memory until memory gets short. The file is deleted
+ * as soon as the value is removed from its session, if the session is invalidated, or if
+ * the servlet context is destroyed.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class SessionValue implements HttpSessionBindingListener {
+  /** Temporary files that have not been deleted yet. */
+  private static final Set<IOFile> FILES = ConcurrentHashMap.newKeySet();
+
+  /** Temporary file. */
+  private final IOFile file;
+  /** Cached value. */
+  private SoftReference<Value> value;
+
+  /**
+   * Constructor.
+   * @param file temporary file
+   * @param value value
+   */
+  private SessionValue(final IOFile file, final Value value) {
+    this.file = file;
+    this.value = new SoftReference<>(value);
+  }
+
+  /**
+   * Returns the object to be stored in a session.
+   * @param value value
+   * @param ctx database context
+   * @return session value, or the value itself if it will be kept in main memory
+   * @throws QueryException query exception
+   */
+  static Object get(final Value value, final Context ctx) throws QueryException {
+    final int max = ctx.soptions.get(StaticOptions.SESSIONSTORE);
+    if(max <= 0 || value.isEmpty()) return value;
+
+    // only store XML documents and elements that exceed the specified number of nodes
+    long nodes = 0;
+    for(final Item item : value) {
+      if(item.type != NodeType.DOC && item.type != NodeType.ELM) return value;
+      nodes += size((ANode) item);
+    }
+    if(nodes < max) return value;
+
+    try {
+      final IOFile file = new IOFile(File.createTempFile(Prop.NAME + '-', IO.TMPSUFFIX));
+      try(DataOutput out = new DataOutput(file)) {
+        out.writeNum((int) value.size());
+        for(final Item item : value) {
+          out.write(item.type == NodeType.DOC ? 1 : 0);
+          out.writeToken(item.serialize(SerializerMode.NOINDENT.get()).finish());
+        }
+      } catch(final IOException ex) {
+        file.delete();
+        throw ex;
+      }
+      FILES.add(file);
+      return new SessionValue(file, value);
+    } catch(final IOException ex) {
+      throw IOERR_X.get(null, ex);
+    }
+  }
+
+  /**
+   * Returns the value. Parses the temporary file if the value is not cached anymore.
+   * @param qc query context
+   * @return value
+   * @throws QueryException query exception
+   */
+  synchronized Value value(final QueryContext qc) throws QueryException {
+    Value val = value.get();
+    if(val == null) {
+      val = read(qc);
+      value = new SoftReference<>(val);
+    }
+    return val;
+  }
+
+  /**
+   * Parses the temporary file.
+   * @param qc query context
+   * @return value
+   * @throws QueryException query exception
+   */
+  Value read(final QueryContext qc) throws QueryException {
+    final MainOptions options = new MainOptions();
+    options.set(MainOptions.CHOP, false);
+    try(DataInput in = new DataInput(file)) {
+      final ValueBuilder vb = new ValueBuilder(qc);
+      for(int n = in.readNum(); n > 0; n--) {
+        // documents may have multiple roots or top-level texts: parse them as fragments
+        final boolean doc = in.read() == 1;
+        final XMLParser parser = new XMLParser(new IOContent(in.readToken()), options, doc);
+        final DBNode node = new DBNode(MemBuilder.build(parser));
+        vb.add(doc ? node : node.childIter().next());
+      }
+      return vb.value();
+    } catch(final IOException ex) {
+      throw IOERR_X.get(null, ex);
+    }
+  }
+
+  @Override
+  public void valueBound(final HttpSessionBindingEvent event) { }
+
+  @Override
+  public void valueUnbound(final HttpSessionBindingEvent event) {
+    delete(file);
+  }
+
+  /**
+   * Deletes all remaining temporary files.
+   */
+  static void cleanup() {
+    for(final IOFile file : FILES) delete(file);
+  }
+
+  /**
+   * Deletes a temporary file.
+   * @param file file
+   */
+  private static void delete(final IOFile file) {
+    FILES.remove(file);
+    file.delete();
+  }
+
+  /**
+   * Returns the number of nodes of the specified node.
+   * @param node node
+   * @return number of nodes
+   */
+  private static long size(final ANode node) {
+    if(node instanceof DBNode) {
+      final Data data = node.data();
+      final int pre = ((DBNode) node).pre();
+      return data.size(pre, data.kind(pre));
+    }
+    long size = 0;
+    final BasicNodeIter iter = node.descendantOrSelfIter();
+    while(iter.next() != null) size++;
+    return size;
+  }
+}
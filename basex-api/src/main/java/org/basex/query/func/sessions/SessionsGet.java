@@ -17,7 +17,7 @@ public final class SessionsGet extends SessionsFn {
     final byte[] name = toToken(exprs[1], qc);
     final Value dflt = exprs.length == 2 ? Empty.VALUE : exprs[2].value(qc);
 
-    final Object object = session(qc).get(name);
+    final Object object = session(qc).get(name, qc);
     return object != null ? JavaCall.toValue(object, qc, sc) : dflt;
   }
 }
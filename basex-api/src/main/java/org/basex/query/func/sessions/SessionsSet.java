@@ -20,7 +20,7 @@ public final class SessionsSet extends SessionsFn {
     final byte[] name = toToken(exprs[1], qc);
     final Value value = exprs[2].value(qc);
 
-    session(qc).set(name, value.materialize(qc, SESSIONS_SET_X, info));
+    session(qc).set(name, value.materialize(qc, SESSIONS_SET_X, info), qc);
     return Empty.VALUE;
   }
 }
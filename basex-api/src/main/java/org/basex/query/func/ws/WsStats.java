@@ -0,0 +1,19 @@
+package org.basex.query.func.ws;
+
+import org.basex.http.ws.*;
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class WsStats extends WsFn {
+  @Override
+  public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
+    return WsPool.stats();
+  }
+}
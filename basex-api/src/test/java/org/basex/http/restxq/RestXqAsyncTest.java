@@ -0,0 +1,82 @@
+package org.basex.http.restxq;
+
+import static org.junit.Assert.*;
+
+import java.net.*;
+import java.util.concurrent.*;
+
+import org.basex.core.*;
+import org.basex.http.*;
+import org.basex.util.options.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * This test contains RESTXQ tests for the limits of asynchronous request processing.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class RestXqAsyncTest extends RestXqTest {
+  /**
+   * Limits the number of threads and the timeout.
+   */
+  @BeforeClass public static void limit() {
+    final StaticOptions sopts = HTTPContext.get().context().soptions;
+    sopts.set(StaticOptions.ASYNCTHREADS, 1);
+    sopts.set(StaticOptions.ASYNCQUEUE, 0);
+    sopts.set(StaticOptions.ASYNCTIMEOUT, 2);
+  }
+
+  /**
+   * Resets the limits.
+   */
+  @AfterClass public static void reset() {
+    final StaticOptions sopts = HTTPContext.get().context().soptions;
+    for(final NumberOption option : new NumberOption[] { StaticOptions.ASYNCTHREADS,
+        StaticOptions.ASYNCQUEUE, StaticOptions.ASYNCTIMEOUT }) {
+      sopts.set(option, option.value());
+    }
+  }
+
+  /**
+   * Rejects requests if all threads are busy.
+   * @throws Exception exception */
+  @Test public void busy() throws Exception {
+    install("declare %R:path('sleep') function m:sleep() { prof:sleep(1500), 'slept' };" +
+      "declare %R:path('x') function m:x() { 'x' };");
+    final Future<String> slept = Executors.newSingleThreadExecutor().submit(() -> get("sleep"));
+    Thread.sleep(500);
+    assertEquals(503, code("x"));
+    assertEquals("slept", slept.get());
+    assertEquals("x", get("x"));
+  }
+
+  /**
+   * Stops requests that exceed the timeout.
+   * @throws Exception exception */
+  @Test public void timeout() throws Exception {
+    install("declare %R:path('sleep') function m:sleep() { prof:sleep(20000), 'slept' };" +
+      "declare %R:path('x') function m:x() { 'x' };");
+    final long time = System.nanoTime();
+    assertEquals(460, code("sleep"));
+    assertTrue((System.nanoTime() - time) / 1000000 < 10000);
+    assertEquals("x", get("x"));
+  }
+
+  /**
+   * Returns the status code of a GET request.
+   * @param query request
+   * @return status code
+   * @throws Exception exception
+   */
+  private static int code(final String query) throws Exception {
+    final HttpURLConnection conn = (HttpURLConnection) new URL(HTTP_ROOT + query).
+        openConnection();
+    try {
+      return conn.getResponseCode();
+    } finally {
+      conn.disconnect();
+    }
+  }
+}
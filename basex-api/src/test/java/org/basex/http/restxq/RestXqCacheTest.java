@@ -0,0 +1,153 @@
+package org.basex.http.restxq;
+
+import static org.junit.Assert.*;
+
+import java.net.*;
+import java.util.zip.*;
+
+import org.basex.core.*;
+import org.basex.http.*;
+import org.basex.io.in.*;
+import org.basex.util.*;
+import org.basex.util.http.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * This test contains cached RESTXQ responses.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class RestXqCacheTest extends RestXqTest {
+  /**
+   * Cached and uncached responses.
+   * @throws Exception exception */
+  @Test public void cache() throws Exception {
+    install("declare %R:path('a') %rest:cache function m:a() { random:uuid() };" +
+      "declare %R:path('b') function m:b() { random:uuid() };");
+    assertEquals(get("a"), get("a"));
+    assertNotEquals(get("b"), get("b"));
+    // different query strings
+    assertNotEquals(get("a?x=1"), get("a?x=2"));
+  }
+
+  /**
+   * Invalidation of cached responses after database updates.
+   * @throws Exception exception */
+  @Test public void update() throws Exception {
+    install("declare %R:path('create') %updating function m:create() { db:create('" + NAME +
+      "', <a/>, 'a.xml') };" +
+      "declare %R:path('insert') %updating function m:insert() { " +
+      "insert node <b/> into db:open('" + NAME + "')/a };" +
+      "declare %R:path('count') %rest:cache function m:count() { count(db:open('" + NAME +
+      "')//b) };" +
+      "declare %R:path('drop') %updating function m:drop() { db:drop('" + NAME + "') };");
+    get("create");
+    assertEquals("0", get("count"));
+    assertEquals("0", get("count"));
+    // updates may take place within the same millisecond
+    for(int i = 1; i <= 20; i++) {
+      get("insert");
+      assertEquals(String.valueOf(i), get("count"));
+    }
+    get("drop");
+  }
+
+  /**
+   * Entity tags.
+   * @throws Exception exception */
+  @Test public void etag() throws Exception {
+    install("declare %R:path('') %rest:cache function m:a() { 'X' };");
+
+    HttpURLConnection conn = (HttpURLConnection) new URL(HTTP_ROOT).openConnection();
+    assertEquals(200, conn.getResponseCode());
+    final String etag = conn.getHeaderField(HttpText.ETAG);
+    assertNotNull(etag);
+    conn.disconnect();
+
+    conn = (HttpURLConnection) new URL(HTTP_ROOT).openConnection();
+    conn.setRequestProperty(HttpText.IF_NONE_MATCH, etag);
+    assertEquals(304, conn.getResponseCode());
+    conn.disconnect();
+  }
+
+  /**
+   * Compressed responses.
+   * @throws Exception exception */
+  @Test public void gzip() throws Exception {
+    final StaticOptions sopts = HTTPContext.get().context().soptions;
+    sopts.set(StaticOptions.GZIP, true);
+    sopts.set(StaticOptions.GZIPMINSIZE, 1000);
+    try {
+      install("declare %R:path('large') %rest:cache function m:large() {" +
+        "string-join((1 to 1000) ! 'x') };" +
+        "declare %R:path('small') %rest:cache function m:small() { 'x' };");
+      final StringBuilder large = new StringBuilder();
+      for(int i = 0; i < 1000; i++) large.append('x');
+
+      // uncompressed response
+      HttpURLConnection conn = connection("large", null, null);
+      assertEquals(200, conn.getResponseCode());
+      assertNull(conn.getHeaderField(HttpText.CONTENT_ENCODING));
+      assertEquals(HttpText.ACCEPT_ENCODING, conn.getHeaderField(HttpText.VARY));
+      final String etag = conn.getHeaderField(HttpText.ETAG);
+      assertEquals(large.toString(),
+          Token.string(BufferInput.get(conn.getInputStream()).content()));
+      conn.disconnect();
+
+      // compressed response, with a separate entity tag
+      conn = connection("large", HttpText.GZIP, null);
+      assertEquals(200, conn.getResponseCode());
+      assertEquals(HttpText.GZIP, conn.getHeaderField(HttpText.CONTENT_ENCODING));
+      assertEquals(HttpText.ACCEPT_ENCODING, conn.getHeaderField(HttpText.VARY));
+      final String gzipEtag = conn.getHeaderField(HttpText.ETAG);
+      assertNotNull(gzipEtag);
+      assertNotEquals(etag, gzipEtag);
+      assertEquals(large.toString(), Token.string(
+          BufferInput.get(new GZIPInputStream(conn.getInputStream())).content()));
+      conn.disconnect();
+
+      // compressed responses with a quality value of 0 are rejected
+      conn = connection("large", HttpText.GZIP + ";q=0", null);
+      assertNull(conn.getHeaderField(HttpText.CONTENT_ENCODING));
+      assertEquals(etag, conn.getHeaderField(HttpText.ETAG));
+      conn.disconnect();
+
+      // both entity tags are accepted
+      conn = connection("large", HttpText.GZIP, gzipEtag);
+      assertEquals(304, conn.getResponseCode());
+      conn.disconnect();
+      conn = connection("large", HttpText.GZIP, etag);
+      assertEquals(304, conn.getResponseCode());
+      conn.disconnect();
+
+      // responses below the minimum size are not compressed
+      conn = connection("small", HttpText.GZIP, null);
+      assertEquals(200, conn.getResponseCode());
+      assertNull(conn.getHeaderField(HttpText.CONTENT_ENCODING));
+      assertNull(conn.getHeaderField(HttpText.VARY));
+      conn.disconnect();
+    } finally {
+      sopts.set(StaticOptions.GZIP, StaticOptions.GZIP.value());
+      sopts.set(StaticOptions.GZIPMINSIZE, StaticOptions.GZIPMINSIZE.value());
+    }
+  }
+
+  /**
+   * Opens a connection for a GET request.
+   * @param query request
+   * @param encoding accepted encoding (can be {@code null})
+   * @param etag entity tag (can be {@code null})
+   * @return connection
+   * @throws Exception exception
+   */
+  private static HttpURLConnection connection(final String query, final String encoding,
+      final String etag) throws Exception {
+    final HttpURLConnection conn = (HttpURLConnection) new URL(HTTP_ROOT + query).
+        openConnection();
+    if(encoding != null) conn.setRequestProperty(HttpText.ACCEPT_ENCODING, encoding);
+    if(etag != null) conn.setRequestProperty(HttpText.IF_NONE_MATCH, etag);
+    return conn;
+  }
+}
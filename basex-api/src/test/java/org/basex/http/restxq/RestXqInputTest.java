@@ -1,5 +1,8 @@
 package org.basex.http.restxq;
 
+import static org.junit.Assert.*;
+
+import org.basex.http.*;
 import org.basex.util.http.*;
 import org.junit.*;
 
@@ -54,4 +57,46 @@ public final class RestXqInputTest extends RestXqTest {
     post("declare %R:POST('{$x}') %R:path('') function m:f($x) {$x//A};",
         "", "A\n1", MediaType.TEXT_CSV, "");
   }
+
+  /**
+   * Binary input, cached in main memory or in a temporary file.
+   * @throws Exception exception
+   */
+  @Test public void binary() throws Exception {
+    final String f = "declare %R:POST('{$x}') %R:path('') function m:f($x) {bin:length($x)};";
+    post(f, "", "ABC", MediaType.APPLICATION_OCTET_STREAM, "3");
+    final int size = RequestContext.MAXCACHE + 1;
+    post(f, "", new String(new char[size]).replace('\0', 'A'), MediaType.APPLICATION_OCTET_STREAM,
+        Integer.toString(size));
+  }
+
+  /**
+   * Binary input in a temporary file, accessed after the request has been processed.
+   * @throws Exception exception
+   */
+  @Test public void binaryJob() throws Exception {
+    install("declare %R:POST('{$x}') %R:path('') function m:f($x) {" +
+      "jobs:eval('declare variable $x external; bin:length($x)', map { 'x': $x }," +
+      "map { 'start': 'PT0.5S', 'cache': true() }) };" +
+      "declare %R:path('{$id}') function m:g($id) { jobs:wait($id), jobs:result($id) };");
+    final int size = RequestContext.MAXCACHE + 1;
+    final String id = post("", new String(new char[size]).replace('\0', 'A'),
+        MediaType.APPLICATION_OCTET_STREAM);
+    assertEquals(Integer.toString(size), get(id));
+  }
+
+  /**
+   * XML input, parsed in main memory or into a temporary database.
+   * @throws Exception exception
+   */
+  @Test public void xml() throws Exception {
+    final String f = "declare %R:POST('{$x}') %R:path('') function m:f($x) {" +
+        "count($x//b) || ' ' || count(db:list()[starts-with(., 'BaseX-request')])};";
+    post(f, "", "<a><b/></a>", MediaType.APPLICATION_XML, "1 0");
+    final int size = RequestContext.MAXCACHE / 4 + 1;
+    post(f, "", "<a>" + new String(new char[size]).replace("\0", "<b/>") + "</a>",
+        MediaType.APPLICATION_XML, size + " 1");
+    post("declare %R:path('') function m:f() { count(db:list()) };", "", "", MediaType.TEXT_PLAIN,
+        "0");
+  }
 }
@@ -108,6 +108,16 @@ public final class RestXqMethodTest extends RestXqTest {
     options("declare %R:GET %R:path('sdfdfs') function m:f() { <R:response/> };", "");
   }
 
+  /**
+   * {@code %priority} annotation.
+   * @throws Exception exception
+   */
+  @Test public void priority() throws Exception {
+    get("declare %R:priority('batch') %R:path('') function m:f() { 1 };", "", "1");
+    get("declare %R:priority('background') %R:path('') function m:f() { 1 };", "", "1");
+    getE("declare %R:priority('low') %R:path('') function m:f() { 1 };", "");
+  }
+
   /**
    * Executes the specified OPTIONS request and tests the result.
    * @param function function to test
@@ -0,0 +1,62 @@
+package org.basex.http.restxq;
+
+import static org.junit.Assert.*;
+
+import org.basex.core.*;
+import org.basex.http.web.*;
+import org.basex.io.*;
+import org.basex.util.*;
+import org.junit.*;
+
+/**
+ * This test contains RESTXQ tests for cached modules.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class RestXqModuleTest extends RestXqTest {
+  /**
+   * Module sources are cached until the module is parsed again.
+   * @throws Exception exception */
+  @Test public void source() throws Exception {
+    install("declare %R:path('') function m:a() { 'X' };");
+    assertEquals("X", get(""));
+
+    // overwrite module, keep timestamp: cached source will be evaluated
+    final IOFile file = module();
+    final long time = file.timeStamp();
+    final String source = Token.string(file.read());
+    file.write(source.replace("'X'", "'Y'"));
+    assertTrue(file.file().setLastModified(time));
+    assertEquals("X", get(""));
+    WebModules.get(context).init();
+    assertEquals("X", get(""));
+  }
+
+  /**
+   * Modules with a new timestamp are parsed again.
+   * @throws Exception exception */
+  @Test public void timestamp() throws Exception {
+    install("declare %R:path('') function m:a() { 'X' };");
+    assertEquals("X", get(""));
+
+    final IOFile file = module();
+    final long time = file.timeStamp();
+    final String source = Token.string(file.read());
+    // cached source is discarded
+    file.write(source.replace("'X'", "'Z'"));
+    assertTrue(file.file().setLastModified(time + 2000));
+    WebModules.get(context).init();
+    assertEquals("Z", get(""));
+  }
+
+  /**
+   * Returns the single installed module.
+   * @return module file
+   */
+  private static IOFile module() {
+    final IOFile[] files = new IOFile(context.soptions.get(StaticOptions.WEBPATH)).children();
+    assertEquals(1, files.length);
+    return files[0];
+  }
+}
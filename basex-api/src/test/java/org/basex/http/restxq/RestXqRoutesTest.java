@@ -0,0 +1,121 @@
+package org.basex.http.restxq;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.net.*;
+
+import org.basex.core.*;
+import org.basex.util.http.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * This test contains RESTXQ tests for the dispatching of requests.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class RestXqRoutesTest extends RestXqTest {
+  /**
+   * Functions with identical paths and different methods.
+   * @throws Exception exception */
+  @Test public void methods() throws Exception {
+    install("declare %R:GET %R:path('a') function m:get() { 'get' };" +
+      "declare %R:POST %R:path('a') function m:post() { 'post' };" +
+      "declare %R:GET %R:POST %R:path('a/b') function m:both() { 'both' };" +
+      "declare %R:path('a/c') function m:all() { 'all' };");
+    assertEquals("get", get("a"));
+    assertEquals("post", post("a", "", MediaType.TEXT_PLAIN));
+    assertEquals("both", get("a/b"));
+    assertEquals("both", post("a/b", "", MediaType.TEXT_PLAIN));
+    assertEquals("all", get("a/c"));
+    assertEquals("all", delete("a/c"));
+    error(() -> delete("a"));
+    error(() -> delete("a/b"));
+  }
+
+  /**
+   * Functions with literal paths and templates.
+   * @throws Exception exception */
+  @Test public void templates() throws Exception {
+    install("declare %R:GET %R:path('a/b') function m:b() { 'b' };" +
+      "declare %R:GET %R:path('a/{$x}') function m:x($x) { 'x' || $x };" +
+      "declare %R:POST %R:path('a/{$x}') function m:y($x) { 'y' || $x };" +
+      "declare %R:GET %R:path('{$x}/b') function m:z($x) { 'z' || $x };");
+    assertEquals("b", get("a/b"));
+    assertEquals("xc", get("a/c"));
+    assertEquals("yb", post("a/b", "", MediaType.TEXT_PLAIN));
+    assertEquals("zc", get("c/b"));
+    error(() -> get("a/b/c"));
+  }
+
+  /**
+   * Functions with identical paths and different consumed media types.
+   * @throws Exception exception */
+  @Test public void consumes() throws Exception {
+    install("declare %R:POST %R:path('') %R:consumes('text/plain') function m:t() { 't' };" +
+      "declare %R:POST %R:path('') %R:consumes('application/xml', 'application/json')" +
+      " function m:a() { 'a' };");
+    assertEquals("t", post("", "", MediaType.TEXT_PLAIN));
+    assertEquals("a", post("", "", MediaType.APPLICATION_XML));
+    assertEquals("a", post("", "", MediaType.APPLICATION_JSON));
+    error(() -> post("", "", MediaType.TEXT_HTML));
+  }
+
+  /**
+   * Functions with identical paths and different produced media types.
+   * @throws Exception exception */
+  @Test public void produces() throws Exception {
+    install("declare %R:GET %R:path('') %R:produces('text/plain') function m:t() { 't' };" +
+      "declare %R:GET %R:path('') %R:produces('application/json') function m:j() { 'j' };");
+    assertEquals("t", get("", "text/plain"));
+    assertEquals("j", get("", "application/json"));
+    assertEquals("j", get("", "application/*"));
+    assertEquals("t", get("", "text/html, text/plain;q=0.5"));
+    error(() -> get("", "text/html"));
+  }
+
+  /**
+   * Executes a GET request with the specified accepted media types.
+   * @param query request
+   * @param accept value of the Accept header
+   * @return string result
+   * @throws IOException I/O exception
+   */
+  private static String get(final String query, final String accept) throws IOException {
+    final HttpURLConnection conn = (HttpURLConnection) new URL(HTTP_ROOT + query).
+        openConnection();
+    conn.setRequestProperty(HttpText.ACCEPT, accept);
+    try {
+      return read(conn.getInputStream());
+    } catch(final IOException ex) {
+      throw error(conn, ex);
+    } finally {
+      conn.disconnect();
+    }
+  }
+
+  /**
+   * Checks if the specified request is rejected.
+   * @param request request
+   */
+  private static void error(final Request request) {
+    try {
+      request.run();
+      fail("Error expected.");
+    } catch(final IOException ex) {
+      assertTrue(ex.toString(), ex instanceof BaseXException);
+    }
+  }
+
+  /** Request to be tested. */
+  @FunctionalInterface
+  private interface Request {
+    /**
+     * Runs the request.
+     * @throws IOException I/O exception
+     */
+    void run() throws IOException;
+  }
+}
@@ -0,0 +1,121 @@
+package org.basex.http.ws;
+
+import static org.junit.Assert.*;
+
+import java.nio.*;
+import java.util.*;
+
+import org.basex.core.StaticOptions.*;
+import org.eclipse.jetty.websocket.api.*;
+import org.junit.*;
+
+/**
+ * This class tests the message queue of WebSocket clients.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class WsQueueTest {
+  /** Parts that have been passed on to the client. */
+  private final ArrayList<WsPart> sent = new ArrayList<>();
+  /** Callbacks of the parts that have not been written yet. */
+  private final ArrayDeque<WriteCallback> callbacks = new ArrayDeque<>();
+
+  /** Messages are sent one part after another. */
+  @Test public void order() {
+    final WsQueue queue = queue(false);
+    assertEquals(0, queue.add(message(2), 10, WsDrop.NEWEST));
+    assertEquals(0, queue.add(message(1), 10, WsDrop.NEWEST));
+    assertEquals(1, sent.size());
+    assertEquals(3, queue.pending());
+    while(!callbacks.isEmpty()) callbacks.poll().writeSuccess();
+    assertEquals(3, sent.size());
+    assertEquals(0, queue.pending());
+  }
+
+  /** Parts that are written synchronously. */
+  @Test public void sync() {
+    final WsQueue queue = queue(true);
+    for(int m = 0; m < 10000; m++) assertEquals(0, queue.add(message(2), 1, WsDrop.NEWEST));
+    assertEquals(20000, sent.size());
+    assertEquals(0, queue.pending());
+  }
+
+  /** Drop new messages. */
+  @Test public void newest() {
+    final WsQueue queue = queue(false);
+    final List<WsPart> first = message(2), second = message(1);
+    // first message is always accepted
+    assertEquals(0, queue.add(first, 2, WsDrop.NEWEST));
+    assertEquals(1, queue.add(message(1), 2, WsDrop.NEWEST));
+    callbacks.poll().writeSuccess();
+    assertEquals(0, queue.add(second, 2, WsDrop.NEWEST));
+    while(!callbacks.isEmpty()) callbacks.poll().writeSuccess();
+    assertEquals(sent(first, second), sent);
+  }
+
+  /** Drop oldest messages. */
+  @Test public void oldest() {
+    final WsQueue queue = queue(false);
+    final List<WsPart> first = message(1), second = message(1), third = message(1);
+    final List<WsPart> fourth = message(1);
+    assertEquals(0, queue.add(first, 3, WsDrop.OLDEST));
+    assertEquals(0, queue.add(second, 3, WsDrop.OLDEST));
+    assertEquals(0, queue.add(third, 3, WsDrop.OLDEST));
+    // second message is dropped; first message is currently sent
+    assertEquals(1, queue.add(fourth, 3, WsDrop.OLDEST));
+    while(!callbacks.isEmpty()) callbacks.poll().writeSuccess();
+    assertEquals(sent(first, third, fourth), sent);
+  }
+
+  /** Drop all messages. */
+  @Test public void close() {
+    final WsQueue queue = queue(false);
+    final List<WsPart> first = message(1);
+    assertEquals(0, queue.add(first, 2, WsDrop.CLOSE));
+    assertEquals(0, queue.add(message(1), 2, WsDrop.CLOSE));
+    assertEquals(2, queue.add(message(1), 2, WsDrop.CLOSE));
+    assertEquals(1, queue.pending());
+    callbacks.poll().writeFailed(new Exception());
+    assertEquals(0, queue.pending());
+    assertEquals(sent(first), sent);
+  }
+
+  /**
+   * Creates a queue.
+   * @param sync write parts synchronously
+   * @return queue
+   */
+  private WsQueue queue(final boolean sync) {
+    return new WsQueue((part, callback) -> {
+      sent.add(part);
+      if(sync) callback.writeSuccess();
+      else callbacks.add(callback);
+    });
+  }
+
+  /**
+   * Creates a message.
+   * @param parts number of parts
+   * @return message
+   */
+  private static List<WsPart> message(final int parts) {
+    final ArrayList<WsPart> list = new ArrayList<>();
+    for(int p = 0; p < parts; p++) {
+      list.add(p % 2 == 0 ? new WsPart("text") : new WsPart(ByteBuffer.wrap(new byte[1])));
+    }
+    return list;
+  }
+
+  /**
+   * Returns the parts of the specified messages.
+   * @param messages messages
+   * @return parts
+   */
+  @SafeVarargs
+  private static List<WsPart> sent(final List<WsPart>... messages) {
+    final ArrayList<WsPart> list = new ArrayList<>();
+    for(final List<WsPart> message : messages) list.addAll(message);
+    return list;
+  }
+}
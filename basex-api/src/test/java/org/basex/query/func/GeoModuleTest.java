@@ -813,6 +813,33 @@ public final class GeoModuleTest extends SandboxTest {
     error(func.args(" "), FUNCARITY_X_X_X);
   }
 
+  /** Cached and prepared geometries. */
+  @Test public void cache() {
+    final String area = " <gml:Polygon><gml:outerBoundaryIs><gml:LinearRing><gml:coordinates>" +
+        "0,0 10,0 10,10 0,10 0,0</gml:coordinates></gml:LinearRing></gml:outerBoundaryIs>" +
+        "</gml:Polygon>";
+    query(Function._DB_CREATE.args(NAME, " <points xmlns:gml='http://www.opengis.net/gml'>" +
+        "<gml:Point><gml:coordinates>1,1</gml:coordinates></gml:Point>" +
+        "<gml:Point><gml:coordinates>5,5</gml:coordinates></gml:Point>" +
+        "<gml:Point><gml:coordinates>20,20</gml:coordinates></gml:Point></points>", "points.xml"));
+
+    final String points = "db:open('" + NAME + "')//gml:Point";
+    for(int i = 0; i < 3; i++) {
+      run("let $a := " + area + " return count(" + points + '[' +
+          _GEO_WITHIN.args(" .", " $a") + "])", 2);
+      run("let $a := " + area + " return count(" + points + '[' +
+          _GEO_INTERSECTS.args(" .", " $a") + "])", 2);
+      run("let $a := " + area + " return count(" + points + '[' +
+          _GEO_DISJOINT.args(" .", " $a") + "])", 1);
+    }
+
+    // cached geometries must be invalidated after updates
+    run("replace value of node (" + points + ")[3]/gml:coordinates with '2,2'", "");
+    run("let $a := " + area + " return count(" + points + '[' +
+        _GEO_WITHIN.args(" .", " $a") + "])", 3);
+    query(Function._DB_DROP.args(NAME));
+  }
+
   /**
    * Query.
    * @param query query
@@ -0,0 +1,55 @@
+package org.basex.query.func;
+
+import static org.basex.query.func.ApiFunction.*;
+import static org.junit.Assert.*;
+
+import java.net.*;
+
+import org.basex.http.*;
+import org.basex.util.*;
+import org.junit.*;
+
+/**
+ * This class tests the WebSocket Module.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class WsModuleTest extends HTTPTest {
+  /**
+   * Start server.
+   * @throws Exception exception
+   */
+  @BeforeClass public static void start() throws Exception {
+    init(REST_ROOT, true);
+  }
+
+  /**
+   * Function test.
+   * @throws Exception exception
+   */
+  @Test public void stats() throws Exception {
+    final ApiFunction func = _WS_STATS;
+    assertEquals("clients dropped failed latency max-latency pending sent",
+        get(queryString("string-join(sort(map:keys(" + func.args() + ")), ' ')")));
+    assertEquals("0", get(queryString(func.args() + "?clients")));
+    assertEquals("0", get(queryString(func.args() + "?pending")));
+
+    // messages without clients are not counted
+    final String sent = get(queryString(func.args() + "?sent"));
+    get(queryString(_WS_EMIT.args("message")));
+    assertEquals(sent, get(queryString(func.args() + "?sent")));
+  }
+
+  // PRIVATE METHODS ==============================================================================
+
+  /**
+   * Returns an encoded query string.
+   * @param string query string
+   * @return encoded query string
+   * @throws Exception exception
+   */
+  private static String queryString(final String string) throws Exception {
+    return "?query=" + URLEncoder.encode(string, Strings.UTF8);
+  }
+}
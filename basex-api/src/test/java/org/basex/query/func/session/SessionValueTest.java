@@ -0,0 +1,81 @@
+package org.basex.query.func.session;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.query.*;
+import org.basex.query.value.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * This class tests session values that are stored in temporary files.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class SessionValueTest extends SandboxTest {
+  /** Initializes the test. */
+  @BeforeClass public static void init() {
+    context.soptions.set(StaticOptions.SESSIONSTORE, 1);
+  }
+
+  /** Finalizes the test. */
+  @AfterClass public static void finish() {
+    context.soptions.set(StaticOptions.SESSIONSTORE, 0);
+  }
+
+  /**
+   * Stores and parses documents and elements.
+   * @throws Exception exception
+   */
+  @Test public void roundtrip() throws Exception {
+    roundtrip("<a><b/> </a>");
+    roundtrip("document { <a/> }");
+    roundtrip("document { <a/>, <b/> }");
+    roundtrip("document { 'text', <a/>, ' ' }");
+    roundtrip("document { 'text' }");
+    roundtrip("document { <a/>, <b/> }, <c>x</c>");
+  }
+
+  /**
+   * Deletes temporary files.
+   * @throws Exception exception
+   */
+  @Test public void cleanup() throws Exception {
+    try(QueryProcessor qp = new QueryProcessor("<a/>", context)) {
+      final SessionValue sv = (SessionValue) SessionValue.get(qp.value(), context);
+      SessionValue.cleanup();
+      try {
+        sv.read(qp.qc);
+        fail("Temporary file was not deleted.");
+      } catch(final QueryException ex) {
+        assertEquals(QueryError.IOERR_X, ex.error());
+      }
+    }
+  }
+
+  /**
+   * Stores the result of a query and compares the parsed value with the original.
+   * @param query query
+   * @throws Exception exception
+   */
+  private static void roundtrip(final String query) throws Exception {
+    try(QueryProcessor qp = new QueryProcessor(query, context)) {
+      final Value value = qp.value();
+      final SessionValue sv = (SessionValue) SessionValue.get(value, context);
+      try {
+        final Value parsed = sv.read(qp.qc);
+        assertEquals(value.size(), parsed.size());
+        for(int i = 0; i < value.size(); i++) {
+          assertEquals(value.itemAt(i).type, parsed.itemAt(i).type);
+          assertEquals(value.itemAt(i).serialize().toString(),
+              parsed.itemAt(i).serialize().toString());
+        }
+      } finally {
+        sv.valueUnbound(null);
+      }
+    }
+  }
+}
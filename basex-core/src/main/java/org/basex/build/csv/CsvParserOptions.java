@@ -11,6 +11,8 @@ import org.basex.util.options.*;
 public final class CsvParserOptions extends CsvOptions {
   /** Option: encoding. */
   public static final StringOption ENCODING = new StringOption("encoding");
+  /** Option: number of threads used for parsing files (limited by the available processors). */
+  public static final NumberOption PARALLEL = new NumberOption("parallel", 1);
 
   /**
    * Default constructor.
@@ -1,11 +1,18 @@
 package org.basex.build.json;
 
+import static org.basex.build.BuildText.*;
+
 import java.io.*;
 
-import org.basex.build.xml.*;
+import org.basex.build.*;
 import org.basex.core.*;
+import org.basex.data.*;
 import org.basex.io.*;
 import org.basex.io.parse.json.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
+import org.basex.util.*;
 
 /**
  * This class parses files in the JSON format
@@ -17,14 +24,16 @@ import org.basex.io.parse.json.*;
  * @author BaseX Team 2005-20, BSD License
  * @author Christian Gruen
  */
-public final class JsonParser extends XMLParser {
+public final class JsonParser extends SingleParser {
+  /** JSON Parser options. */
+  private final JsonParserOptions jopts;
+
   /**
    * Constructor.
    * @param source document source
    * @param opts database options
-   * @throws IOException I/O exception
    */
-  public JsonParser(final IO source, final MainOptions opts) throws IOException {
+  public JsonParser(final IO source, final MainOptions opts) {
     this(source, opts, opts.get(MainOptions.JSONPARSER));
   }
 
@@ -33,24 +42,52 @@ public final class JsonParser extends XMLParser {
    * @param source document source
    * @param opts database options
    * @param jopts parser options
-   * @throws IOException I/O exception
    */
-  public JsonParser(final IO source, final MainOptions opts, final JsonParserOptions jopts)
-      throws IOException {
-    super(toXML(source, jopts), opts);
+  public JsonParser(final IO source, final MainOptions opts, final JsonParserOptions jopts) {
+    super(source, opts);
+    this.jopts = jopts;
+  }
+
+  @Override
+  protected void parse() throws IOException {
+    if(JsonBuilder.supports(jopts)) {
+      // send parse events directly to the builder
+      new JsonBuilder(jopts, builder, options.get(MainOptions.CHOP)).convert(source);
+    } else {
+      // create intermediate tree
+      final Item item = JsonConverter.get(jopts).convert(source);
+      if(!(item instanceof ANode)) {
+        throw new BuildException(NOXML, source.name(), jopts.get(JsonOptions.FORMAT));
+      }
+      add((ANode) item, options.get(MainOptions.CHOP));
+    }
   }
 
   /**
-   * Converts a JSON document to XML.
-   * @param io input
-   * @param options parser options
-   * @return parser
+   * Adds the descendants of the specified node to the builder.
+   * @param node node
+   * @param chop chop whitespaces of text nodes
    * @throws IOException I/O exception
    */
-  private static IOContent toXML(final IO io, final JsonParserOptions options) throws IOException {
-    final JsonConverter conv = JsonConverter.get(options);
-    final IOContent xml = new IOContent(conv.convert(io).serialize().finish());
-    xml.name(io.name());
-    return xml;
+  private void add(final ANode node, final boolean chop) throws IOException {
+    for(final ANode child : node.childIter()) {
+      if(child.type == NodeType.ELM) {
+        final Atts as = new Atts();
+        boolean c = chop;
+        for(final ANode attr : child.attributeIter()) {
+          final byte[] name = attr.name(), value = attr.string();
+          if(Token.eq(name, DataText.XML_SPACE) && options.get(MainOptions.CHOP)) {
+            if(Token.eq(value, DataText.DEFAULT)) c = true;
+            else if(Token.eq(value, DataText.PRESERVE)) c = false;
+          }
+          as.add(name, value);
+        }
+        builder.openElem(child.name(), as, child.namespaces());
+        add(child, c);
+        builder.closeElem();
+      } else {
+        builder.text(chop ? Token.trim(child.string()) : child.string());
+      }
+    }
   }
 }
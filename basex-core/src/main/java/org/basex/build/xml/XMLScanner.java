@@ -33,6 +33,14 @@ final class XMLScanner extends Job {
   private static final byte[] QUESTION = { '?' };
   /** Ampersand entity. */
   private static final byte[] AMPER = { '&' };
+  /** Delimiters for bulk copying text. */
+  private static final boolean[] TEXT_DELIMS = delims("<&]");
+  /** Delimiters for bulk copying attribute values. */
+  private static final boolean[] ATTVALUE_DELIMS = delims("<&'\"");
+  /** Delimiters for bulk copying CDATA sections. */
+  private static final boolean[] CDATA_DELIMS = delims("]");
+  /** Delimiters for bulk copying comments. */
+  private static final boolean[] COMMENT_DELIMS = delims("-");
 
   /** Scanning states. */
   private enum Scan {
@@ -280,6 +288,7 @@ final class XMLScanner extends Job {
         else if(!input.add(r, false)) throw error(RECENT);
       } else {
         token.add(c);
+        input.copy(token, ATTVALUE_DELIMS);
       }
     } while((c = consume()) != quote);
   }
@@ -318,6 +327,7 @@ final class XMLScanner extends Job {
           }
           // add character to cached content
           token.add(c);
+          input.copy(token, TEXT_DELIMS);
         }
       }
       c = consume();
@@ -352,7 +362,10 @@ final class XMLScanner extends Job {
   private void cDATA() throws IOException {
     while(true) {
       int ch;
-      while((ch = nextChar()) != ']') token.add(ch);
+      while((ch = nextChar()) != ']') {
+        token.add(ch);
+        input.copy(token, CDATA_DELIMS);
+      }
       if(consume(']')) {
         if(consume('>')) return;
         prev(1);
@@ -373,6 +386,7 @@ final class XMLScanner extends Job {
         return;
       }
       token.add(ch);
+      input.copy(token, COMMENT_DELIMS);
     } while(true);
   }
 
@@ -549,6 +563,19 @@ final class XMLScanner extends Job {
     return ch;
   }
 
+  /**
+   * Returns a table with ASCII delimiters for bulk copying.
+   * The percent sign will always be included, as it may introduce parameter entity references.
+   * @param chars delimiter characters
+   * @return table
+   */
+  private static boolean[] delims(final String chars) {
+    final boolean[] delims = new boolean[0x80];
+    for(final char ch : chars.toCharArray()) delims[ch] = true;
+    delims['%'] = true;
+    return delims;
+  }
+
   /**
    * Jumps the specified number of characters back.
    * @param num number of characters
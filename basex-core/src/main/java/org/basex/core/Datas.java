@@ -76,6 +76,20 @@ public final class Datas {
     return entry == null ? 0 : entry.getValue();
   }
 
+  /**
+   * Returns the timestamp of the database with the specified name.
+   * If the database is opened, the timestamp of the current instance will be returned.
+   * Otherwise, the timestamp of its meta data file will be returned.
+   * @param name name of the database
+   * @param sopts static options
+   * @return timestamp
+   */
+  public synchronized long time(final String name, final StaticOptions sopts) {
+    final Entry<Data, Integer> entry = get(name);
+    return entry != null ? entry.getKey().meta.time :
+      MetaData.file(sopts.dbPath(name), DataText.DATAINF).timeStamp();
+  }
+
   /**
    * Closes all data references.
    */
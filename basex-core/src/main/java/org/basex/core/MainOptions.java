@@ -99,6 +99,8 @@ public final class MainOptions extends Options {
   public static final BooleanOption UPDINDEX = new BooleanOption("UPDINDEX", false);
   /** Flag for automatic index updates. */
   public static final BooleanOption AUTOOPTIMIZE = new BooleanOption("AUTOOPTIMIZE", false);
+  /** Number of threads used for optimizing databases. */
+  public static final NumberOption OPTIMIZEPARALLEL = new NumberOption("OPTIMIZEPARALLEL", 1);
   /** Index split size. */
   public static final NumberOption SPLITSIZE = new NumberOption("SPLITSIZE", 0);
 
@@ -156,6 +158,8 @@ public final class MainOptions extends Options {
   /** Exporter serialization parameters. */
   public static final OptionsOption<SerializerOptions> EXPORTER =
       new OptionsOption<>("EXPORTER", new SerializerOptions());
+  /** Number of threads used for exporting documents. */
+  public static final NumberOption EXPORTPARALLEL = new NumberOption("EXPORTPARALLEL", 1);
 
   /** Prints an XML plan. */
   public static final BooleanOption XMLPLAN = new BooleanOption("XMLPLAN", false);
@@ -166,6 +170,8 @@ public final class MainOptions extends Options {
 
   /** Flushes the database after each update. */
   public static final BooleanOption AUTOFLUSH = new BooleanOption("AUTOFLUSH", true);
+  /** Writes updates to a write-ahead journal. */
+  public static final BooleanOption WAL = new BooleanOption("WAL", false);
   /** Writes original files back after updates. */
   public static final BooleanOption WRITEBACK = new BooleanOption("WRITEBACK", false);
   /** Maximum number of index occurrences to print. */
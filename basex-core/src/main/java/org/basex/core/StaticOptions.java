@@ -31,8 +31,14 @@ public final class StaticOptions extends Options {
   public static final BooleanOption LANGKEYS = new BooleanOption("LANGKEYS", false);
   /** Locking strategy. */
   public static final BooleanOption FAIRLOCK = new BooleanOption("FAIRLOCK", false);
+  /** Create snapshots of updated databases for concurrent readers. */
+  public static final BooleanOption SNAPSHOTS = new BooleanOption("SNAPSHOTS", false);
+  /** Lock single documents of updates that add, replace or delete resources. */
+  public static final BooleanOption DOCLOCKS = new BooleanOption("DOCLOCKS", false);
   /** Timeout (seconds) for remembering result of asynchronous queries. */
   public static final NumberOption CACHETIMEOUT = new NumberOption("CACHETIMEOUT", 3600);
+  /** Maximum size (MB) of asynchronous query results that are written to disk (0: disabled). */
+  public static final NumberOption CACHESTORE = new NumberOption("CACHESTORE", 0);
 
   /** Comment: written to options file. */
   public static final Comment C_CLIENT = new Comment("Client/Server Architecture");
@@ -62,12 +68,22 @@ public final class StaticOptions extends Options {
 
   /** Timeout (seconds) for processing client requests; deactivated if set to 0. */
   public static final NumberOption TIMEOUT = new NumberOption("TIMEOUT", 30);
+  /** CPU time (seconds) available to a job; deactivated if set to 0. */
+  public static final NumberOption JOBCPU = new NumberOption("JOBCPU", 0);
+  /** Total memory (MB) that may be allocated by a job (not live heap); deactivated if set to 0. */
+  public static final NumberOption JOBALLOCATED = new NumberOption("JOBALLOCATED", 0);
+  /** Number of database pages that may be read by a job; deactivated if set to 0. */
+  public static final NumberOption JOBPAGES = new NumberOption("JOBPAGES", 0);
+  /** Size of the result (MB) that may be returned by a job; deactivated if set to 0. */
+  public static final NumberOption JOBOUTPUT = new NumberOption("JOBOUTPUT", 0);
   /** Keep alive time (seconds) for clients; deactivated if set to 0. */
   public static final NumberOption KEEPALIVE = new NumberOption("KEEPALIVE", 600);
   /** Defines the number of parallel readers. */
   public static final NumberOption PARALLEL = new NumberOption("PARALLEL", 8);
   /** Logging flag. */
   public static final BooleanOption LOG = new BooleanOption("LOG", true);
+  /** Maximum number of buffered log entries; deactivated if set to 0. */
+  public static final NumberOption LOGBUFFER = new NumberOption("LOGBUFFER", 0);
   /** Log message cut-off. */
   public static final NumberOption LOGMSGMAXLEN = new NumberOption("LOGMSGMAXLEN", 1000);
   /** Write trace output to logs. */
@@ -80,6 +96,8 @@ public final class StaticOptions extends Options {
   public static final StringOption WEBPATH = new StringOption("WEBPATH", Prop.HOMEDIR + "webapp");
   /** Enable GZIP support (cannot be specified in web.xml). */
   public static final BooleanOption GZIP = new BooleanOption("GZIP", false);
+  /** Minimum size of compressed responses (bytes). */
+  public static final NumberOption GZIPMINSIZE = new NumberOption("GZIPMINSIZE", 1024);
 
   /** REST path (relative to web path). */
   public static final StringOption RESTPATH = new StringOption("RESTPATH", "");
@@ -89,6 +107,20 @@ public final class StaticOptions extends Options {
   public static final NumberOption PARSERESTXQ = new NumberOption("PARSERESTXQ", 3);
   /** Show errors in RESTXQ directory. */
   public static final BooleanOption RESTXQERRORS = new BooleanOption("RESTXQERRORS", true);
+  /** Maximum size of cached RESTXQ responses (MB). */
+  public static final NumberOption RESTXQCACHE = new NumberOption("RESTXQCACHE", 64);
+  /** Maximum number of threads for processing asynchronous HTTP requests. */
+  public static final NumberOption ASYNCTHREADS = new NumberOption("ASYNCTHREADS", 64);
+  /** Maximum number of queued asynchronous HTTP requests (0: no queue). */
+  public static final NumberOption ASYNCQUEUE = new NumberOption("ASYNCQUEUE", 1000);
+  /** Timeout (seconds) for asynchronous HTTP requests; deactivated if set to 0. */
+  public static final NumberOption ASYNCTIMEOUT = new NumberOption("ASYNCTIMEOUT", 0);
+  /** Maximum number of pending WebSocket message parts per client. */
+  public static final NumberOption WSQUEUE = new NumberOption("WSQUEUE", 1000);
+  /** Policy for WebSocket messages that exceed the maximum number of pending message parts. */
+  public static final EnumOption<WsDrop> WSDROP = new EnumOption<>("WSDROP", WsDrop.NEWEST);
+  /** Minimum number of nodes of session values that are stored on disk (0: deactivated). */
+  public static final NumberOption SESSIONSTORE = new NumberOption("SESSIONSTORE", 0);
   /** Local (embedded) mode. */
   public static final BooleanOption HTTPLOCAL = new BooleanOption("HTTPLOCAL", false);
   /** Port for stopping the web server. */
@@ -110,6 +142,18 @@ public final class StaticOptions extends Options {
     }
   }
 
+  /** Policies for WebSocket messages that exceed the maximum number of pending message parts. */
+  public enum WsDrop {
+    /** Drop the new message. */ NEWEST,
+    /** Drop the oldest pending messages. */ OLDEST,
+    /** Drop all messages and close the connection. */ CLOSE;
+
+    @Override
+    public String toString() {
+      return name().toLowerCase(Locale.ENGLISH);
+    }
+  }
+
   /**
    * Constructor, adopting system properties starting with "org.basex.".
    * @param file if {@code true}, options will be read from disk
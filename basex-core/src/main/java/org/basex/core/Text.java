@@ -498,6 +498,8 @@ public interface Text {
   String OUT_OF_MEM = lang("out_of_mem");
   /** Progress exception. */
   String INTERRUPTED = lang("interrupted");
+  /** Resource limit exception. */
+  String LIMIT_EXCEEDED_X = lang("limit_exceeded_%");
 
   /** Expecting command. */
   String EXPECTING_CMD = lang("expecting_cmd");
@@ -625,6 +627,8 @@ public interface Text {
   String BACKUP_DROPPED_X = lang("backup_dropped_%");
   /** Backup was not found. */
   String BACKUP_NOT_FOUND_X = lang("backup_not_found_%");
+  /** Backup is referenced by incremental backups. */
+  String BACKUP_REFERENCED_X = lang("backup_referenced_%");
   /** File could not be deleted. */
   String FILE_NOT_DELETED_X = lang("file_not_deleted_%");
   /** File could not be renamed. */
@@ -801,6 +805,16 @@ public interface Text {
   String WRITES = lang("writes");
   /** "Time". */
   String TIME = lang("time");
+  /** "Progress". */
+  String PROGRESS = lang("progress");
+  /** "CPU". */
+  String CPU = lang("cpu");
+  /** "Allocated". */
+  String ALLOCATED = lang("allocated");
+  /** "Pages". */
+  String PAGES = lang("pages");
+  /** "Output". */
+  String OUTPUT = lang("output");
   /** External Variables. */
   String EXTERNAL_VARIABLES = lang("external_variables");
 
@@ -96,6 +96,7 @@ public abstract class AQuery extends Command {
           if(!run) continue;
 
           final PrintOutput po = r == 0 && serial ? out : new NullOutput();
+          final JobUsage usage = jc().usage;
           try(Serializer ser = qp.getSerializer(po)) {
             if(maxResults >= 0) {
               result = qp.cache(maxResults);
@@ -109,10 +110,12 @@ public abstract class AQuery extends Command {
               for(Item item; (item = iter.next()) != null;) {
                 ser.serialize(item);
                 ++hits;
+                if(usage != null) usage.output(po.size());
                 checkStop();
               }
             }
           }
+          if(usage != null) usage.output(po.size());
           qp.close();
           info.serializing += perf.ns();
         }
@@ -252,6 +255,11 @@ public abstract class AQuery extends Command {
     }
   }
 
+  @Override
+  public boolean snapshots() {
+    return qp != null && qp.snapshots();
+  }
+
   @Override
   public void build(final CmdBuilder cb) {
     cb.init().add(0);
@@ -6,6 +6,7 @@ import org.basex.core.*;
 import org.basex.core.parse.*;
 import org.basex.core.parse.Commands.Cmd;
 import org.basex.core.parse.Commands.CmdAlter;
+import org.basex.data.*;
 
 /**
  * Evaluates the 'alter database' command and renames a database.
@@ -66,6 +67,7 @@ public final class AlterDB extends ACreate {
 
     // drop target database
     DropDB.drop(target, sopts);
+    MetaData.updated(source);
     return sopts.dbPath(source).rename(sopts.dbPath(target));
   }
 
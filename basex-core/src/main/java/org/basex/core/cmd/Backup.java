@@ -0,0 +1,342 @@
+package org.basex.core.cmd;
+
+import static org.basex.data.DataText.*;
+
+import java.io.*;
+import java.security.*;
+import java.util.*;
+import java.util.zip.*;
+
+import org.basex.core.*;
+import org.basex.core.jobs.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.*;
+import org.basex.io.out.DataOutput;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Creates and restores backups of databases.
+ *
+ * Each backup contains a manifest with the paths and sizes of all database files and the
+ * SHA-256 digests of their chunks. An incremental backup references the previous backup of the
+ * database and only contains the chunks that have changed since then. A database is restored by
+ * unzipping its last full backup and applying all subsequent incremental backups in turn.
+ * Backups that are referenced by incremental backups cannot be dropped (see {@link #base}).
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class Backup extends Job {
+  /** Name of the zip entry that contains the manifest. */
+  private static final String MANIFEST = ".manifest";
+  /** Size of a chunk. */
+  private static final int CHUNK = 1 << 16;
+  /** Separator between file paths and chunk offsets. */
+  private static final char OFFSET = '#';
+
+  /** Static options. */
+  private final StaticOptions sopts;
+  /** Total files or entries. */
+  private int total;
+  /** Current file or entry. */
+  private int curr;
+
+  /**
+   * Constructor.
+   * @param sopts static options
+   */
+  Backup(final StaticOptions sopts) {
+    this.sopts = sopts;
+  }
+
+  /**
+   * Creates a backup of the specified database.
+   * @param db name of the database
+   * @param options backup options
+   * @param backups existing backups of the database, in descending order
+   * @throws IOException I/O exception
+   */
+  void create(final String db, final BackupOptions options, final StringList backups)
+      throws IOException {
+
+    // incremental backup: retrieve manifest of the last backup (if available)
+    String base = "";
+    Manifest previous = null;
+    if(options.get(BackupOptions.INCREMENTAL) && !backups.isEmpty()) {
+      previous = Manifest.read(zip(backups.get(0)));
+      if(previous != null) base = backups.get(0);
+    }
+
+    final IOFile dbpath = sopts.dbPath(db);
+    final StringList files = dbpath.descendants();
+    // ignore file indicating an update (this file is generated when using XQuery)
+    files.removeAll(DATAUPD + IO.BASEXSUFFIX);
+
+    // choose name that has not been assigned yet
+    Date date = new Date();
+    IOFile file;
+    while((file = zip(db + '-' + DateTime.format(date, DateTime.DATETIME))).exists()) {
+      date = new Date(date.getTime() + 1000);
+    }
+
+    final Manifest manifest = new Manifest(base);
+    final MessageDigest md = digest();
+    final byte[] chunk = new byte[CHUNK];
+    total = files.size();
+    curr = 0;
+    try(ZipOutputStream out = new ZipOutputStream(new BufferOutput(file))) {
+      out.setLevel(options.get(BackupOptions.COMPRESS) ? 1 : 0);
+      for(final String f : files) {
+        checkStop();
+        curr++;
+        final String path = Prop.WIN ? f.replace('\\', '/') : f, name = db + '/' + path;
+        final byte[][] digests = previous != null ? previous.digests(path) : null;
+        final TokenList list = new TokenList();
+        long size = 0;
+        try(FileInputStream in = new FileInputStream(new File(dbpath.file(), f))) {
+          // full backup: add all chunks to a single entry
+          if(previous == null) out.putNextEntry(new ZipEntry(name));
+          for(int c; (c = read(in, chunk)) > 0; size += c) {
+            md.update(chunk, 0, c);
+            final byte[] digest = md.digest();
+            final int i = list.size();
+            list.add(digest);
+            // incremental backup: add new or changed chunks as separate entries
+            if(previous != null) {
+              if(digests != null && i < digests.length && Token.eq(digests[i], digest)) continue;
+              out.putNextEntry(new ZipEntry(name + OFFSET + i));
+            }
+            out.write(chunk, 0, c);
+            if(previous != null) out.closeEntry();
+          }
+          if(previous == null) out.closeEntry();
+        }
+        manifest.add(path, size, list.finish());
+      }
+      out.putNextEntry(new ZipEntry(MANIFEST));
+      manifest.write(out);
+      out.closeEntry();
+    } catch(final IOException | JobException ex) {
+      file.delete();
+      throw ex;
+    }
+  }
+
+  /**
+   * Restores the specified database.
+   * @param db name of the database
+   * @param backup name of the backup
+   * @throws IOException I/O exception
+   */
+  void restore(final String db, final String backup) throws IOException {
+    // collect backups, starting with the last full backup
+    final StringList chain = new StringList();
+    final ArrayList<Manifest> manifests = new ArrayList<>();
+    for(String name = backup; !name.isEmpty();) {
+      final Manifest manifest = Manifest.read(zip(name));
+      chain.add(name);
+      manifests.add(manifest);
+      name = manifest != null ? manifest.base : "";
+    }
+
+    final IOFile dbpath = sopts.dbPath();
+    for(int c = chain.size() - 1; c >= 0; c--) {
+      final Manifest manifest = manifests.get(c);
+      final IOFile target = new IOFile(dbpath, db);
+      final boolean incremental = manifest != null && !manifest.base.isEmpty();
+      if(incremental) {
+        // incremental backup: remove obsolete files, adjust file sizes
+        for(final String path : target.descendants()) {
+          final String p = Prop.WIN ? path.replace('\\', '/') : path;
+          if(manifest.digests(p) == null) new IOFile(target, path).delete();
+        }
+        for(final Map.Entry<String, Long> entry : manifest.sizes.entrySet()) {
+          final IOFile file = new IOFile(target, entry.getKey());
+          file.parent().md();
+          try(RandomAccessFile raf = new RandomAccessFile(file.file(), "rw")) {
+            raf.setLength(entry.getValue());
+          }
+        }
+      }
+      unzip(zip(chain.get(c)), dbpath, incremental);
+    }
+  }
+
+  /**
+   * Unzips the entries of a backup. Chunks of incremental backups are written to the offsets
+   * of the existing files.
+   * @param zip backup file
+   * @param target target directory
+   * @param incremental incremental backup
+   * @throws IOException I/O exception
+   */
+  private void unzip(final IOFile zip, final IOFile target, final boolean incremental)
+      throws IOException {
+    total = 0;
+    try(ZipFile zf = new ZipFile(zip.file())) {
+      total = zf.size();
+    }
+    curr = 0;
+    final byte[] data = new byte[IO.BLOCKSIZE];
+    try(ZipInputStream in = new ZipInputStream(zip.inputStream())) {
+      for(ZipEntry ze; (ze = in.getNextEntry()) != null;) {
+        curr++;
+        final String name = ze.getName();
+        if(name.equals(MANIFEST)) continue;
+
+        final int o = incremental ? name.lastIndexOf(OFFSET) : -1;
+        if(o == -1) {
+          final IOFile trg = new IOFile(target, name);
+          if(ze.isDirectory()) {
+            trg.md();
+          } else {
+            trg.parent().md();
+            trg.write(in);
+          }
+        } else {
+          final IOFile trg = new IOFile(target, name.substring(0, o));
+          try(RandomAccessFile raf = new RandomAccessFile(trg.file(), "rw")) {
+            raf.seek((long) Integer.parseInt(name.substring(o + 1)) * CHUNK);
+            for(int c; (c = in.read(data)) != -1;) raf.write(data, 0, c);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the name of the backup that is referenced by an incremental backup.
+   * @param backup name of the backup
+   * @return name of the base backup, or an empty string for full backups
+   * @throws IOException I/O exception
+   */
+  String base(final String backup) throws IOException {
+    final Manifest manifest = Manifest.read(zip(backup));
+    return manifest != null ? manifest.base : "";
+  }
+
+  /**
+   * Returns the file of the specified backup.
+   * @param backup name of backup
+   * @return file
+   */
+  private IOFile zip(final String backup) {
+    return sopts.dbPath(backup + IO.ZIPSUFFIX);
+  }
+
+  /**
+   * Fills the specified array with bytes from the input stream.
+   * @param in input stream
+   * @param array array to be filled
+   * @return number of read bytes
+   * @throws IOException I/O exception
+   */
+  private static int read(final InputStream in, final byte[] array) throws IOException {
+    int o = 0;
+    for(int c; o < array.length && (c = in.read(array, o, array.length - o)) != -1;) o += c;
+    return o;
+  }
+
+  /**
+   * Returns an instance of the digest algorithm for chunks.
+   * @return message digest
+   */
+  private static MessageDigest digest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch(final NoSuchAlgorithmException ex) {
+      throw Util.notExpected(ex);
+    }
+  }
+
+  @Override
+  public double progressInfo() {
+    return total == 0 ? 0 : (double) curr / total;
+  }
+
+  /** Backup manifest. */
+  private static final class Manifest {
+    /** Name of the base backup (empty for full backups). */
+    private final String base;
+    /** File sizes, indexed by file paths. */
+    private final LinkedHashMap<String, Long> sizes = new LinkedHashMap<>();
+    /** Chunk digests, indexed by file paths. */
+    private final HashMap<String, byte[][]> digests = new HashMap<>();
+
+    /**
+     * Constructor.
+     * @param base name of the base backup (empty for full backups)
+     */
+    private Manifest(final String base) {
+      this.base = base;
+    }
+
+    /**
+     * Reads the manifest of a backup.
+     * @param zip backup file
+     * @return manifest, or {@code null} if the backup contains no manifest
+     * @throws IOException I/O exception
+     */
+    private static Manifest read(final IOFile zip) throws IOException {
+      if(!zip.exists()) throw new FileNotFoundException(zip.path());
+      final byte[] content;
+      try {
+        content = new Zip(zip).read(MANIFEST);
+      } catch(final FileNotFoundException ex) {
+        Util.debug(ex);
+        return null;
+      }
+      try(DataInput in = new DataInput(new IOContent(content))) {
+        final Manifest manifest = new Manifest(Token.string(in.readToken()));
+        final byte[][] paths = in.readTokens();
+        final long[] sizes = in.readLongs(in.readNum());
+        for(int p = 0; p < paths.length; p++) {
+          manifest.add(Token.string(paths[p]), sizes[p], in.readTokens());
+        }
+        return manifest;
+      }
+    }
+
+    /**
+     * Adds a file.
+     * @param path file path
+     * @param size file size
+     * @param list chunk digests
+     */
+    private void add(final String path, final long size, final byte[][] list) {
+      sizes.put(path, size);
+      digests.put(path, list);
+    }
+
+    /**
+     * Returns the chunk digests of a file.
+     * @param path file path
+     * @return digests, or {@code null} if the file is unknown
+     */
+    private byte[][] digests(final String path) {
+      return digests.get(path);
+    }
+
+    /**
+     * Writes the manifest.
+     * @param os output stream
+     * @throws IOException I/O exception
+     */
+    private void write(final OutputStream os) throws IOException {
+      final DataOutput out = new DataOutput(os);
+      out.writeToken(Token.token(base));
+      final TokenList paths = new TokenList(sizes.size());
+      final LongList list = new LongList(sizes.size());
+      sizes.forEach((path, size) -> {
+        paths.add(path);
+        list.add(size);
+      });
+      out.writeTokens(paths.finish());
+      out.writeLongs(list.finish());
+      for(final String path : sizes.keySet()) out.writeTokens(digests.get(path));
+      out.flush();
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package org.basex.core.cmd;
+
+import org.basex.util.options.*;
+
+/**
+ * Backup options.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class BackupOptions extends Options {
+  /** Compress files. */
+  public static final BooleanOption COMPRESS = new BooleanOption("compress", true);
+  /** Only back up changes since the last backup. */
+  public static final BooleanOption INCREMENTAL = new BooleanOption("incremental", false);
+}
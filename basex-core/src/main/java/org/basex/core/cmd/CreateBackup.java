@@ -4,14 +4,12 @@ import static org.basex.core.Text.*;
 import static org.basex.data.DataText.*;
 
 import java.io.*;
-import java.util.*;
 
 import org.basex.core.*;
 import org.basex.core.parse.*;
 import org.basex.core.parse.Commands.Cmd;
 import org.basex.core.parse.Commands.CmdCreate;
 import org.basex.data.*;
-import org.basex.io.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
 
@@ -49,7 +47,7 @@ public final class CreateBackup extends ABackup {
         ok = false;
       } else {
         try {
-          backup(db, soptions, this);
+          backup(db, new BackupOptions(), context, this);
           // backup was successful
           info(DB_BACKUP_X, db, jc().performance);
         } catch(final IOException ex) {
@@ -65,24 +63,18 @@ public final class CreateBackup extends ABackup {
   /**
    * Backups the specified database.
    * @param db name of the database
-   * @param sopts static options
-   * @param cmd calling command instance
+   * @param options backup options
+   * @param ctx database context
+   * @param cmd calling command instance (can be {@code null})
    * @throws IOException I/O Exception
    */
-  public static void backup(final String db, final StaticOptions sopts, final CreateBackup cmd)
-      throws IOException {
-
-    final String backup = db + '-' + DateTime.format(new Date(), DateTime.DATETIME) + IO.ZIPSUFFIX;
-    final IOFile zf = sopts.dbPath(backup);
-    final Zip zip = new Zip(zf);
+  public static void backup(final String db, final BackupOptions options, final Context ctx,
+      final CreateBackup cmd) throws IOException {
 
+    final Backup backup = new Backup(ctx.soptions);
     try {
-      if(cmd != null) cmd.pushJob(zip);
-      final IOFile dbpath = sopts.dbPath(db);
-      final StringList files = dbpath.descendants();
-      // ignore file indicating an update (this file is generated when using XQuery)
-      files.removeAll(DATAUPD + IO.BASEXSUFFIX);
-      zip.zip(dbpath, files);
+      if(cmd != null) cmd.pushJob(backup);
+      backup.create(db, options, ctx.databases.backups(db));
     } finally {
       if(cmd != null) cmd.popJob();
     }
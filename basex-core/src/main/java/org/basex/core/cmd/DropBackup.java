@@ -2,12 +2,15 @@ package org.basex.core.cmd;
 
 import static org.basex.core.Text.*;
 
+import java.io.*;
+
 import org.basex.core.*;
 import org.basex.core.parse.*;
 import org.basex.core.parse.Commands.Cmd;
 import org.basex.core.parse.Commands.CmdDrop;
 import org.basex.core.users.*;
 import org.basex.io.*;
+import org.basex.util.*;
 import org.basex.util.list.*;
 
 /**
@@ -36,9 +39,11 @@ public final class DropBackup extends ABackup {
     if(dbs.isEmpty() && context.perm(Perm.READ, pattern)) dbs.add(pattern);
 
     // drop all backups
-    for(final String db : dbs) {
-      for(final String backup : context.databases.backups(db)) drop(backup, soptions);
-    }
+    final StringList backups = new StringList();
+    for(final String db : dbs) backups.add(context.databases.backups(db));
+    final String referenced = referenced(backups, context);
+    if(referenced != null) return error(BACKUP_REFERENCED_X, referenced);
+    for(final String backup : backups) drop(backup, soptions);
 
     return info(BACKUP_DROPPED_X, pattern);
   }
@@ -53,6 +58,27 @@ public final class DropBackup extends ABackup {
     return sopts.dbPath(name + IO.ZIPSUFFIX).delete();
   }
 
+  /**
+   * Returns a backup that is referenced by an incremental backup that will not be dropped.
+   * @param backups names of the backups to be dropped
+   * @param ctx database context
+   * @return name of the referenced backup, or {@code null}
+   */
+  public static String referenced(final StringList backups, final Context ctx) {
+    final Backup backup = new Backup(ctx.soptions);
+    for(final String name : backups) {
+      for(final String bckp : ctx.databases.backups(Databases.name(name))) {
+        if(backups.contains(bckp)) continue;
+        try {
+          if(backup.base(bckp).equals(name)) return name;
+        } catch(final IOException ex) {
+          Util.debug(ex);
+        }
+      }
+    }
+    return null;
+  }
+
   @Override
   public void build(final CmdBuilder cb) {
     cb.init(Cmd.DROP + " " + CmdDrop.BACKUP).args();
@@ -73,6 +73,7 @@ public final class DropDB extends ACreate {
    * @return success flag
    */
   public static synchronized boolean drop(final String db, final StaticOptions sopts) {
+    MetaData.updated(db);
     final IOFile dbpath = sopts.dbPath(db);
     return dbpath.exists() && dbpath.delete();
   }
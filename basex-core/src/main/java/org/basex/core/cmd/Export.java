@@ -4,6 +4,8 @@ import static org.basex.core.Text.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.*;
 
 import org.basex.core.*;
 import org.basex.core.locks.*;
@@ -59,30 +61,36 @@ public final class Export extends Command {
    * Exports the current database to the specified path.
    * Files and directories in {@code path} will be possibly overwritten.
    * @param data data reference
-   * @param path directory
+   * @param path directory or archive path
    * @param options main options
    * @param export calling instance
    * @throws IOException I/O exception
    */
   public static void export(final Data data, final String path, final MainOptions options,
       final Export export) throws IOException {
-    export(data, path, options.get(MainOptions.EXPORTER), export);
+    export(data, path, options.get(MainOptions.EXPORTER),
+        options.get(MainOptions.EXPORTPARALLEL), export);
   }
 
   /**
    * Exports the current database to the specified path.
    * Files and directories in {@code path} will be possibly overwritten.
+   * If the path ends with {@code .zip}, {@code .tar}, {@code .tar.gz} or {@code .tgz},
+   * and if it does not point to an existing directory, an archive will be created.
    * @param data data reference
-   * @param path directory
+   * @param path directory or archive path
    * @param sopts serialization parameters
+   * @param threads number of threads used for serializing documents
    * @param export calling instance
    * @throws IOException I/O exception
    */
   public static void export(final Data data, final String path, final SerializerOptions sopts,
-      final Export export) throws IOException {
+      final int threads, final Export export) throws IOException {
 
     final IOFile root = new IOFile(path);
-    root.md();
+    final String format = format(root);
+    if(format == null) root.md();
+    else root.parent().md();
 
     // XML documents
     final IntList docs = data.resources.docs();
@@ -102,43 +110,149 @@ public final class Export extends Command {
       export.progSize = docs.size() + files.size();
     }
 
-    // XML documents
     final HashSet<String> target = new HashSet<>();
-    final int is = docs.size();
-    for(int i = 0; i < is; i++) {
-      final int pre = docs.get(i);
-      // create file path
-      final IOFile io = root.resolve(Token.string(data.text(pre, true)));
-      if(export != null) {
-        export.checkStop();
-        export.progFile = io;
+    final ExecutorService pool = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+    try(Archive archive = format == null ? null : new Archive(root, format)) {
+      // XML documents: serialize in parallel, write archive entries in the original order
+      final ArrayDeque<Future<byte[]>> results = new ArrayDeque<>();
+      final ArrayDeque<String> names = new ArrayDeque<>();
+      final int is = docs.size();
+      for(int i = 0; i < is; i++) {
+        final int pre = docs.get(i);
+        // create unique file path
+        final String doc = Token.string(data.text(pre, true));
+        final String name = unique(target, archive != null ? doc : root.resolve(doc).path());
+        if(export != null) {
+          export.checkStop();
+          export.progFile = new IOFile(name);
+        }
+
+        final Callable<byte[]> task = () -> serialize(data, pre, sopts,
+            archive != null ? null : new IOFile(name));
+        if(pool == null) {
+          // single thread: stream documents to the archive instead of caching them
+          if(archive != null) archive.write(name, data, pre, sopts);
+          else task.call();
+          written(null, name, null, export);
+        } else {
+          results.add(pool.submit(task));
+          names.add(name);
+          // limit number of pending documents
+          if(results.size() > threads << 1) {
+            written(result(results.poll()), names.poll(), archive, export);
+          }
+        }
       }
-      // create dir if necessary
-      io.parent().md();
+      while(!results.isEmpty()) written(result(results.poll()), names.poll(), archive, export);
 
-      // serialize file
-      try(PrintOutput po = new PrintOutput(unique(target, io.path()))) {
-        try(Serializer ser = Serializer.get(po, sopts)) {
-          ser.serialize(new DBNode(data, pre));
+      // export raw files
+      for(final String file : files) {
+        final IOFile src = new IOFile(source, file);
+        final String name = unique(target, archive != null ? file :
+          new IOFile(root.path(), file).path());
+        if(export != null) {
+          export.checkStop();
+          export.progFile = new IOFile(name);
         }
+        if(archive != null) archive.write(name, src);
+        else src.copyTo(new IOFile(name));
+
+        if(export != null) export.progPos++;
       }
+    } catch(final IOException | RuntimeException ex) {
+      throw ex;
+    } catch(final Exception ex) {
+      throw new IOException(ex);
+    } finally {
+      if(pool != null) pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Serializes a document.
+   * @param data data reference
+   * @param pre pre value of the document
+   * @param sopts serialization parameters
+   * @param file target file (if {@code null}, the serialized document will be returned)
+   * @return serialized document or {@code null}
+   * @throws IOException I/O exception
+   */
+  private static byte[] serialize(final Data data, final int pre, final SerializerOptions sopts,
+      final IOFile file) throws IOException {
 
-      if(export != null) export.progPos++;
+    if(file != null) {
+      // create dir if necessary
+      file.parent().md();
+      serialize(data, pre, sopts, new PrintOutput(file));
+      return null;
     }
+    final ArrayOutput ao = new ArrayOutput();
+    serialize(data, pre, sopts, ao);
+    return ao.finish();
+  }
 
-    // export raw files
-    for(final String file : files) {
-      final IOFile io = new IOFile(root.path(), file);
-      if(export != null) {
-        export.checkStop();
-        export.progFile = io;
-      }
-      new IOFile(source, file).copyTo(unique(target, io.path()));
+  /**
+   * Serializes a document to the specified output stream, which will be closed afterwards.
+   * @param data data reference
+   * @param pre pre value of the document
+   * @param sopts serialization parameters
+   * @param os output stream
+   * @throws IOException I/O exception
+   */
+  private static void serialize(final Data data, final int pre, final SerializerOptions sopts,
+      final OutputStream os) throws IOException {
+    try(Serializer ser = Serializer.get(os, sopts)) {
+      ser.serialize(new DBNode(data, pre));
+    } finally {
+      os.close();
+    }
+  }
 
-      if(export != null) export.progPos++;
+  /**
+   * Finalizes the export of a document.
+   * @param result serialized document (can be {@code null})
+   * @param name name of the document
+   * @param archive archive (can be {@code null})
+   * @param export calling instance (can be {@code null})
+   * @throws IOException I/O exception
+   */
+  private static void written(final byte[] result, final String name, final Archive archive,
+      final Export export) throws IOException {
+    if(archive != null) archive.write(name, result);
+    if(export != null) export.progPos++;
+  }
+
+  /**
+   * Waits for the result of a serialization.
+   * @param future future result
+   * @return result
+   * @throws IOException I/O exception
+   */
+  private static byte[] result(final Future<byte[]> future) throws IOException {
+    try {
+      return future.get();
+    } catch(final InterruptedException ex) {
+      throw Util.notExpected("Thread was interrupted: %", ex);
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      if(th instanceof IOException) throw (IOException) th;
+      if(th instanceof RuntimeException) throw (RuntimeException) th;
+      throw new IOException(th);
     }
   }
 
+  /**
+   * Returns the archive format for the specified target path.
+   * @param root target path
+   * @return archive format ({@code zip}, {@code tar}, {@code tgz}), or {@code null}
+   */
+  private static String format(final IOFile root) {
+    if(root.isDir()) return null;
+    final String name = root.name().toLowerCase(Locale.ENGLISH);
+    return name.endsWith(IO.ZIPSUFFIX) ? "zip" : name.endsWith(IO.TARSUFFIX) ? "tar" :
+      name.endsWith(IO.TARGZSUFFIX) || name.endsWith(IO.TGZSUFFIX) ? "tgz" : null;
+  }
+
   @Override
   public double progressInfo() {
     return progSize == 0 ? 0 : (double) progPos / progSize;
@@ -170,7 +284,7 @@ public final class Export extends Command {
    * @param file file path
    * @return unique path
    */
-  private static IOFile unique(final HashSet<String> exp, final String file) {
+  private static String unique(final HashSet<String> exp, final String file) {
     int c = 1;
     String path = file;
     while(exp.contains(path)) {
@@ -178,6 +292,121 @@ public final class Export extends Command {
            file.replaceAll("(.*)\\.(.*)", "$1(" + ++c + ").$2");
     }
     exp.add(path);
-    return new IOFile(path);
+    return path;
+  }
+
+  /** Archive output. */
+  private static final class Archive implements Closeable {
+    /** ZIP output (if {@code null}, a TAR archive will be written). */
+    private final ZipOutputStream zip;
+    /** TAR output. */
+    private final TarOutputStream tar;
+
+    /**
+     * Constructor.
+     * @param file archive file
+     * @param format archive format
+     * @throws IOException I/O exception
+     */
+    private Archive(final IOFile file, final String format) throws IOException {
+      final OutputStream os = new BufferOutput(file);
+      if(format.equals("zip")) {
+        zip = new ZipOutputStream(os);
+        tar = null;
+      } else {
+        zip = null;
+        tar = new TarOutputStream(format.equals("tgz") ? new GZIPOutputStream(os) : os);
+      }
+    }
+
+    /**
+     * Writes an entry.
+     * @param name name of the entry
+     * @param value contents
+     * @throws IOException I/O exception
+     */
+    private void write(final String name, final byte[] value) throws IOException {
+      final long time = System.currentTimeMillis();
+      if(zip != null) {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setTime(time);
+        zip.putNextEntry(entry);
+        zip.write(value);
+        zip.closeEntry();
+      } else {
+        tar.putNextEntry(name, value.length, time);
+        tar.write(value);
+        tar.closeEntry();
+      }
+    }
+
+    /**
+     * Serializes a document as entry. ZIP entries are written directly. As the size of TAR
+     * entries must be known in advance, documents are first written to a temporary file.
+     * @param name name of the entry
+     * @param data data reference
+     * @param pre pre value of the document
+     * @param sopts serialization parameters
+     * @throws IOException I/O exception
+     */
+    private void write(final String name, final Data data, final int pre,
+        final SerializerOptions sopts) throws IOException {
+      if(zip != null) {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setTime(System.currentTimeMillis());
+        zip.putNextEntry(entry);
+        // keep archive open after the document has been serialized
+        serialize(data, pre, sopts, new FilterOutputStream(zip) {
+          @Override
+          public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+          }
+          @Override
+          public void close() throws IOException {
+            flush();
+          }
+        });
+        zip.closeEntry();
+      } else {
+        final IOFile tmp = new IOFile(File.createTempFile(Prop.NAME + '-', IO.TMPSUFFIX));
+        try {
+          serialize(data, pre, sopts, new PrintOutput(tmp));
+          write(name, tmp);
+        } finally {
+          tmp.delete();
+        }
+      }
+    }
+
+    /**
+     * Writes the contents of a file as entry.
+     * @param name name of the entry
+     * @param file file
+     * @throws IOException I/O exception
+     */
+    private void write(final String name, final IOFile file) throws IOException {
+      final OutputStream os;
+      if(zip != null) {
+        final ZipEntry entry = new ZipEntry(name);
+        entry.setTime(file.timeStamp());
+        zip.putNextEntry(entry);
+        os = zip;
+      } else {
+        tar.putNextEntry(name, file.length(), file.timeStamp());
+        os = tar;
+      }
+      try(InputStream is = file.inputStream()) {
+        final byte[] buffer = new byte[IO.BLOCKSIZE];
+        for(int l; (l = is.read(buffer)) != -1;) os.write(buffer, 0, l);
+      }
+      if(zip != null) zip.closeEntry();
+      else tar.closeEntry();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if(zip != null) zip.close();
+      else tar.close();
+    }
   }
 }
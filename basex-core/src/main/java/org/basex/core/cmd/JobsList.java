@@ -47,6 +47,11 @@ public final class JobsList extends Command {
     table.header.add(READS);
     table.header.add(WRITES);
     table.header.add(TIME);
+    table.header.add(PROGRESS);
+    table.header.add(CPU);
+    table.header.add(ALLOCATED);
+    table.header.add(PAGES);
+    table.header.add(OUTPUT);
 
     final JobPool jobs = context.jobs;
     for(final byte[] key : ids(context)) {
@@ -94,7 +99,7 @@ public final class JobsList extends Command {
         ? (System.nanoTime() - jc.performance.start()) / 1000000 : jr != null
         ? jr.time / 1000000 : -1;
 
-    final TokenList tl = new TokenList(10);
+    final TokenList tl = new TokenList(17);
     tl.add(id);
     tl.add(jc.type());
     tl.add(job.state.toString().toLowerCase(Locale.ENGLISH));
@@ -102,10 +107,21 @@ public final class JobsList extends Command {
     tl.add(ms >= 0 ? DTDur.get(ms).string(null) : EMPTY);
     tl.add(jt != null ? dateTime(jt.start) : EMPTY);
     tl.add(jt != null && jt.end != Long.MAX_VALUE ? dateTime(jt.end) : EMPTY);
-    tl.add(jt != null && jt.interval != 0 ? DTDur.get(jt.interval).string(null) : EMPTY);
+    tl.add(jt == null ? EMPTY : jt.cron != null ? token(jt.cron.toString()) :
+      jt.interval != 0 ? DTDur.get(jt.interval).string(null) : EMPTY);
     tl.add(jc.locks.reads.toString());
     tl.add(jc.locks.writes.toString());
     tl.add(dateTime(jc.time));
+    // progress of the currently active (sub)job, in percent
+    final double progress = job.state == JobState.RUNNING ? job.active().progressInfo() : 0;
+    tl.add(progress > 0 ? token(Math.min(100, (int) (progress * 100))) : EMPTY);
+    // resources consumed by the job
+    final long[] usage = jc.usage != null ? jc.usage.values() : new long[4];
+    final long cpu = usage[JobUsage.CPU_TIME];
+    tl.add(cpu > 0 ? DTDur.get(cpu / 1000000).string(null) : EMPTY);
+    for(final int u : new int[] { JobUsage.ALLOCATED, JobUsage.READ_PAGES, JobUsage.RESULT }) {
+      tl.add(usage[u] > 0 ? token(usage[u]) : EMPTY);
+    }
     if(max != 0) tl.add(chop(normalize(token(jc.toString())), max));
     return tl;
   }
@@ -3,7 +3,6 @@ package org.basex.core.cmd;
 import static org.basex.query.QueryError.*;
 
 import java.io.*;
-import java.util.*;
 
 import org.basex.core.*;
 import org.basex.core.jobs.*;
@@ -35,16 +34,13 @@ public final class JobsResult extends Command {
   protected boolean run() {
     final String id = args[0];
     final JobPool jobs = context.jobs;
-    final Map<String, QueryJobResult> results = jobs.results;
-    final QueryJobResult result = results.get(id);
+    final QueryJobResult result = jobs.results.get(id);
     if(result == null) return error(JOBS_UNKNOWN_X.desc, id);
-    if(!result.cached()) error(JOBS_RUNNING_X.desc, id);
+    if(!result.cached()) return error(JOBS_RUNNING_X.desc, id);
 
     try {
-      if(result.value == null) throw result.exception;
-
       final Serializer ser = Serializer.get(out);
-      final Iter iter = result.value.iter();
+      final Iter iter = result.value().iter();
       for(Item item; (item = iter.next()) != null;) {
         ser.serialize(item);
         checkStop();
@@ -54,7 +50,7 @@ public final class JobsResult extends Command {
       exception = ex;
       return error(Util.message(ex));
     } finally {
-      results.remove(id);
+      jobs.remove(id);
     }
   }
 
@@ -45,7 +45,7 @@ public final class JobsStop extends Command {
     final Job job = ctx.jobs.active.get(id);
     if(job != null) job.stop();
     // remove potentially cached result
-    ctx.jobs.results.remove(id);
+    ctx.jobs.remove(id);
 
     return job != null || task != null;
   }
@@ -5,7 +5,6 @@ import static org.basex.core.Text.*;
 import java.io.*;
 
 import org.basex.core.*;
-import org.basex.io.*;
 import org.basex.util.*;
 import org.basex.util.list.*;
 
@@ -77,11 +76,10 @@ public final class Restore extends ABackup {
     // drop target database
     DropDB.drop(db, sopts);
 
-    final IOFile dbPath = sopts.dbPath();
-    final Zip zip = new Zip(new IOFile(dbPath, backup + IO.ZIPSUFFIX));
+    final Backup bckp = new Backup(sopts);
     try {
-      if(cmd != null) cmd.pushJob(zip);
-      zip.unzip(dbPath);
+      if(cmd != null) cmd.pushJob(bckp);
+      bckp.restore(db, backup);
     } finally {
       if(cmd != null) cmd.popJob();
     }
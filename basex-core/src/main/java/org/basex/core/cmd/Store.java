@@ -89,7 +89,8 @@ public final class Store extends ACreate {
       if(r != null) {
         for(int c; (c = r.read()) != -1;) po.print(c);
       } else if(is != null) {
-        for(int b; (b = is.read()) != -1;) po.write(b);
+        final byte[] buffer = new byte[IO.BLOCKSIZE];
+        for(int n; (n = is.read(buffer)) != -1;) po.write(buffer, 0, n);
       } else if(id != null) {
         try(BufferInput bi = BufferInput.get(IO.get(id))) {
           for(int b; (b = bi.read()) != -1;) po.write(b);
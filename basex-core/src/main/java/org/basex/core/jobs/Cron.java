@@ -0,0 +1,150 @@
+package org.basex.core.jobs;
+
+import java.util.*;
+
+import org.basex.util.*;
+
+/**
+ * Cron schedule. A schedule consists of five fields (minute, hour, day of month, month,
+ * day of week). Each field contains an asterisk or a comma-separated list of numbers and ranges,
+ * which may be followed by a step value (e.g. {@code 0 8-18/2 * * 1-5}). If both day fields
+ * are restricted, a day matches if it matches one of the fields.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class Cron {
+  /** Milliseconds per minute. */
+  static final long MINUTE = 60000;
+  /** Field ranges: minute, hour, day of month, month, day of week. */
+  private static final int[][] RANGES = { { 0, 59 }, { 0, 23 }, { 1, 31 }, { 1, 12 }, { 0, 7 } };
+  /** Maximum number of years to look ahead. */
+  private static final int YEARS = 5;
+
+  /** Expression. */
+  private final String expr;
+  /** Bit sets with the allowed values of each field. */
+  private final long[] fields = new long[RANGES.length];
+  /** Indicates if both days of month and days of week are restricted. */
+  private final boolean days;
+
+  /**
+   * Constructor.
+   * @param expr expression
+   * @param days both days of month and days of week are restricted
+   */
+  private Cron(final String expr, final boolean days) {
+    this.expr = expr;
+    this.days = days;
+  }
+
+  /**
+   * Parses a cron expression.
+   * @param expr expression
+   * @return schedule, or {@code null} if the expression is invalid or never matches
+   */
+  public static Cron get(final String expr) {
+    final String[] strings = expr.trim().split("\\s+");
+    if(strings.length != RANGES.length) return null;
+
+    final Cron cron = new Cron(expr, !strings[2].startsWith("*") && !strings[4].startsWith("*"));
+    for(int f = 0; f < RANGES.length; f++) {
+      final long field = field(strings[f], RANGES[f][0], RANGES[f][1]);
+      if(field == 0) return null;
+      cron.fields[f] = field;
+    }
+    // Sunday: 0 or 7
+    if((cron.fields[4] & 1L << 7) != 0) cron.fields[4] |= 1;
+    return cron.next(System.currentTimeMillis()) != Long.MAX_VALUE ? cron : null;
+  }
+
+  /**
+   * Returns the next matching time after the specified time.
+   * @param ms time (milliseconds since 01/01/1970)
+   * @return next time, or {@link Long#MAX_VALUE} if no time matches
+   */
+  public long next(final long ms) {
+    final Calendar cal = Calendar.getInstance();
+    cal.setTimeInMillis(ms);
+    cal.set(Calendar.SECOND, 0);
+    cal.set(Calendar.MILLISECOND, 0);
+    cal.add(Calendar.MINUTE, 1);
+
+    final int max = cal.get(Calendar.YEAR) + YEARS;
+    while(cal.get(Calendar.YEAR) <= max) {
+      if(!matches(3, cal.get(Calendar.MONTH) + 1)) {
+        cal.set(Calendar.DAY_OF_MONTH, 1);
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.add(Calendar.MONTH, 1);
+      } else if(!day(cal)) {
+        cal.set(Calendar.HOUR_OF_DAY, 0);
+        cal.set(Calendar.MINUTE, 0);
+        cal.add(Calendar.DAY_OF_MONTH, 1);
+      } else if(!matches(1, cal.get(Calendar.HOUR_OF_DAY))) {
+        cal.set(Calendar.MINUTE, 0);
+        cal.add(Calendar.HOUR_OF_DAY, 1);
+      } else if(!matches(0, cal.get(Calendar.MINUTE))) {
+        cal.add(Calendar.MINUTE, 1);
+      } else {
+        return cal.getTimeInMillis();
+      }
+    }
+    return Long.MAX_VALUE;
+  }
+
+  /**
+   * Checks if the day of the specified calendar matches.
+   * @param cal calendar
+   * @return result of check
+   */
+  private boolean day(final Calendar cal) {
+    final boolean month = matches(2, cal.get(Calendar.DAY_OF_MONTH));
+    final boolean week = matches(4, cal.get(Calendar.DAY_OF_WEEK) - 1);
+    return days ? month || week : month && week;
+  }
+
+  /**
+   * Checks if a value matches the specified field.
+   * @param field field index
+   * @param value value
+   * @return result of check
+   */
+  private boolean matches(final int field, final int value) {
+    return (fields[field] & 1L << value) != 0;
+  }
+
+  /**
+   * Parses a single field.
+   * @param string field string
+   * @param min minimum value
+   * @param max maximum value
+   * @return bit set with allowed values, or {@code 0} if the field is invalid
+   */
+  private static long field(final String string, final int min, final int max) {
+    long bits = 0;
+    for(final String entry : string.split(",", -1)) {
+      final int s = entry.indexOf('/');
+      final String range = s == -1 ? entry : entry.substring(0, s);
+      final int step = s == -1 ? 1 : Strings.toInt(entry.substring(s + 1));
+
+      final int from, to;
+      if(range.equals("*")) {
+        from = min;
+        to = max;
+      } else {
+        final int d = range.indexOf('-');
+        from = Strings.toInt(d == -1 ? range : range.substring(0, d));
+        to = d != -1 ? Strings.toInt(range.substring(d + 1)) : s != -1 ? max : from;
+      }
+      if(from < min || to > max || from > to || step < 1) return 0;
+      for(int v = from; v <= to; v += step) bits |= 1L << v;
+    }
+    return bits;
+  }
+
+  @Override
+  public String toString() {
+    return expr;
+  }
+}
@@ -4,6 +4,7 @@ import java.util.*;
 
 import org.basex.core.*;
 import org.basex.core.users.*;
+import org.basex.server.Log.LogType;
 import org.basex.util.*;
 
 /**
@@ -13,6 +14,9 @@ import org.basex.util.*;
  * @author Christian Gruen
  */
 public abstract class Job {
+  /** Interval for checking resource limits (ms). */
+  private static final long LIMITS = 250;
+
   /** Child jobs. */
   private final List<Job> children = Collections.synchronizedList(new ArrayList<>(0));
   /** Job context. */
@@ -46,8 +50,10 @@ public abstract class Job {
     ctx.locking.acquire(this, ctx);
     state(JobState.RUNNING);
     jc.performance = new Performance();
+    jc.usage = new JobUsage(ctx);
     // non-admin users: stop process after timeout
     if(!ctx.user().has(Perm.ADMIN)) startTimeout(ctx.soptions.get(StaticOptions.TIMEOUT));
+    if(jc.usage.limited()) startLimits();
   }
 
   /**
@@ -56,6 +62,13 @@ public abstract class Job {
    */
   public final void unregister(final Context ctx) {
     stopTimeout();
+    final JobUsage usage = jc.usage;
+    if(usage != null) {
+      usage.finish();
+      final String exceeded = usage.exceeded();
+      if(exceeded != null) ctx.log.write(LogType.ERROR, jc.id() + ": " +
+          Util.info(Text.LIMIT_EXCEEDED_X, exceeded) + " (" + usage + ')', jc.performance, ctx);
+    }
     ctx.locking.release();
     ctx.jobs.unregister(this);
   }
@@ -108,11 +121,23 @@ public abstract class Job {
     state(JobState.MEMORY);
   }
 
+  /**
+   * Stops a job because a resource limit was exceeded.
+   */
+  public final void limit() {
+    state(JobState.LIMIT);
+  }
+
   /**
    * Checks if the job was stopped; if yes, throws a runtime exception.
    */
   public final void checkStop() {
-    if(stopped) throw new JobException(Text.INTERRUPTED);
+    if(stopped) {
+      final JobUsage usage = jc.usage;
+      final String exceeded = usage != null ? usage.exceeded() : null;
+      throw new JobException(exceeded != null ? Util.info(Text.LIMIT_EXCEEDED_X, exceeded) :
+        Text.INTERRUPTED);
+    }
   }
 
   /**
@@ -130,7 +155,8 @@ public abstract class Job {
   public void state(final JobState js) {
     for(final Job job : children) job.state(js);
     state = js;
-    if(js == JobState.STOPPED || js == JobState.TIMEOUT || js == JobState.MEMORY) {
+    if(js == JobState.STOPPED || js == JobState.TIMEOUT || js == JobState.MEMORY ||
+        js == JobState.LIMIT) {
       stopped = true;
       stopTimeout();
     }
@@ -144,6 +170,15 @@ public abstract class Job {
     jc.locks.writes.addGlobal();
   }
 
+  /**
+   * Indicates if databases that are read by this job may be accessed via snapshots.
+   * Can be overwritten by jobs that open all databases via the query resources.
+   * @return result of check
+   */
+  public boolean snapshots() {
+    return false;
+  }
+
   /**
    * Returns short progress information.
    * Can be overwritten to give more specific feedback.
@@ -188,13 +223,32 @@ public abstract class Job {
    */
   private void startTimeout(final long sec) {
     if(sec == 0) return;
-    timer = new Timer(true);
-    timer.schedule(new TimerTask() {
+    timer().schedule(new TimerTask() {
       @Override
       public void run() { timeout(); }
     }, sec * 1000L);
   }
 
+  /**
+   * Starts a thread that regularly checks the resource limits.
+   */
+  private void startLimits() {
+    final JobUsage usage = jc.usage;
+    timer().schedule(new TimerTask() {
+      @Override
+      public void run() { if(usage.check()) limit(); }
+    }, LIMITS, LIMITS);
+  }
+
+  /**
+   * Returns the timer for the registered job.
+   * @return timer
+   */
+  private Timer timer() {
+    if(timer == null) timer = new Timer(true);
+    return timer;
+  }
+
   /**
    * Stops the timeout thread.
    */
@@ -27,10 +27,14 @@ public final class JobContext {
 
   /** Performance measurements. */
   public Performance performance;
+  /** Resource usage ({@code null} if the job has not been started yet). */
+  public JobUsage usage;
   /** Query tracer. */
   public QueryTracer tracer = ERRLN;
   /** Database context. */
   public Context context;
+  /** Job priority ({@code null}: priority of the user). */
+  public JobPriority priority;
   /** Root job. */
   private final Job job;
 
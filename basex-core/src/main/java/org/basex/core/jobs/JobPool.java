@@ -1,9 +1,13 @@
 package org.basex.core.jobs;
 
+import java.io.*;
 import java.util.*;
 import java.util.concurrent.*;
 
 import org.basex.core.*;
+import org.basex.io.*;
+import org.basex.query.*;
+import org.basex.util.*;
 import org.basex.util.Performance;
 
 /**
@@ -27,12 +31,26 @@ public final class JobPool {
   /** Timeout (ms). */
   private final long timeout;
 
+  /** Static options. */
+  private final StaticOptions sopts;
+  /** Directory for persisted results. */
+  private final IOFile store;
+  /** Persisted results, in the order in which they were written. */
+  private final LinkedHashMap<String, QueryJobResult> persisted = new LinkedHashMap<>();
+  /** Total size of persisted results. */
+  private long size;
+
   /**
    * Constructor.
    * @param sopts static options
    */
   public JobPool(final StaticOptions sopts) {
+    this.sopts = sopts;
     timeout = sopts.get(StaticOptions.CACHETIMEOUT) * 1000L;
+    store = sopts.dbPath(".jobs");
+
+    // delete results that have been left behind by previous instances (they cannot be restored)
+    store.delete();
   }
 
   /**
@@ -60,18 +78,109 @@ public final class JobPool {
     timer.cancel();
     for(final Job job : active.values()) job.stop();
     while(!active.isEmpty()) Performance.sleep(1);
+    // discard persisted results
+    for(final String id : new ArrayList<>(results.keySet())) remove(id);
   }
 
   /**
-   * Discards a result after the timeout.
-   * @param job job
+   * Caches the result of a job. A previously cached result of the same job will be replaced.
+   * The result is discarded after the timeout.
+   * @param result job result
    */
-  public void scheduleResult(final Job job) {
+  public void cache(final QueryJobResult result) {
+    final String id = result.job.jc().id();
+    // persist result before it is published
+    final long max = sopts.get(StaticOptions.CACHESTORE) * 1024L * 1024L;
+    if(max > 0 && result.value != null) persist(id, result, max);
+
+    result.cached = true;
+    final QueryJobResult old = results.put(id, result);
+    if(old != null && old != result) {
+      synchronized(persisted) {
+        if(persisted.remove(id, old)) discard(id, old, false);
+      }
+    }
+
     timer.schedule(new TimerTask() {
       @Override
       public void run() {
-        results.remove(job.jc().id());
+        remove(id, result);
       }
     }, timeout);
   }
+
+  /**
+   * Removes a cached result.
+   * @param id job id
+   * @return removed result or {@code null}
+   */
+  public QueryJobResult remove(final String id) {
+    final QueryJobResult result = results.get(id);
+    return result != null && remove(id, result) ? result : null;
+  }
+
+  /**
+   * Removes a cached result if it has not been replaced yet.
+   * @param id job id
+   * @param result job result
+   * @return success flag
+   */
+  private boolean remove(final String id, final QueryJobResult result) {
+    if(!results.remove(id, result)) return false;
+    synchronized(persisted) {
+      if(persisted.remove(id, result)) discard(id, result, false);
+    }
+    return true;
+  }
+
+  /**
+   * Writes a result to disk. The oldest persisted results are discarded if the maximum size is
+   * exceeded; requesting them will raise an error. Results that cannot be restored or that exceed
+   * the maximum size on their own are kept in main memory.
+   * @param id job id
+   * @param result job result
+   * @param max maximum size of persisted results
+   */
+  private void persist(final String id, final QueryJobResult result, final long max) {
+    IOFile file = null;
+    try {
+      store.md();
+      file = new IOFile(File.createTempFile("result", IO.GZSUFFIX, store.file()));
+      final long length = result.write(file) ? file.length() : Long.MAX_VALUE;
+      if(length > max) {
+        file.delete();
+        return;
+      }
+      synchronized(persisted) {
+        result.persisted(file, length);
+        // discard previous result of the same job
+        final QueryJobResult old = persisted.put(id, result);
+        if(old != null) discard(id, old, false);
+        size += length;
+
+        // discard oldest results
+        final Iterator<Map.Entry<String, QueryJobResult>> iter = persisted.entrySet().iterator();
+        while(size > max) {
+          final Map.Entry<String, QueryJobResult> entry = iter.next();
+          iter.remove();
+          discard(entry.getKey(), entry.getValue(), true);
+        }
+      }
+    } catch(final IOException | QueryException ex) {
+      Util.errln(ex);
+      if(file != null) file.delete();
+    }
+  }
+
+  /**
+   * Deletes the file of a persisted result. Called by the thread that owns the monitor of
+   * the persisted results.
+   * @param id job id
+   * @param result job result
+   * @param evicted indicates if the result was discarded because the cache limit was exceeded
+   */
+  private void discard(final String id, final QueryJobResult result, final boolean evicted) {
+    size -= result.discard((evicted ? QueryError.JOBS_DISCARDED_X :
+      QueryError.JOBS_UNKNOWN_X).get(null, id));
+  }
 }
@@ -0,0 +1,38 @@
+package org.basex.core.jobs;
+
+import java.util.*;
+
+/**
+ * Job priorities. Jobs with higher priorities will be started first if the job queue is full.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public enum JobPriority {
+  /** Interactive jobs (highest priority). */
+  INTERACTIVE,
+  /** Batch jobs. */
+  BATCH,
+  /** Background jobs (lowest priority). */
+  BACKGROUND;
+
+  /** Cached enums (faster). */
+  public static final JobPriority[] VALUES = values();
+
+  /**
+   * Returns a priority matching the specified string.
+   * @param priority priority string
+   * @return priority, or {@code null} if no match is found
+   */
+  public static JobPriority get(final String priority) {
+    for(final JobPriority p : VALUES) {
+      if(p.toString().equals(priority)) return p;
+    }
+    return null;
+  }
+
+  @Override
+  public String toString() {
+    return name().toLowerCase(Locale.ENGLISH);
+  }
+}
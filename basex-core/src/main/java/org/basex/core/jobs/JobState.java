@@ -19,6 +19,8 @@ public enum JobState {
   TIMEOUT,
   /** Memory. */
   MEMORY,
+  /** Resource limit. */
+  LIMIT,
   /** Cached. */
   CACHED
 }
@@ -0,0 +1,166 @@
+package org.basex.core.jobs;
+
+import static org.basex.core.jobs.JobsText.*;
+import static org.basex.util.Token.*;
+
+import org.basex.core.*;
+import org.basex.core.users.*;
+import org.basex.util.*;
+import org.basex.util.options.*;
+
+/**
+ * Resource usage of a job: consumed CPU time, allocated memory, read database pages, and size
+ * of the result. Allocated memory is the total number of bytes allocated by the thread, not the
+ * size of the live heap. All values except for the result size are measured for the thread that
+ * registered the job. Limits can be assigned via static options (for all users without admin
+ * permissions) and via the info element of a user.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class JobUsage {
+  /** Index of the CPU time (ns). */
+  public static final int CPU_TIME = 0;
+  /** Index of the allocated memory (bytes). */
+  public static final int ALLOCATED = 1;
+  /** Index of the read pages. */
+  public static final int READ_PAGES = 2;
+  /** Index of the result size (bytes). */
+  public static final int RESULT = 3;
+
+  /** Resource names. */
+  private static final byte[][] NAMES = { CPU, JobsText.ALLOCATED, PAGES, OUTPUT };
+  /** Options with the default limits. */
+  private static final NumberOption[] OPTIONS = {
+    StaticOptions.JOBCPU, StaticOptions.JOBALLOCATED, StaticOptions.JOBPAGES,
+    StaticOptions.JOBOUTPUT
+  };
+  /** Units of the limits (seconds, megabytes, pages, megabytes). */
+  private static final long[] UNITS = { 1000000000L, 1L << 20, 1, 1L << 20 };
+
+  /** Thread id. */
+  private final long thread = Thread.currentThread().getId();
+  /** Counter for the read pages of the current thread. */
+  private final ThreadUsage.Reads reads = ThreadUsage.reads();
+  /** Initial values. */
+  private final long[] initial;
+  /** Limits ({@code 0}: no limit). */
+  private final long[] limits = new long[NAMES.length];
+
+  /** Final values ({@code null} while the job is running). */
+  private long[] values;
+  /** Result size. */
+  private volatile long output;
+  /** Name of the resource whose limit was exceeded ({@code null} if no limit was exceeded). */
+  private volatile String exceeded;
+
+  /**
+   * Constructor, called by the thread that evaluates the job.
+   * @param ctx database context
+   */
+  JobUsage(final Context ctx) {
+    initial = new long[] { ThreadUsage.cpu(thread), ThreadUsage.allocated(thread), reads.pages(),
+      0 };
+
+    final User user = ctx.user();
+    final boolean admin = user.has(Perm.ADMIN);
+    final int nl = NAMES.length;
+    for(int n = 0; n < nl; n++) {
+      long limit = user.limit(NAMES[n]);
+      if(limit == -1) limit = admin ? 0 : ctx.soptions.get(OPTIONS[n]);
+      // ignore limits that cannot be measured
+      if(initial[n] != -1) limits[n] = limit * UNITS[n];
+    }
+  }
+
+  /**
+   * Assigns the size of the result.
+   * @param bytes number of bytes
+   */
+  public void output(final long bytes) {
+    output = bytes;
+  }
+
+  /**
+   * Returns the current values, or the final values if the job has been finished.
+   * A value is {@code -1} if it cannot be measured.
+   * @return values, indexed by {@link #CPU_TIME}, {@link #ALLOCATED}, {@link #READ_PAGES}
+   *   and {@link #RESULT}
+   */
+  public long[] values() {
+    final long[] vals = values;
+    return vals != null ? vals : new long[] {
+      diff(ThreadUsage.cpu(thread), initial[CPU_TIME]),
+      diff(ThreadUsage.allocated(thread), initial[ALLOCATED]),
+      reads.pages() - initial[READ_PAGES],
+      output
+    };
+  }
+
+  /**
+   * Returns the name of the resource whose limit was exceeded.
+   * @return name, or {@code null} if no limit was exceeded
+   */
+  public String exceeded() {
+    return exceeded;
+  }
+
+  /**
+   * Indicates if limits have been assigned.
+   * @return result of check
+   */
+  boolean limited() {
+    for(final long limit : limits) {
+      if(limit > 0) return true;
+    }
+    return false;
+  }
+
+  /**
+   * Checks if a limit has been exceeded.
+   * @return result of check
+   */
+  boolean check() {
+    final long[] vals = values();
+    final int nl = NAMES.length;
+    for(int n = 0; n < nl; n++) {
+      if(limits[n] > 0 && vals[n] > limits[n]) {
+        exceeded = string(NAMES[n]);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Freezes the values after the job has been finished.
+   */
+  void finish() {
+    values = values();
+  }
+
+  /**
+   * Returns the difference between a current and an initial value.
+   * @param current current value
+   * @param init initial value
+   * @return difference, or {@code -1} if one of the values cannot be measured
+   */
+  private static long diff(final long current, final long init) {
+    return current == -1 || init == -1 ? -1 : current - init;
+  }
+
+  @Override
+  public String toString() {
+    final long[] vals = values();
+    final TokenBuilder tb = new TokenBuilder();
+    final int nl = NAMES.length;
+    for(int n = 0; n < nl; n++) {
+      final long value = vals[n];
+      if(value == -1) continue;
+      if(!tb.isEmpty()) tb.add(", ");
+      tb.add(NAMES[n]).add(": ").add(n == CPU_TIME ? Performance.getTime(value, 1) :
+        n == READ_PAGES ? Long.toString(value) : Performance.format(value));
+    }
+    return tb.toString();
+  }
+}
@@ -19,8 +19,13 @@ public final class JobsOptions extends Options {
   public static final StringOption END = new StringOption("end");
   /** Interval after which query will be repeated. */
   public static final StringOption INTERVAL = new StringOption("interval");
+  /** Cron schedule. */
+  public static final StringOption CRON = new StringOption("cron");
   /** Custom id string. */
   public static final StringOption ID = new StringOption("id");
+  /** Job priority. */
+  public static final EnumOption<JobPriority> PRIORITY =
+      new EnumOption<>("priority", JobPriority.class);
   /** Register as service. */
   public static final BooleanOption SERVICE = new BooleanOption("service");
 }
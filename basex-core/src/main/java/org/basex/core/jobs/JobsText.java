@@ -35,4 +35,14 @@ public interface JobsText {
   byte[] WRITES = token("writes");
   /** Time of registering. */
   byte[] TIME = token("time");
+  /** Progress (in percent). */
+  byte[] PROGRESS = token("progress");
+  /** Consumed CPU time. */
+  byte[] CPU = token("cpu");
+  /** Allocated memory. */
+  byte[] ALLOCATED = token("allocated");
+  /** Read database pages. */
+  byte[] PAGES = token("pages");
+  /** Size of the result. */
+  byte[] OUTPUT = token("output");
 }
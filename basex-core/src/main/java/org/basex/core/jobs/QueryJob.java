@@ -20,8 +20,8 @@ import org.basex.util.*;
  * @author Christian Gruen
  */
 public final class QueryJob extends Job implements Runnable {
-  /** Result. */
-  private final QueryJobResult result = new QueryJobResult(this);
+  /** Result of the current or next run. */
+  private QueryJobResult result = new QueryJobResult(this);
   /** Job specification. */
   private final QueryJobSpec job;
   /** Notify function. */
@@ -46,6 +46,7 @@ public final class QueryJob extends Job implements Runnable {
     this.job = job;
     this.notify = notify;
     jc().context = context;
+    jc().priority = job.options.get(JobsOptions.PRIORITY);
 
     // check when job is to be started
     final JobsOptions opts = job.options;
@@ -62,14 +63,25 @@ public final class QueryJob extends Job implements Runnable {
     }
     if(delay < 0) throw JOBS_RANGE_X.get(ii, start);
 
+    // check if job is to be repeated according to a cron schedule
+    Cron cron = null;
+    final String crn = opts.get(JobsOptions.CRON);
+    if(crn != null && !crn.isEmpty()) {
+      if(interval > 0) throw JOBS_OPTIONS.get(ii);
+      cron = Cron.get(crn);
+      if(cron == null) throw JOBS_CRON_X.get(ii, crn);
+      // first start: next matching minute (not before the specified start time)
+      final long time = System.currentTimeMillis();
+      delay = cron.next(time + delay - 1) - time;
+    }
+
     // check when job is to be stopped
     final String end = opts.get(JobsOptions.END);
     final long duration = end == null || end.isEmpty() ? Long.MAX_VALUE : delay(end, delay, ii);
     if(duration <= delay) throw JOBS_RANGE_X.get(ii, end);
 
-    // check job results are to be cached
+    // check job results are to be cached (repeated jobs: result of the latest run)
     final boolean cache = opts.contains(JobsOptions.CACHE) && opts.get(JobsOptions.CACHE);
-    if(cache && interval > 0) throw JOBS_OPTIONS.get(ii);
 
     final JobPool jobs = context.jobs;
     synchronized(jobs.tasks) {
@@ -89,9 +101,11 @@ public final class QueryJob extends Job implements Runnable {
       if(cache) jobs.results.put(id, result);
 
       // create and schedule job task
-      final QueryJobTask task = new QueryJobTask(this, jobs, delay, interval, duration);
+      final QueryJobTask task = new QueryJobTask(this, jobs, delay, interval, duration, cron);
       jobs.tasks.put(id, task);
-      if(interval > 0) {
+      if(cron != null) {
+        jobs.timer.scheduleAtFixedRate(task, delay, Cron.MINUTE);
+      } else if(interval > 0) {
         jobs.timer.scheduleAtFixedRate(task, delay, interval);
       } else {
         jobs.timer.schedule(task, delay);
@@ -144,6 +158,8 @@ public final class QueryJob extends Job implements Runnable {
 
   @Override
   public void run() {
+    // repeated job: keep cached result of the previous run until the current run is finished
+    if(result.cached()) result = new QueryJobResult(this);
     final JobContext jc = jc();
     final Context ctx = jc.context;
     final JobsOptions opts = job.options;
@@ -171,7 +187,7 @@ public final class QueryJob extends Job implements Runnable {
 
     } catch(final JobException ex) {
       // query was interrupted: remove cached result
-      ctx.jobs.results.remove(jc.id());
+      ctx.jobs.remove(jc.id());
     } catch(final QueryException ex) {
       result.exception = ex;
     } catch(final Throwable ex) {
@@ -179,9 +195,9 @@ public final class QueryJob extends Job implements Runnable {
     } finally {
       // close and invalidate query after result has been assigned. order is important!
       final Boolean cache = opts.get(JobsOptions.CACHE);
-      if(cache != null && cache) {
-        ctx.jobs.scheduleResult(this);
-        state(JobState.CACHED);
+      if(cache != null && cache && state != JobState.STOPPED) {
+        ctx.jobs.cache(result);
+        state(remove ? JobState.CACHED : JobState.SCHEDULED);
       } else {
         state(JobState.SCHEDULED);
       }
@@ -1,7 +1,21 @@
 package org.basex.core.jobs;
 
+import java.io.*;
+import java.util.zip.*;
+
+import org.basex.build.*;
+import org.basex.core.*;
+import org.basex.io.*;
+import org.basex.io.in.DataInput;
+import org.basex.io.out.*;
+import org.basex.io.out.DataOutput;
+import org.basex.io.serial.*;
 import org.basex.query.*;
+import org.basex.query.util.list.*;
 import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.node.*;
+import org.basex.query.value.type.*;
 
 /**
  * Cached job result.
@@ -12,13 +26,20 @@ import org.basex.query.value.*;
 public final class QueryJobResult {
   /** Job. */
   public final Job job;
-  /** Query result. */
+  /** Query result ({@code null} if the result has been written to disk). */
   public Value value;
-  /** Exception. */
+  /** Exception (assigned before the result is cached, or when a persisted result is discarded). */
   public QueryException exception;
   /** Evaluation time (ns). */
   public long time;
 
+  /** Indicates if the result has been cached. */
+  volatile boolean cached;
+  /** File with the persisted query result ({@code null}: result is kept in main memory). */
+  private IOFile file;
+  /** Size of the persisted query result. */
+  private long size;
+
   /**
    * Job.
    * @param job job
@@ -32,6 +53,106 @@ public final class QueryJobResult {
    * @return result of check
    */
   public boolean cached() {
-    return job.state == JobState.CACHED;
+    return cached;
+  }
+
+  /**
+   * Returns the query result. If the result has been persisted, it is read from disk.
+   * A persisted result will not be discarded while it is read.
+   * @return result
+   * @throws QueryException query exception
+   */
+  public synchronized Value value() throws QueryException {
+    if(exception != null) throw exception;
+    if(file == null) return value;
+
+    try(DataInput in = new DataInput(new IOStream(new GZIPInputStream(file.inputStream())))) {
+      final int size = in.readNum();
+      final ItemList items = new ItemList(size);
+      for(int i = 0; i < size; i++) {
+        final Type type = Type.ID.getType(in.read());
+        final byte[] string = in.readToken();
+        if(type == NodeType.TXT) {
+          items.add(new FTxt(string));
+        } else if(type instanceof NodeType) {
+          final IOContent io = new IOContent(string);
+          final DBNode doc = new DBNode(Parser.singleParser(io, MainOptions.get(), ""));
+          items.add(type == NodeType.DOC ? doc : doc.childIter().next());
+        } else {
+          items.add((Item) type.cast(Str.get(string), null, null, null));
+        }
+      }
+      return items.value();
+    } catch(final IOException ex) {
+      throw QueryError.IOERR_X.get(null, ex);
+    }
+  }
+
+  /**
+   * Assigns the file with the persisted query result and drops the result in main memory.
+   * @param target file
+   * @param length size of the file
+   */
+  synchronized void persisted(final IOFile target, final long length) {
+    file = target;
+    size = length;
+    value = null;
+  }
+
+  /**
+   * Deletes the file with the persisted query result.
+   * @param ex exception to be raised if the result is requested
+   * @return size of the deleted file
+   */
+  synchronized long discard(final QueryException ex) {
+    file.delete();
+    file = null;
+    exception = ex;
+    return size;
+  }
+
+  /**
+   * Writes the query result to the specified file. Nodes are serialized, atomic items are
+   * written as strings.
+   * @param target target file
+   * @return success flag ({@code false} if the result contains items that cannot be restored)
+   * @throws IOException I/O exception
+   * @throws QueryException query exception
+   */
+  boolean write(final IOFile target) throws IOException, QueryException {
+    for(final Item item : value) {
+      if(!persistable(item)) return false;
+    }
+    try(DataOutput out = new DataOutput(new GZIPOutputStream(target.outputStream()))) {
+      out.writeNum((int) value.size());
+      final SerializerOptions sopts = SerializerMode.NOINDENT.get();
+      for(final Item item : value) {
+        out.write1(item.type.id().asByte());
+        if(item instanceof ANode && item.type != NodeType.TXT) {
+          final ArrayOutput ao = new ArrayOutput();
+          try(Serializer ser = Serializer.get(ao, sopts)) {
+            ser.serialize(item);
+          }
+          out.writeToken(ao.finish());
+        } else {
+          out.writeToken(item.string(null));
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the specified item can be restored from its serialized representation.
+   * @param item item
+   * @return result of check
+   */
+  private static boolean persistable(final Item item) {
+    final Type type = item.type;
+    if(type instanceof NodeType) {
+      return type == NodeType.DOC || type == NodeType.ELM || type == NodeType.TXT;
+    }
+    return type instanceof AtomType && type != AtomType.QNM && type != AtomType.NOT &&
+        type != AtomType.JAVA && Type.ID.getType(item.type.id().asByte()) == type;
   }
 }
@@ -17,6 +17,8 @@ public final class QueryJobTask extends TimerTask {
   public final long interval;
   /** End time (@link {@link Long#MAX_VALUE}: no end). */
   public final long end;
+  /** Cron schedule (can be {@code null}). */
+  public final Cron cron;
 
   /** Next start time. */
   public long start;
@@ -28,13 +30,15 @@ public final class QueryJobTask extends TimerTask {
    * @param delay delay (ms)
    * @param interval interval (ms; no repetition: {@code 0})
    * @param duration total duration (ms; no limit: {@link Long#MAX_VALUE})
+   * @param cron cron schedule (can be {@code null})
    */
   public QueryJobTask(final QueryJob job, final JobPool jobs, final long delay,
-      final long interval, final long duration) {
+      final long interval, final long duration, final Cron cron) {
 
     this.job = job;
     this.jobs = jobs;
     this.interval = interval;
+    this.cron = cron;
     final long time = System.currentTimeMillis();
     start = time + delay;
     end = duration == Long.MAX_VALUE ? duration : time + duration;
@@ -42,9 +46,15 @@ public final class QueryJobTask extends TimerTask {
 
   @Override
   public void run() {
+    if(cron != null) {
+      // cron schedule: task is run every minute, skip minutes before the next start time
+      if(scheduledExecutionTime() + Cron.MINUTE / 2 < start) return;
+      start = cron.next(start);
+    } else {
+      start += interval;
+    }
     // check if job needs to be evaluated repeatedly
-    start += interval;
-    if(interval == 0 || start >= end) {
+    if(cron == null && interval == 0 || start >= end) {
       job.remove();
       cancel();
     }
@@ -10,7 +10,7 @@ import java.util.*;
  */
 public final class FairLockQueue extends LockQueue {
   /** Queue. */
-  private final Queue<Long> queue = new LinkedList<>();
+  private final List<Entry> queue = new LinkedList<>();
 
   /**
    * Constructor.
@@ -21,22 +21,13 @@ public final class FairLockQueue extends LockQueue {
   }
 
   @Override
-  public synchronized void acquire(final Long id, final boolean read, final boolean write)
-      throws InterruptedException {
+  protected void queue(final Entry entry) throws InterruptedException {
+    // add job to queue and wait until job is placed first (wake up regularly for aging)
+    queue.add(entry);
+    while(entry != first(queue) || !tryAcquire(entry)) wait(AGING);
 
-    // add job id to queue and wait
-    if(jobs >= parallel) {
-      queue.add(id);
-
-      // loop until job is placed first
-      do {
-        wait();
-      } while(!id.equals(queue.peek()));
-
-      // remove job from queue
-      queue.remove(id);
-    }
-    jobs++;
+    // remove job from queue
+    queue.remove(entry);
   }
 
   @Override
@@ -89,6 +89,29 @@ public final class LockList implements Iterable<String> {
     list.removeAll(locks.list);
   }
 
+  /**
+   * Removes all local locks that start with the specified prefix.
+   * @param prefix prefix
+   */
+  void removePrefix(final String prefix) {
+    for(int l = list.size() - 1; l >= 0; l--) {
+      if(list.get(l).startsWith(prefix)) list.remove(l);
+    }
+  }
+
+  /**
+   * Replaces a local lock. The resulting list will be sorted.
+   * @param lock lock to be replaced
+   * @param replacement replacement
+   */
+  void replace(final String lock, final String replacement) {
+    final int ls = list.size();
+    for(int l = 0; l < ls; l++) {
+      if(list.get(l).equals(lock)) list.set(l, replacement);
+    }
+    list.sort().unique();
+  }
+
   /**
    * Returns the element at the specified position.
    * @param index element index
@@ -1,16 +1,43 @@
 package org.basex.core.locks;
 
+import java.util.*;
+import java.util.concurrent.atomic.*;
+
+import org.basex.core.jobs.*;
+
 /**
  * Lock queue.
  *
+ * Jobs are admitted via a counting semaphore: if the maximum number of parallel jobs has not
+ * been reached, and if no other jobs are queued, a job will be started without entering the
+ * monitor of the queue. Otherwise, it will be queued, and the queuing policy of the implementing
+ * class decides which job will be started next. The monitor is only notified if jobs are queued.
+ *
+ * Jobs with higher priorities are preferred (see {@link JobPriority}). A quarter of the slots is
+ * reserved for interactive jobs, and background jobs may occupy at most a quarter of the slots.
+ * To prevent starvation, the priority that determines the order of queued jobs is raised after
+ * each {@link #AGING} interval. The slot limits are always checked against the original priority,
+ * and queued jobs that are blocked by the limit of their priority are skipped.
+ *
  * @author BaseX Team 2005-20, BSD License
  * @author Christian Gruen
  */
 public abstract class LockQueue {
+  /** Milliseconds after which the priority of a queued job will be raised. */
+  static final long AGING = 5000;
+
   /** Maximum number of parallel jobs. */
   protected final int parallel;
   /** Number of currently running jobs. */
-  protected int jobs;
+  protected final AtomicInteger jobs = new AtomicInteger();
+  /** Maximum number of parallel jobs without interactive priority. */
+  private final int batch;
+  /** Maximum number of parallel background jobs. */
+  private final int background;
+  /** Number of currently running background jobs. */
+  private final AtomicInteger backgrounds = new AtomicInteger();
+  /** Number of queued jobs. */
+  private final AtomicInteger queued = new AtomicInteger();
 
   /**
    * Constructor.
@@ -18,6 +45,9 @@ public abstract class LockQueue {
    */
   LockQueue(final int parallel) {
     this.parallel = parallel;
+    final int quarter = parallel / 4;
+    batch = parallel - quarter;
+    background = Math.max(1, quarter);
   }
 
   /**
@@ -25,15 +55,152 @@ public abstract class LockQueue {
    * @param id job id
    * @param read read flag
    * @param write write flag
+   * @param priority job priority
    * @throws InterruptedException interrupted exception
    */
-  public abstract void acquire(Long id, boolean read, boolean write) throws InterruptedException;
+  public void acquire(final Long id, final boolean read, final boolean write,
+      final JobPriority priority) throws InterruptedException {
+
+    // fast path: start job if no jobs are queued and if a slot is free
+    final Entry entry = new Entry(id, write, priority);
+    if(priority != JobPriority.BACKGROUND && queued.get() == 0 && tryAcquire(entry)) return;
+
+    queued.incrementAndGet();
+    try {
+      synchronized(this) {
+        queue(entry);
+        // allow next queued job to check if it can be started
+        if(jobs.get() < parallel) notifyAll();
+      }
+    } finally {
+      queued.decrementAndGet();
+    }
+  }
+
+  /**
+   * Queues the job until it is its turn and a slot could be acquired.
+   * Called by the thread that owns the monitor of this queue.
+   * @param entry queue entry
+   * @throws InterruptedException interrupted exception
+   */
+  protected abstract void queue(Entry entry) throws InterruptedException;
+
+  /**
+   * Tries to acquire a slot for a job. The limits depend on the original priority of the job.
+   * @param entry queue entry
+   * @return success flag
+   */
+  protected final boolean tryAcquire(final Entry entry) {
+    final JobPriority priority = entry.priority;
+    if(priority == JobPriority.BACKGROUND && backgrounds.get() >= background) return false;
+
+    final int max = max(priority);
+    for(int j; (j = jobs.get()) < max;) {
+      if(jobs.compareAndSet(j, j + 1)) {
+        started(priority);
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Registers a started job.
+   * @param priority priority of the job
+   */
+  protected final void started(final JobPriority priority) {
+    if(priority == JobPriority.BACKGROUND) backgrounds.incrementAndGet();
+  }
+
+  /**
+   * Returns the maximum number of parallel jobs for the specified priority.
+   * @param priority original priority of the job
+   * @return maximum number of jobs
+   */
+  private int max(final JobPriority priority) {
+    return priority == JobPriority.INTERACTIVE ? parallel : batch;
+  }
+
+  /**
+   * Checks if a slot is available for a job with the specified priority.
+   * @param priority original priority of the job
+   * @return result of check
+   */
+  private boolean available(final JobPriority priority) {
+    return (priority != JobPriority.BACKGROUND || backgrounds.get() < background) &&
+        jobs.get() < max(priority);
+  }
+
+  /**
+   * Returns the queued job that will be started next. Jobs for which no slot is available
+   * are skipped: otherwise, a job whose priority has been raised could block all other jobs.
+   * @param entries queue entries in the order of their arrival
+   * @return entry, or {@code null} if no queued job can be started
+   */
+  protected final Entry first(final Collection<Entry> entries) {
+    final long time = System.currentTimeMillis();
+    Entry first = null;
+    int min = Integer.MAX_VALUE;
+    for(final Entry entry : entries) {
+      if(!available(entry.priority)) continue;
+      final int p = entry.priority(time).ordinal();
+      if(p < min) {
+        first = entry;
+        min = p;
+      }
+    }
+    return first;
+  }
 
   /**
    * Notifies other jobs that a job has been completed.
+   * @param priority priority of the job
    */
-  public synchronized void release() {
-    notifyAll();
-    jobs--;
+  public void release(final JobPriority priority) {
+    jobs.decrementAndGet();
+    if(priority == JobPriority.BACKGROUND) backgrounds.decrementAndGet();
+    if(queued.get() > 0) {
+      synchronized(this) {
+        notifyAll();
+      }
+    }
+  }
+
+  /** Queue entry. */
+  protected static final class Entry {
+    /** Job id. */
+    private final Long id;
+    /** Write flag. */
+    final boolean write;
+    /** Priority of the job. */
+    private final JobPriority priority;
+    /** Time of arrival. */
+    private final long time = System.currentTimeMillis();
+
+    /**
+     * Constructor.
+     * @param id job id
+     * @param write write flag
+     * @param priority priority of the job
+     */
+    private Entry(final Long id, final boolean write, final JobPriority priority) {
+      this.id = id;
+      this.write = write;
+      this.priority = priority;
+    }
+
+    /**
+     * Returns the current priority of the job, which is raised after each aging interval.
+     * @param now current time
+     * @return priority
+     */
+    private JobPriority priority(final long now) {
+      return JobPriority.VALUES[(int) Math.max(0, priority.ordinal() - (now - time) / AGING)];
+    }
+
+    @Override
+    public String toString() {
+      return id + "/" + priority;
+    }
   }
 }
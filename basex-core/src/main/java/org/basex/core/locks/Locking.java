@@ -3,7 +3,6 @@ package org.basex.core.locks;
 import static org.basex.util.Prop.*;
 import static org.basex.util.Token.*;
 
-import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.locks.*;
 
@@ -16,9 +15,24 @@ import org.basex.util.list.*;
  * Read and write locks on arbitrary strings.
  *
  * A maximum of {@link StaticOptions#PARALLEL} concurrent locking jobs is allowed.
+ * Jobs are admitted without entering a monitor as long as the limit has not been reached
+ * (see {@link LockQueue}). If the limit has been reached, queued jobs will be started in the
+ * order of their priorities (see {@link JobPriority}).
+ *
+ * Local locks are managed in a concurrent lock table. Jobs with local read locks only
+ * (which is the common case for read-only queries) do not need to synchronize with other jobs.
  *
  * (Non-)fair locking can be adjusted via the {@link StaticOptions#FAIRLOCK} option.
  *
+ * If {@link StaticOptions#SNAPSHOTS} is enabled, read-only queries will access snapshots of
+ * databases that are currently updated (see {@link Snapshots}).
+ *
+ * If {@link StaticOptions#DOCLOCKS} is enabled, updating queries that only add, replace or delete
+ * statically known resources of a database will lock the addressed documents (see
+ * {@link Locks#documents}). The write lock on the database will only be acquired before the
+ * updates are applied, and the updates will be resolved afterwards. As a result, input documents
+ * of concurrent queries can be parsed in parallel.
+ *
  * This class prevents locking deadlocks by sorting all strings.
  *
  * Locks can only be released by the same thread which acquired it.
@@ -37,6 +51,10 @@ public final class Locking {
   public static final String QUERY_PREFIX = "Q/";
   /** Prefix for locks in Java modules. */
   public static final String JAVA_PREFIX = "J/";
+  /** Prefix for snapshot locks. */
+  public static final String SNAPSHOT_PREFIX = PREFIX + "SNAPSHOT/";
+  /** Prefix for document locks. */
+  public static final String DOCUMENT_PREFIX = "D/";
 
   /** Special lock identifier for database opened in current context; will be substituted. */
   public static final String CONTEXT = PREFIX + "CONTEXT";
@@ -56,11 +74,14 @@ public final class Locking {
   private final ConcurrentMap<Long, Locks> locked = new ConcurrentHashMap<>();
   /** Lock queue. */
   private final LockQueue queue;
+  /** Snapshots of updated databases. */
+  private final Snapshots snapshots = new Snapshots();
 
   /** Global lock: exclusive lock for global writes, shared lock otherwise. */
   private final ReentrantReadWriteLock globalLocks;
   /** Stores one lock for each lock string. */
-  private final Map<String, LocalReadWriteLock> localLocks = new HashMap<>();
+  private final ConcurrentHashMap<String, LocalReadWriteLock> localLocks =
+      new ConcurrentHashMap<>();
   /** Lock object for queuing local writes and global reads. */
   private final Object globalLock = new Object();
 
@@ -90,13 +111,23 @@ public final class Locking {
     job.addLocks();
 
     // prepare lock strings and acquire locks
-    final Locks locks = job.jc().locks;
+    final JobContext jc = job.jc();
+    final Locks locks = jc.locks;
     locks.finish(ctx);
+
+    // assign priority of the job or its user
+    JobPriority priority = jc.priority;
+    if(priority == null && ctx.user() != null) priority = ctx.user().priority();
+    if(priority != null) locks.priority = priority;
+
+    final boolean snapshot = ctx.soptions.get(StaticOptions.SNAPSHOTS);
+    if(snapshot) snapshots.assign(job, ctx);
     try {
       acquire(locks);
     } catch(final InterruptedException ex) {
       throw Util.notExpected("Thread was interrupted: %", ex);
     }
+    if(snapshot) snapshots.create(locks, ctx);
   }
 
   /**
@@ -114,21 +145,25 @@ public final class Locking {
     // queue job if the job limit has been reached
     final LockList reads = locks.reads, writes = locks.writes;
     final boolean write = writes.locking(), read = reads.locking(), lock = read || write;
-    queue.acquire(id, read, write);
+    queue.acquire(id, read, write, locks.priority);
 
     // apply exclusive lock (global write), or shared lock otherwise
     if(lock) (writes.global() ? globalLocks.writeLock() : globalLocks.readLock()).lock();
 
-    synchronized(globalLock) {
-      // local write locks: wait for completion of global readers
-      if(writes.local()) {
-        while(globalReaders > 0) globalLock.wait();
-        localWriters++;
-      }
-      // global read lock: wait for completion of local writers (excluding the current job)
-      if(reads.global()) {
-        while(localWriters > 1 || localWriters == 1 && !writes.local()) globalLock.wait();
-        globalReaders++;
+    // synchronize local writers and global readers
+    final boolean localWrite = writes.local(), globalRead = reads.global();
+    if(localWrite || globalRead) {
+      synchronized(globalLock) {
+        // local write locks: wait for completion of global readers
+        if(localWrite) {
+          while(globalReaders > 0) globalLock.wait();
+          localWriters++;
+        }
+        // global read lock: wait for completion of local writers (excluding the current job)
+        if(globalRead) {
+          while(localWriters > 1 || localWriters == 1 && !localWrite) globalLock.wait();
+          globalReaders++;
+        }
       }
     }
 
@@ -144,6 +179,24 @@ public final class Locking {
     }
   }
 
+  /**
+   * Acquires write locks on databases whose documents have been locked by the specified job
+   * (see {@link Locks#documents}). Must be called by the thread that holds the locks of the job
+   * before updates are applied. Deadlocks cannot occur, as the job only holds document locks.
+   * @param locks locks of the job
+   */
+  public void write(final Locks locks) {
+    final LockList documents = locks.documents;
+    if(!documents.local()) return;
+
+    for(final String db : documents) {
+      pin(db).writeLock().lock();
+      locks.writes.add(db);
+    }
+    locks.writes.finish(null);
+    documents.reset();
+  }
+
   /**
    * Removes locks for the specified job, all in reverse order.
    */
@@ -153,22 +206,19 @@ public final class Locking {
     final LockList reads = locks.reads, writes = locks.writes;
     final boolean lock = reads.locking() || writes.locking();
 
+    // deactivate created snapshots before write locks are released, unpin assigned snapshots
+    snapshots.release(locks);
+
     // release all local locks
     for(final String string : reads) unpin(string).readLock().unlock();
     for(final String string : writes) unpin(string).writeLock().unlock();
 
-    // allow next global reader to resume
-    synchronized(globalLock) {
-      if(reads.global()) {
-        globalReaders--;
-        globalLock.notifyAll();
-      }
-    }
-
-    // allow next local writer to resume
-    synchronized(globalLock) {
-      if(writes.local()) {
-        localWriters--;
+    // allow next global reader or local writer to resume
+    final boolean localWrite = writes.local(), globalRead = reads.global();
+    if(localWrite || globalRead) {
+      synchronized(globalLock) {
+        if(globalRead) globalReaders--;
+        if(localWrite) localWriters--;
         globalLock.notifyAll();
       }
     }
@@ -177,7 +227,7 @@ public final class Locking {
     if(lock) (writes.global() ? globalLocks.writeLock() : globalLocks.readLock()).unlock();
 
     // allow next queued job to resume
-    queue.release();
+    queue.release(locks.priority);
   }
 
   /**
@@ -186,12 +236,11 @@ public final class Locking {
    * @return lock
    */
   private LocalReadWriteLock pin(final String string) {
-    synchronized(localLocks) {
-      final LocalReadWriteLock lock = localLocks.computeIfAbsent(string,
-          k -> new LocalReadWriteLock(fair));
-      lock.pin();
-      return lock;
-    }
+    return localLocks.compute(string, (key, lock) -> {
+      final LocalReadWriteLock lck = lock != null ? lock : new LocalReadWriteLock(fair);
+      lck.pin();
+      return lck;
+    });
   }
 
   /**
@@ -200,11 +249,22 @@ public final class Locking {
    * @return lock
    */
   private LocalReadWriteLock unpin(final String string) {
-    synchronized(localLocks) {
-      final LocalReadWriteLock lock = localLocks.get(string);
-      if(lock.unpin()) localLocks.remove(string);
-      return lock;
-    }
+    final LocalReadWriteLock[] unpinned = { null };
+    localLocks.computeIfPresent(string, (key, lock) -> {
+      unpinned[0] = lock;
+      return lock.unpin() ? null : lock;
+    });
+    return unpinned[0];
+  }
+
+  /**
+   * Returns a document lock key.
+   * @param db name of database
+   * @param path path to the document
+   * @return lock key
+   */
+  public static String document(final String db, final String path) {
+    return DOCUMENT_PREFIX + db + '/' + path;
   }
 
   /**
@@ -227,11 +287,10 @@ public final class Locking {
     final StringBuilder sb = new StringBuilder(NL).append("Locking").append(NL);
     final String in = "| ";
     sb.append(in).append(queue).append(NL);
+    sb.append(in).append(snapshots).append(NL);
     sb.append(in).append("Held locks by object:").append(NL);
-    synchronized(localLocks) {
-      localLocks.forEach((key, value) ->
-        sb.append(in).append(in).append(key).append(" -> ").append(value).append(NL));
-    }
+    localLocks.forEach((key, value) ->
+      sb.append(in).append(in).append(key).append(" -> ").append(value).append(NL));
     sb.append(in).append("Held locks by job:").append(NL);
     locked.forEach((key, value) ->
       sb.append(in).append(in).append(key).append(" -> ").append(value).append(NL));
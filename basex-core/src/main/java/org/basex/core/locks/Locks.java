@@ -1,6 +1,9 @@
 package org.basex.core.locks;
 
+import java.util.*;
+
 import org.basex.core.*;
+import org.basex.core.jobs.*;
 import org.basex.data.*;
 
 /**
@@ -14,6 +17,15 @@ public final class Locks {
   public final LockList reads = new LockList();
   /** Write locks. */
   public final LockList writes = new LockList();
+  /**
+   * Databases whose documents are locked instead of the databases. Write locks on these databases
+   * will be acquired before updates are applied (see {@link Locking#write(Locks)}).
+   */
+  public final LockList documents = new LockList();
+  /** Priority of the job (assigned before the locks are acquired). */
+  public JobPriority priority = JobPriority.INTERACTIVE;
+  /** Snapshots that have been created or pinned by the job, indexed by database names. */
+  final HashMap<String, Snapshot> snapshots = new HashMap<>();
 
   /**
    * Finalizes locks. Replaces context references with current database, sorts entries,
@@ -21,21 +33,49 @@ public final class Locks {
    * @param ctx database context
    */
   public void finish(final Context ctx) {
-    // global write lock: no read locks required
-    if(writes.global()) reads.reset();
+    // global write lock: no read or document locks required
+    if(writes.global()) {
+      reads.reset();
+      documents.reset();
+    }
 
     // resolve context references, sort, remove duplicates
     final Data data = ctx.data();
     final String name = data == null ? null : data.meta.name;
     writes.finish(name);
     reads.finish(name);
+    documents.finish(name);
+
+    // document locks: lock databases if other locks exist (prevents deadlocks)
+    if(documents.local()) {
+      boolean other = reads.locking();
+      for(final String lock : writes) other |= !lock.startsWith(Locking.DOCUMENT_PREFIX);
+      if(other) {
+        // drop document locks: otherwise, they would be acquired after database names that are
+        // sorted before the prefix, whereas jobs with document locks acquire them first
+        writes.removePrefix(Locking.DOCUMENT_PREFIX);
+        writes.add(documents);
+        writes.finish(name);
+        documents.reset();
+      }
+    }
 
     // remove read locks that are also defined as write locks
     reads.remove(writes);
   }
 
+  /**
+   * Returns the snapshot of a database that is read by the job.
+   * @param name name of the database
+   * @return snapshot, or {@code null} if the database is not read from a snapshot
+   */
+  public Snapshot snapshot(final String name) {
+    return writes.contains(name) ? null : snapshots.get(name);
+  }
+
   @Override
   public String toString() {
-    return "Reads: " + reads + ", Writes: " + writes;
+    return "Reads: " + reads + ", Writes: " + writes +
+        (documents.local() ? ", Documents: " + documents : "");
   }
 }
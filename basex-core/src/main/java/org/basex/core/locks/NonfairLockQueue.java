@@ -2,6 +2,8 @@ package org.basex.core.locks;
 
 import java.util.*;
 
+import org.basex.core.jobs.*;
+
 /**
  * Lock queue for non-fair locking.
  *
@@ -10,9 +12,9 @@ import java.util.*;
  */
 public final class NonfairLockQueue extends LockQueue {
   /** Queued readers. */
-  private final Queue<Long> readers = new LinkedList<>();
+  private final List<Entry> readers = new LinkedList<>();
   /** Queued writers. */
-  private final Queue<Long> writers = new LinkedList<>();
+  private final List<Entry> writers = new LinkedList<>();
 
   /**
    * Constructor.
@@ -23,24 +25,33 @@ public final class NonfairLockQueue extends LockQueue {
   }
 
   @Override
-  public synchronized void acquire(final Long id, final boolean read, final boolean write)
-      throws InterruptedException {
+  public void acquire(final Long id, final boolean read, final boolean write,
+      final JobPriority priority) throws InterruptedException {
 
     // only wait if job is locking
-    if(jobs >= parallel && (read || write)) {
-      // add job id to queue and wait
-      final Queue<Long> queue = write ? writers : readers;
-      queue.add(id);
-
-      // loop until job is placed first (prefer readers)
-      do {
-        wait();
-      } while(jobs >= parallel || write && !readers.isEmpty() || !id.equals(queue.peek()));
-
-      // remove job from queue
-      queue.remove(id);
+    if(read || write) {
+      super.acquire(id, read, write, priority);
+    } else {
+      jobs.incrementAndGet();
+      started(priority);
+    }
+  }
+
+  @Override
+  protected void queue(final Entry entry) throws InterruptedException {
+    // add job to queue and wait
+    final boolean write = entry.write;
+    final List<Entry> queue = write ? writers : readers;
+    queue.add(entry);
+
+    // loop until job is placed first (prefer readers that can be started,
+    // wake up regularly for aging)
+    while(write && first(readers) != null || entry != first(queue) || !tryAcquire(entry)) {
+      wait(AGING);
     }
-    jobs++;
+
+    // remove job from queue
+    queue.remove(entry);
   }
 
   @Override
@@ -0,0 +1,65 @@
+package org.basex.core.locks;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.data.*;
+import org.basex.io.*;
+
+/**
+ * Read-only copy of a database that is currently updated.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class Snapshot {
+  /** Name of the database. */
+  final String name;
+  /** Directory of the copy. */
+  final IOFile dir;
+  /** Lock string. */
+  final String lock;
+  /** Number of jobs that reference the snapshot. */
+  int pins = 1;
+  /** Indicates if the snapshot has been accessed by a read-only job. */
+  boolean read;
+
+  /** Data reference (lazy instantiation). */
+  private Data data;
+
+  /**
+   * Constructor.
+   * @param name name of the database
+   * @param dir directory of the copy
+   */
+  Snapshot(final String name, final IOFile dir) {
+    this.name = name;
+    this.dir = dir;
+    lock = Locking.SNAPSHOT_PREFIX + dir.name();
+  }
+
+  /**
+   * Returns the data reference of the snapshot.
+   * The reference must not be registered in the global database context.
+   * @param options main options
+   * @return data reference
+   * @throws IOException I/O exception
+   */
+  public synchronized Data data(final MainOptions options) throws IOException {
+    if(data == null) data = new DiskData(new MetaData(name, dir, options));
+    return data;
+  }
+
+  /**
+   * Closes the data reference and deletes the copy.
+   */
+  synchronized void close() {
+    if(data != null) data.close();
+    dir.delete();
+  }
+
+  @Override
+  public String toString() {
+    return name + " (" + dir + ')';
+  }
+}
@@ -0,0 +1,165 @@
+package org.basex.core.locks;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.core.jobs.*;
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * Snapshots of databases that are currently updated.
+ *
+ * If {@link StaticOptions#SNAPSHOTS} is enabled, a copy of a database can be created before a
+ * job with a local write lock on this database is started. Read-only queries that are started
+ * while the writing job is running will access the copy instead of waiting for the write lock.
+ * A copy will be deleted as soon as the writing job and all reading jobs have been completed.
+ *
+ * As all files of a database are copied while the write lock is held, a copy is only created if
+ * it is in demand: if a read-only query had to wait for the previous writer of the database,
+ * or if the snapshot of the previous writer has been accessed. Without concurrent readers,
+ * updates will not be slowed down, and the first reader of a database that is being updated
+ * will wait for the writer.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class Snapshots {
+  /** Name of the directory in which the copies are stored. */
+  private static final String DIR = ".snapshots";
+  /** Active snapshots, indexed by database names. */
+  private final HashMap<String, Snapshot> active = new HashMap<>();
+  /** Databases that are currently updated, and the locks of the writing jobs. */
+  private final HashMap<String, Locks> writing = new HashMap<>();
+  /** Databases for which a snapshot will be created by the next writer. */
+  private final HashSet<String> demand = new HashSet<>();
+
+  /**
+   * Assigns active snapshots to a read-only job.
+   * Read locks on the affected databases will be replaced with the locks of the snapshots.
+   * If a database is updated, and if no snapshot exists, a snapshot will be requested
+   * for the next writer.
+   * @param job job
+   * @param ctx database context
+   */
+  synchronized void assign(final Job job, final Context ctx) {
+    final Locks locks = job.jc().locks;
+    final LockList reads = locks.reads;
+    if(active.isEmpty() && writing.isEmpty() || locks.writes.locking() || !reads.local() ||
+        !job.snapshots()) return;
+
+    // skip database that is opened in the current context
+    final Data data = ctx.data();
+    final StringList dbs = new StringList();
+    for(final String db : reads) {
+      if(data != null && data.meta.name.equals(db)) continue;
+      if(active.containsKey(db)) dbs.add(db);
+      else if(writing.containsKey(db)) demand.add(db);
+    }
+    for(final String db : dbs) {
+      final Snapshot snapshot = active.get(db);
+      snapshot.pins++;
+      snapshot.read = true;
+      locks.snapshots.put(db, snapshot);
+      reads.replace(db, snapshot.lock);
+    }
+  }
+
+  /**
+   * Creates snapshots of all databases that will be updated by a job and that are in demand.
+   * Must be called after the write locks have been acquired.
+   * @param locks locks of the job
+   * @param ctx database context
+   */
+  void create(final Locks locks, final Context ctx) {
+    final StaticOptions sopts = ctx.soptions;
+    for(final String db : locks.writes) {
+      if(!Databases.validName(db) || !sopts.dbExists(db)) continue;
+      synchronized(this) {
+        writing.put(db, locks);
+        if(!demand.remove(db)) continue;
+      }
+
+      // write buffered changes of opened instance to disk
+      final Data data;
+      synchronized(ctx.datas) { data = ctx.datas.pin(db); }
+      if(data != null) {
+        data.flush(true);
+        Close.close(data, ctx);
+      }
+
+      final IOFile src = sopts.dbPath(db);
+      if(MetaData.file(src, DataText.DATAUPD).exists()) continue;
+      final IOFile trg = directory(db, sopts);
+      try {
+        for(final String file : src.descendants()) {
+          new IOFile(src, file).copyTo(new IOFile(trg, file));
+        }
+      } catch(final IOException ex) {
+        // database will be locked for readers
+        Util.debug(ex);
+        trg.delete();
+        continue;
+      }
+
+      final Snapshot snapshot = new Snapshot(db, trg);
+      synchronized(this) { active.put(db, snapshot); }
+      locks.snapshots.put(db, snapshot);
+    }
+  }
+
+  /**
+   * Releases the snapshots of a job. Snapshots created by the job will be deactivated.
+   * The copy of a database will be deleted if it is not referenced anymore.
+   * @param locks locks of the job
+   */
+  void release(final Locks locks) {
+    if(locks.snapshots.isEmpty() && !locks.writes.local()) return;
+
+    final ArrayList<Snapshot> closed = new ArrayList<>();
+    synchronized(this) {
+      if(!writing.isEmpty()) {
+        for(final String db : locks.writes) writing.remove(db, locks);
+      }
+      locks.snapshots.forEach((db, snapshot) -> {
+        if(active.get(db) == snapshot && locks.writes.contains(db)) {
+          active.remove(db);
+          // snapshot has been accessed: create snapshot for next writer
+          if(snapshot.read) demand.add(db);
+        }
+        if(--snapshot.pins == 0) closed.add(snapshot);
+      });
+    }
+    locks.snapshots.clear();
+    for(final Snapshot snapshot : closed) snapshot.close();
+  }
+
+  /**
+   * Creates and returns a new directory for the copy of a database.
+   * @param db name of the database
+   * @param sopts static options
+   * @return directory
+   */
+  private static IOFile directory(final String db, final StaticOptions sopts) {
+    final IOFile root = sopts.dbPath(DIR);
+    synchronized(Snapshots.class) {
+      int c = 0;
+      do {
+        final IOFile dir = new IOFile(root, db + '.' + c++);
+        if(!dir.exists()) {
+          dir.md();
+          return dir;
+        }
+      } while(true);
+    }
+  }
+
+  @Override
+  public synchronized String toString() {
+    return "Snapshots: " + active.values() + ", Requested: " + demand;
+  }
+}
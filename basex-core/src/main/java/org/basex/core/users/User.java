@@ -10,6 +10,7 @@ import java.util.*;
 import java.util.Map.Entry;
 
 import org.basex.core.*;
+import org.basex.core.jobs.*;
 import org.basex.query.*;
 import org.basex.query.value.node.*;
 import org.basex.util.*;
@@ -266,6 +267,29 @@ public final class User {
     info = elem.hasChildren() || elem.attributeIter().size() != 0 ? elem : null;
   }
 
+  /**
+   * Returns the priority of the jobs of this user, which can be assigned via the
+   * {@code priority} attribute of the info element.
+   * @return priority (can be {@code null})
+   */
+  public JobPriority priority() {
+    final ANode node = info;
+    final byte[] priority = node != null ? node.attribute(PRIORITY) : null;
+    return priority != null ? JobPriority.get(string(priority)) : null;
+  }
+
+  /**
+   * Returns a resource limit for the jobs of this user, which can be assigned via an attribute
+   * of the info element ({@code cpu}, {@code allocated}, {@code pages}, {@code output}).
+   * @param name name of the attribute
+   * @return limit, or {@code -1} if no limit has been assigned
+   */
+  public long limit(final byte[] name) {
+    final ANode node = info;
+    final byte[] limit = node != null ? node.attribute(name) : null;
+    return limit != null ? Math.max(-1, toLong(limit)) : -1;
+  }
+
   /**
    * Returns the digest hash value.
    * @param name user name
@@ -32,4 +32,6 @@ public interface UserText {
   byte[] PERMISSION = token("permission");
   /** Info. */
   byte[] INFO = token("info");
+  /** Priority. */
+  byte[] PRIORITY = token("priority");
 }
@@ -114,6 +114,8 @@ public interface DataText {
   String DATAPTH = "pth";
   /** Database - ID-PRE mapping. */
   String DATAIDP = "idp";
+  /** Database - Write-ahead journal. */
+  String DATAWAL = "wal";
 
   // XML SERIALIZATION ============================================================================
 
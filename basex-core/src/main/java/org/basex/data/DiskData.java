@@ -64,6 +64,7 @@ public final class DiskData extends Data {
    */
   public DiskData(final MetaData meta) throws IOException {
     super(meta);
+    Journal.recover(meta);
 
     try(DataInput in = new DataInput(meta.dbFile(DATAINF))) {
       meta.read(in);
@@ -122,9 +123,10 @@ public final class DiskData extends Data {
    * @throws IOException I/O exception
    */
   private void init() throws IOException {
+    meta.journal = new Journal(meta);
     table = new TableDiskAccess(meta, false);
-    texts = new DataAccess(meta.dbFile(DATATXT));
-    values = new DataAccess(meta.dbFile(DATAATV));
+    texts = new DataAccess(meta.dbFile(DATATXT), meta.journal);
+    values = new DataAccess(meta.dbFile(DATAATV), meta.journal);
   }
 
   /**
@@ -134,7 +136,7 @@ public final class DiskData extends Data {
   private void write() throws IOException {
     if(!meta.dirty) return;
 
-    try(DataOutput out = new DataOutput(meta.dbFile(DATAINF))) {
+    Journal.write(meta.dbFile(DATAINF), meta.journal, out -> {
       meta.write(out);
       out.writeToken(token(DBTAGS));
       elemNames.write(out);
@@ -147,8 +149,8 @@ public final class DiskData extends Data {
       out.writeToken(token(DBDOCS));
       resources.write(out);
       out.write(0);
-    }
-    if(meta.updindex) idmap.write(meta.dbFile(DATAIDP));
+    });
+    if(meta.updindex) Journal.write(meta.dbFile(DATAIDP), meta.journal, idmap::write);
     meta.dirty = false;
   }
 
@@ -158,6 +160,7 @@ public final class DiskData extends Data {
     super.close();
     try {
       write();
+      meta.journal.close();
       table.close();
       texts.close();
       values.close();
@@ -185,6 +188,8 @@ public final class DiskData extends Data {
 
   @Override
   public void createIndex(final IndexType type, final Command cmd) throws IOException {
+    // index structures are written directly to disk: stop journaling
+    meta.journal.stop();
     // close existing index
     close(type);
     final IndexBuilder ib;
@@ -203,6 +208,11 @@ public final class DiskData extends Data {
 
   @Override
   public void dropIndex(final IndexType type) throws BaseXException {
+    try {
+      meta.journal.stop();
+    } catch(final IOException ex) {
+      throw new BaseXException(ex);
+    }
     close(type);
     final Index index = index(type);
     if(index != null && !index.drop()) throw new BaseXException(INDEX_NOT_DROPPED_X, type);
@@ -227,10 +237,21 @@ public final class DiskData extends Data {
   @Override
   public void startUpdate(final MainOptions opts) throws BaseXException {
     if(!table.lock(true)) throw new BaseXException(DB_PINNED_X, meta.name);
-    if(opts.get(MainOptions.AUTOFLUSH)) {
-      final IOFile upd = meta.updateFile();
-      if(upd.exists()) throw new BaseXException(DB_UPDATED_X, meta.name);
-      if(!upd.touch()) throw Util.notExpected("%: could not create lock file.", meta.name);
+    final boolean auto = opts.get(MainOptions.AUTOFLUSH);
+    final IOFile upd = meta.updateFile();
+    if(auto && upd.exists()) throw new BaseXException(DB_UPDATED_X, meta.name);
+    try {
+      if(auto && opts.get(MainOptions.WAL)) {
+        meta.journal.start();
+      } else {
+        // files will be updated in place: write journaled changes to disk
+        meta.journal.checkpoint();
+        if(auto && !upd.touch()) {
+          throw Util.notExpected("%: could not create lock file.", meta.name);
+        }
+      }
+    } catch(final IOException ex) {
+      throw new BaseXException(ex);
     }
   }
 
@@ -239,15 +260,36 @@ public final class DiskData extends Data {
     // OPTIMIZE ALL / db:optimize(..., true) will close the database before this function is called
     if(closed) return;
 
-    // remove updating file
-    final boolean auto = opts.get(MainOptions.AUTOFLUSH);
-    if(auto) {
-      final IOFile upd = meta.updateFile();
-      if(!upd.exists()) throw Util.notExpected("%: lock file does not exist.", meta.name);
-      if(!upd.delete()) throw Util.notExpected("%: could not delete lock file.", meta.name);
+    // update timestamp (updates of binary resources are not tracked by the meta data)
+    meta.time = System.currentTimeMillis();
+    meta.dirty = true;
+    MetaData.updated(meta.name);
+
+    if(meta.journal.active()) {
+      // write changes to the journal and commit them
+      flush(true);
+      try {
+        meta.journal.commit();
+      } catch(final IOException ex) {
+        // changes could not be committed: write them to the database files and create the
+        // update file, which indicates that the database may be corrupt
+        Util.stack(ex);
+        try {
+          meta.journal.stop();
+        } catch(final IOException e) {
+          Util.stack(e);
+        }
+      }
+    } else {
+      // remove updating file
+      final boolean auto = opts.get(MainOptions.AUTOFLUSH);
+      if(auto) {
+        final IOFile upd = meta.updateFile();
+        if(!upd.exists()) throw Util.notExpected("%: lock file does not exist.", meta.name);
+        if(!upd.delete()) throw Util.notExpected("%: could not delete lock file.", meta.name);
+      }
+      flush(auto);
     }
-
-    flush(auto);
     if(!table.lock(false)) throw Util.notExpected("Database '%': could not unlock.", meta.name);
   }
 
@@ -5,6 +5,9 @@ import static org.basex.data.DataText.*;
 import static org.basex.util.Strings.*;
 
 import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
 
 import org.basex.build.*;
 import org.basex.core.*;
@@ -13,6 +16,7 @@ import org.basex.index.*;
 import org.basex.io.*;
 import org.basex.io.in.DataInput;
 import org.basex.io.out.DataOutput;
+import org.basex.io.random.*;
 import org.basex.util.*;
 import org.basex.util.ft.*;
 import org.basex.util.list.*;
@@ -24,8 +28,15 @@ import org.basex.util.list.*;
  * @author Christian Gruen
  */
 public final class MetaData {
+  /** Counter for the updates of databases in this process. */
+  private static final AtomicLong UPDATES = new AtomicLong();
+  /** Counter values of the latest updates, indexed by database names. */
+  private static final ConcurrentHashMap<String, Long> UPDATED = new ConcurrentHashMap<>();
+
   /** Database directory. Set to {@code null} if database is in main memory. */
   public final IOFile dir;
+  /** Journal of updates. Set to {@code null} if database is in main memory. */
+  public Journal journal;
 
   /** Database name. */
   public String name;
@@ -128,7 +139,7 @@ public final class MetaData {
    * @param dir database directory ({@code null} if database is in main memory)
    * @param options database options
    */
-  private MetaData(final String name, final IOFile dir, final MainOptions options) {
+  public MetaData(final String name, final IOFile dir, final MainOptions options) {
     this.name = name;
     this.dir = dir;
     createtext = options.get(MainOptions.TEXTINDEX);
@@ -437,6 +448,7 @@ public final class MetaData {
    * @throws IOException I/O Exception
    */
   void write(final DataOutput out) throws IOException {
+    if(dir != null) updated(name);
     writeInfo(out, DBSTR,      STORAGE);
     writeInfo(out, DBFNAME,    original);
     writeInfo(out, DBTIME,     time);
@@ -477,6 +489,7 @@ public final class MetaData {
   public void update() {
     // update database timestamp
     time = System.currentTimeMillis();
+    if(dir != null) updated(name);
     uptodate = false;
     dirty = true;
     if(!updindex) {
@@ -498,8 +511,37 @@ public final class MetaData {
     time = source != null ? source.timeStamp() : System.currentTimeMillis();
   }
 
+  /**
+   * Registers an update of the specified database in this process.
+   * @param db name of the database
+   */
+  public static void updated(final String db) {
+    UPDATED.put(key(db), UPDATES.incrementAndGet());
+  }
+
+  /**
+   * Returns the update counter of the specified database. In contrast to the timestamp, the
+   * counter changes with each update in this process, even if it takes place within the same
+   * millisecond.
+   * @param db name of the database
+   * @return counter ({@code 0} if the database has not been updated in this process)
+   */
+  public static long updates(final String db) {
+    final Long updates = UPDATED.get(key(db));
+    return updates != null ? updates : 0;
+  }
+
   // PRIVATE METHODS ==============================================================================
 
+  /**
+   * Returns the key for the update counter of a database.
+   * @param db name of the database
+   * @return key
+   */
+  private static String key(final String db) {
+    return Prop.CASE ? db : db.toLowerCase(Locale.ENGLISH);
+  }
+
   /**
    * Writes a boolean option to the specified output.
    * @param out output stream
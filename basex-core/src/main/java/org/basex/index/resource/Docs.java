@@ -8,6 +8,7 @@ import java.io.*;
 import org.basex.data.*;
 import org.basex.io.in.DataInput;
 import org.basex.io.out.DataOutput;
+import org.basex.io.random.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
 import org.basex.util.list.*;
@@ -25,6 +26,9 @@ import org.basex.util.list.*;
  * @author Lukas Kircher
  */
 final class Docs {
+  /** Smallest suffix that sorts after all paths of a directory. */
+  private static final byte[] DIREND = { '/' + 1 };
+
   /** Data reference. */
   private final Data data;
   /** Pre values of document nodes (may be {@code null}).
@@ -70,10 +74,10 @@ final class Docs {
       // retrieve paths (must be called before file is opened for writing!)
       final TokenList paths = paths();
       // write paths
-      try(DataOutput doc = new DataOutput(data.meta.dbFile(DATAPTH))) {
+      Journal.write(data.meta.dbFile(DATAPTH), data.meta.journal, doc -> {
         doc.writeNum(paths.size());
         for(final byte[] path : paths) doc.writeToken(path);
-      }
+      });
       dirty = false;
     }
   }
@@ -227,30 +231,32 @@ final class Docs {
     final IntList docs = docs();
     if(desc && pth.isEmpty()) return docs;
 
-    // normalize paths
-    byte[] exact = EMPTY, prefix = normalize(token(pth));
-    // check for explicit directory indicator
+    final TokenList paths = paths();
+    final int[] order = order();
+    final int ps = order.length;
+    final IntList il = new IntList();
+
+    // exact hits (multiple documents may have the same path); sorted paths are found via binary
+    // search, and contiguous ranges of paths with the same prefix are added to the result
+    byte[] prefix = normalize(token(pth));
     if(!(pth.isEmpty() || Strings.endsWith(pth, '/'))) {
-      exact = prefix;
-      prefix = concat(exact, SLASH);
+      for(int o = lower(prefix); o < ps && eq(paths.get(order[o]), prefix); o++) {
+        il.add(docs.get(order[o]));
+      }
+      prefix = concat(prefix, SLASH);
     }
 
-    // relevant paths: exact hits and prefixes
-    final TokenSet set = new TokenSet();
-    final IntList il = new IntList();
-    final TokenList paths = paths();
-    final int ps = paths.size();
-    for(int p = 0; p < ps; p++) {
-      final byte[] pt = paths.get(p);
-      boolean add = eq(pt, exact);
-      if(!add) {
-        add = startsWith(pt, prefix);
-        if(add && !desc) {
-          final int i = indexOf(pt, SLASH, prefix.length + 1);
-          if(i != -1) add = set.add(substring(pt, prefix.length, i));
-        }
+    // paths with the given prefix
+    for(int o = lower(prefix); o < ps;) {
+      final byte[] pt = paths.get(order[o]);
+      if(!startsWith(pt, prefix)) break;
+      il.add(docs.get(order[o]));
+      o++;
+      if(!desc) {
+        // only return first document of a sub directory, skip remaining ones
+        final int i = indexOf(pt, SLASH, prefix.length + 1);
+        if(i != -1) o = lower(concat(substring(pt, 0, i), DIREND));
       }
-      if(add) il.add(docs.get(p));
     }
     return il.sort();
   }
@@ -321,13 +327,32 @@ final class Docs {
     while(l <= h) {
       final int m = l + h >>> 1;
       final int c = diff(paths.get(order[m]), path);
-      if(c == 0) return docs().get(m);
+      if(c == 0) return docs().get(order[m]);
       if(c < 0) l = m + 1;
       else h = m - 1;
     }
     return -1;
   }
 
+  /**
+   * Returns the offset to the first sorted path that is equal to or greater than the
+   * specified path.
+   * @param path path
+   * @return offset into the path order (may be the number of paths)
+   */
+  private int lower(final byte[] path) {
+    // binary search
+    final TokenList paths = paths();
+    final int[] order = order();
+    int l = 0, h = order.length;
+    while(l < h) {
+      final int m = l + h >>> 1;
+      if(diff(paths.get(order[m]), path) < 0) l = m + 1;
+      else h = m;
+    }
+    return l;
+  }
+
   /**
    * Returns the normalized index path representation for the specified path.
    * The returned path begins with a slash and uses lower case on non-Unix machines.
@@ -65,6 +65,11 @@ public final class NewlineInput extends TextInput {
     return '\n';
   }
 
+  @Override
+  int copy(final TokenBuilder tb, final boolean[] delims) {
+    return next == -2 ? super.copy(tb, delims) : 0;
+  }
+
   /**
    * Reads and returns a single line.
    * @return line or {@code null}
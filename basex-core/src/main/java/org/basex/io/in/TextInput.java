@@ -136,6 +136,47 @@ public class TextInput extends BufferInput {
     return cp;
   }
 
+  /**
+   * Copies a run of characters from the current buffer to the specified token builder.
+   * This is a fast path for UTF-8 input, which skips the decoder: ASCII sequences are copied
+   * in bulk, and multi-byte sequences are decoded in place. Scanning stops at the specified
+   * delimiters, at control characters (which may need to be normalized or validated), at
+   * invalid or incomplete byte sequences, and at the end of the buffer. The remaining input
+   * must then be processed via {@link #read()}.
+   * @param tb token builder
+   * @param delims ASCII delimiters (characters flagged with {@code true} will not be copied)
+   * @return number of consumed bytes
+   */
+  int copy(final TokenBuilder tb, final boolean[] delims) {
+    if(decoder.encoding != UTF8) return 0;
+
+    final byte[] buf = array;
+    final int bs = bsize, start = bpos;
+    int p = start, s = p;
+    while(p < bs) {
+      final byte b = buf[p];
+      if(b >= 0) {
+        if(delims[b] || b < 0x20 && b != '\t') break;
+        p++;
+      } else {
+        final int cl = Token.cl(b);
+        if(cl == 1 || p + cl > bs) break;
+        int c = 0;
+        while(++c < cl && (buf[p + c] & 0xC0) == 0x80);
+        if(c < cl) break;
+        final int cp = Token.cp(buf, p);
+        if(!XMLToken.valid(cp)) break;
+        // flush pending ASCII characters, add normalized codepoint
+        tb.add(buf, s, p).add(cp);
+        p += cl;
+        s = p;
+      }
+    }
+    tb.add(buf, s, p);
+    bpos = p;
+    return p - start;
+  }
+
   @Override
   public final byte[] content() throws IOException {
     return cache().finish();
@@ -72,6 +72,28 @@ public class XMLInput extends InputStream {
     return ch;
   }
 
+  /**
+   * Copies a run of characters to the specified token builder (see
+   * {@link TextInput#copy(TokenBuilder, boolean[])}). Nothing will be copied if characters
+   * have been pushed back via {@link #prev(int)}.
+   * @param tb token builder
+   * @param delims ASCII delimiters (characters flagged with {@code true} will not be copied)
+   */
+  public void copy(final TokenBuilder tb, final boolean[] delims) {
+    if(pp != 0) return;
+    final int s = tb.size();
+    if(inputs[ip].copy(tb, delims) == 0) return;
+
+    // remember most recent characters (at most 4 bytes per character)
+    final int e = tb.size();
+    int p = Math.max(s, e - (last.length << 2));
+    while(p < e && (tb.get(p) & 0xC0) == 0x80) p++;
+    for(; p < e; p += tb.cl(p)) {
+      last[lp++] = tb.cp(p);
+      lp &= 0x0F;
+    }
+  }
+
   /**
    * Inserts some bytes in the input stream.
    * @param value values to insert
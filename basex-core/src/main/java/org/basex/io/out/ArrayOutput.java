@@ -35,6 +35,21 @@ public final class ArrayOutput extends PrintOutput {
     size = s + 1;
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) {
+    final int s = (int) size;
+    if(s + len > max) {
+      for(int l = 0; l < len; l++) write(b[off + l]);
+      return;
+    }
+
+    byte[] bffr = buffer;
+    if(s + len > bffr.length) bffr = Arrays.copyOf(bffr, Math.max(Array.newCapacity(s), s + len));
+    System.arraycopy(b, off, bffr, s, len);
+    buffer = bffr;
+    size = s + len;
+  }
+
   /**
    * Returns the output as byte array.
    * @return byte array
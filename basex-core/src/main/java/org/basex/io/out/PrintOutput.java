@@ -63,6 +63,16 @@ public class PrintOutput extends OutputStream {
     if(size++ < max) os.write(b);
   }
 
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    if(size + len <= max) {
+      os.write(b, off, len);
+      size += len;
+    } else {
+      for(int l = 0; l < len; l++) write(b[off + l]);
+    }
+  }
+
   /**
    * Prints a single codepoint.
    * @param cp codepoint to be printed
@@ -92,8 +102,8 @@ public class PrintOutput extends OutputStream {
    * @throws IOException I/O exception
    */
   public void print(final byte[] token) throws IOException {
-    final int tl = token.length;
-    for(int t = 0; t < tl; t += cl(token, t)) print(cp(token, t));
+    // tokens are UTF8-encoded: write them in one go
+    write(token, 0, token.length);
   }
 
   /**
@@ -0,0 +1,157 @@
+package org.basex.io.out;
+
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+/**
+ * Output stream filter for writing files in the TAR file format.
+ * Names with more than 100 bytes are written as GNU long name blocks.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class TarOutputStream extends FilterOutputStream {
+  /** Block size. */
+  private static final int BLOCK = 512;
+  /** GNU tar entry with a long name. */
+  private static final byte[] LONGNAME = token("././@LongLink");
+
+  /** Number of bytes of the current entry that remain to be written. */
+  private long remain;
+  /** Number of bytes that have been written for the current entry. */
+  private long written;
+
+  /**
+   * Constructor.
+   * @param os output stream
+   */
+  public TarOutputStream(final OutputStream os) {
+    super(os);
+  }
+
+  /**
+   * Starts a new file entry.
+   * @param name name of the entry
+   * @param size size of the entry
+   * @param time modification time (milliseconds since the epoch)
+   * @throws IOException I/O exception
+   */
+  public void putNextEntry(final String name, final long size, final long time)
+      throws IOException {
+
+    closeEntry();
+    final byte[] nm = token(name);
+    if(nm.length > 100) {
+      // GNU long name: write name, terminated by a zero byte, as separate entry
+      header(LONGNAME, nm.length + 1, 0, (byte) 'L');
+      out.write(nm);
+      out.write(0);
+      pad(nm.length + 1);
+    }
+    header(nm, size, time, (byte) '0');
+    remain = size;
+    written = 0;
+  }
+
+  /**
+   * Closes the current entry.
+   * @throws IOException I/O exception
+   */
+  public void closeEntry() throws IOException {
+    if(remain != 0) throw new IOException("TAR entry: " + remain + " bytes missing.");
+    pad(written);
+    written = 0;
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    check(1);
+    out.write(b);
+  }
+
+  @Override
+  public void write(final byte[] b, final int off, final int len) throws IOException {
+    check(len);
+    out.write(b, off, len);
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      closeEntry();
+      // end of archive: two empty blocks
+      out.write(new byte[BLOCK << 1]);
+    } finally {
+      super.close();
+    }
+  }
+
+  /**
+   * Checks if the specified number of bytes can be written to the current entry.
+   * @param len number of bytes
+   * @throws IOException I/O exception
+   */
+  private void check(final int len) throws IOException {
+    if(len > remain) throw new IOException("TAR entry: size exceeded.");
+    remain -= len;
+    written += len;
+  }
+
+  /**
+   * Writes a header block.
+   * @param name name (will be truncated to 100 bytes)
+   * @param size size of the entry
+   * @param time modification time (milliseconds since the epoch)
+   * @param type entry type
+   * @throws IOException I/O exception
+   */
+  private void header(final byte[] name, final long size, final long time, final byte type)
+      throws IOException {
+
+    final byte[] header = new byte[BLOCK];
+    System.arraycopy(name, 0, header, 0, Math.min(name.length, 100));
+    octal(header, 100, 8, 0644);
+    octal(header, 108, 8, 0);
+    octal(header, 116, 8, 0);
+    octal(header, 124, 12, size);
+    octal(header, 136, 12, time / 1000);
+    header[156] = type;
+    System.arraycopy(token("ustar"), 0, header, 257, 5);
+    header[263] = '0';
+    header[264] = '0';
+
+    // checksum: computed with spaces in the checksum field
+    for(int h = 148; h < 156; h++) header[h] = ' ';
+    long sum = 0;
+    for(final byte b : header) sum += b & 0xFF;
+    octal(header, 148, 7, sum);
+    out.write(header);
+  }
+
+  /**
+   * Writes an octal number, terminated by a zero byte.
+   * @param header header
+   * @param off offset
+   * @param len length of the field
+   * @param value value
+   */
+  private static void octal(final byte[] header, final int off, final int len, final long value) {
+    long v = value;
+    for(int i = off + len - 2; i >= off; i--) {
+      header[i] = (byte) ('0' + (v & 7));
+      v >>>= 3;
+    }
+    header[off + len - 1] = 0;
+  }
+
+  /**
+   * Pads the last block of an entry with zero bytes.
+   * @param size size of the entry
+   * @throws IOException I/O exception
+   */
+  private void pad(final long size) throws IOException {
+    final int rest = (int) (size % BLOCK);
+    if(rest != 0) out.write(new byte[BLOCK - rest]);
+  }
+}
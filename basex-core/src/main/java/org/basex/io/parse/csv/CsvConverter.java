@@ -39,7 +39,7 @@ public abstract class CsvConverter extends Job {
   /** CSV options. */
   private final CsvParserOptions copts;
   /** Current input. */
-  protected NewlineInput nli;
+  protected BufferInput input;
 
   /**
    * Constructor.
@@ -53,16 +53,27 @@ public abstract class CsvConverter extends Job {
 
   /**
    * Converts the specified input to XML.
-   * @param input input
+   * If the {@link CsvParserOptions#PARALLEL} option is set, files will be parsed in chunks.
+   * @param io input
    * @return result
    * @throws IOException I/O exception
    */
-  public final Item convert(final IO input) throws IOException {
-    try(NewlineInput in = new NewlineInput(input)) {
-      nli = in;
-      CsvParser.parse(in.encoding(copts.get(CsvParserOptions.ENCODING)), copts, this);
+  public final Item convert(final IO io) throws IOException {
+    // the number of threads is limited by the number of available processors
+    final int threads = Math.min(copts.get(CsvParserOptions.PARALLEL),
+        Math.max(2, Runtime.getRuntime().availableProcessors()));
+    if(threads > 1 && CsvParallelParser.supports(io, copts)) {
+      try(BufferInput bi = new BufferInput(io)) {
+        input = bi;
+        CsvParallelParser.parse(bi, copts, this, threads);
+      }
+    } else {
+      try(NewlineInput ni = new NewlineInput(io)) {
+        input = ni;
+        CsvParser.parse(ni.encoding(copts.get(CsvParserOptions.ENCODING)), copts, this);
+      }
     }
-    return finish(input.url());
+    return finish(io.url());
   }
 
   /**
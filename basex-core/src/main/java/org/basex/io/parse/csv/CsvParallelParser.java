@@ -0,0 +1,250 @@
+package org.basex.io.parse.csv;
+
+import static org.basex.util.Strings.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.build.csv.*;
+import org.basex.core.*;
+import org.basex.core.jobs.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+import org.basex.util.list.*;
+
+/**
+ * This class parses CSV files in parallel: The input is split into chunks at record boundaries,
+ * the chunks are parsed by several threads, and the resulting parse events are passed on to
+ * the converter in the original order.
+ *
+ * The split positions are found by a lightweight scan of the raw bytes, which tracks quoted
+ * entries and escaped characters. As all CSV delimiters are ASCII characters, this is only done
+ * for UTF-8 input.
+ *
+ * The parsing threads check if the converter has been stopped (see {@link Job#checkStop()}).
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class CsvParallelParser {
+  /** Minimum size of a chunk. */
+  private static final int CHUNK = 1 << 20;
+
+  /** Private constructor. */
+  private CsvParallelParser() { }
+
+  /**
+   * Checks if the specified input can be parsed in parallel.
+   * @param io input
+   * @param opts options
+   * @return result of check
+   * @throws IOException I/O exception
+   */
+  static boolean supports(final IO io, final CsvParserOptions opts) throws IOException {
+    if(!(io instanceof IOFile) || opts.separator() >= 0x80) return false;
+    final String encoding = opts.get(CsvParserOptions.ENCODING);
+    if(encoding != null && !encoding.isEmpty() && normEncoding(encoding) != UTF8) return false;
+    try(TextInput ti = new TextInput(io)) {
+      return ti.encoding() == UTF8;
+    }
+  }
+
+  /**
+   * Parses the input and directs the parse events to the given converter.
+   * @param input input
+   * @param opts options
+   * @param conv converter
+   * @param threads number of threads
+   * @throws IOException I/O exception
+   */
+  static void parse(final BufferInput input, final CsvParserOptions opts,
+      final CsvConverter conv, final int threads) throws IOException {
+
+    final boolean quotes = opts.get(CsvOptions.QUOTES);
+    final boolean backslashes = opts.get(CsvOptions.BACKSLASHES);
+    final int separator = opts.separator();
+    // the header line can only occur in the first chunk
+    final CsvParserOptions copts = new CsvParserOptions(opts);
+    copts.set(CsvOptions.HEADER, false);
+
+    final ExecutorService pool = Executors.newFixedThreadPool(threads);
+    final ArrayDeque<Future<Chunk>> chunks = new ArrayDeque<>();
+    try {
+      ByteList bytes = new ByteList(CHUNK);
+      CsvParserOptions o = opts;
+      // quoted entry, quote in quoted entry, escaped character, escaped carriage return
+      boolean quoted = false, quote = false, escaped = false, cr = false;
+      // empty entry (relevant for detecting the start of a quoted entry)
+      boolean empty = true;
+      for(int b; (b = input.read()) != -1;) {
+        bytes.add(b);
+        if(cr) {
+          // skip newline of escaped carriage return
+          cr = false;
+          if(b == '\n') continue;
+        }
+        if(escaped) {
+          cr = b == '\r';
+          escaped = false;
+          continue;
+        }
+        if(quoted) {
+          if(quote) {
+            // two quotes represent a single quote; otherwise, the quoted entry is closed
+            quote = false;
+            if(b == '"') continue;
+            quoted = false;
+            empty = false;
+          } else {
+            if(b == '"') quote = true;
+            else if(b == '\\' && backslashes) escaped = true;
+            continue;
+          }
+        }
+        if(b == '"') {
+          if(quotes && empty) quoted = true;
+          else empty = false;
+        } else if(b == '\\' && backslashes) {
+          escaped = true;
+          empty = false;
+        } else if(b == separator || b == '\r') {
+          empty = true;
+        } else if(b == '\n') {
+          empty = true;
+          // record boundary: parse chunk
+          if(bytes.size() >= CHUNK) {
+            conv.checkStop();
+            submit(new Chunk(bytes.finish(), o, conv), chunks, pool);
+            bytes = new ByteList(CHUNK);
+            o = copts;
+            // limit number of pending chunks
+            if(chunks.size() > threads << 1) replay(chunks.poll(), conv);
+          }
+        } else {
+          empty = false;
+        }
+      }
+      if(!bytes.isEmpty()) submit(new Chunk(bytes.finish(), o, conv), chunks, pool);
+      while(!chunks.isEmpty()) replay(chunks.poll(), conv);
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * Submits a chunk.
+   * @param chunk chunk
+   * @param chunks pending chunks
+   * @param pool thread pool
+   */
+  private static void submit(final Chunk chunk, final ArrayDeque<Future<Chunk>> chunks,
+      final ExecutorService pool) {
+    chunks.add(pool.submit(chunk));
+  }
+
+  /**
+   * Waits for the result of a chunk and passes on its parse events to the converter.
+   * @param future future result
+   * @param conv converter
+   * @throws IOException I/O exception
+   */
+  private static void replay(final Future<Chunk> future, final CsvConverter conv)
+      throws IOException {
+
+    final Chunk chunk;
+    try {
+      chunk = future.get();
+    } catch(final InterruptedException ex) {
+      // preserve interruption status
+      Util.debug(ex);
+      Thread.currentThread().interrupt();
+      throw new JobException(Text.INTERRUPTED);
+    } catch(final ExecutionException ex) {
+      final Throwable th = ex.getCause();
+      if(th instanceof IOException) throw (IOException) th;
+      if(th instanceof RuntimeException) throw (RuntimeException) th;
+      throw new IOException(th);
+    }
+
+    final int size = chunk.events.size();
+    for(int e = 0, v = 0; e < size; e++) {
+      final byte event = chunk.events.get(e);
+      if(event == Chunk.RECORD) {
+        conv.record();
+      } else if(event == Chunk.HEADER) {
+        conv.header(chunk.values.get(v++));
+      } else {
+        conv.entry(chunk.values.get(v++));
+      }
+    }
+  }
+
+  /** Chunk, which records the parse events of its input. */
+  private static final class Chunk extends CsvConverter implements Callable<Chunk> {
+    /** Event: record. */
+    private static final byte RECORD = 0;
+    /** Event: header. */
+    private static final byte HEADER = 1;
+    /** Event: entry. */
+    private static final byte ENTRY = 2;
+
+    /** Events. */
+    private final ByteList events = new ByteList();
+    /** Values of headers and entries. */
+    private final TokenList values = new TokenList();
+    /** Parser options. */
+    private final CsvParserOptions opts;
+    /** Converter that receives the parse events. */
+    private final CsvConverter conv;
+    /** Input. */
+    private byte[] data;
+
+    /**
+     * Constructor.
+     * @param data input
+     * @param opts options
+     * @param conv converter that receives the parse events
+     */
+    private Chunk(final byte[] data, final CsvParserOptions opts, final CsvConverter conv) {
+      super(opts);
+      this.data = data;
+      this.opts = opts;
+      this.conv = conv;
+    }
+
+    @Override
+    public Chunk call() throws IOException {
+      try(NewlineInput ni = new NewlineInput(data)) {
+        CsvParser.parse(ni.encoding(UTF8), opts, this);
+      }
+      data = null;
+      return this;
+    }
+
+    @Override
+    protected void header(final byte[] value) {
+      events.add(HEADER);
+      values.add(value);
+    }
+
+    @Override
+    protected void record() {
+      conv.checkStop();
+      events.add(RECORD);
+    }
+
+    @Override
+    protected void entry(final byte[] value) {
+      events.add(ENTRY);
+      values.add(value);
+    }
+
+    @Override
+    protected Item finish(final String uri) {
+      return null;
+    }
+  }
+}
@@ -26,6 +26,8 @@ final class CsvParser {
   /** Parse quotes.  */
   private final boolean quotes;
 
+  /** Entry to be added. */
+  private final TokenBuilder entry = new TokenBuilder();
   /** First entry of a line. */
   private boolean first = true;
   /** Data mode. */
@@ -37,13 +39,14 @@ final class CsvParser {
    * @param opts options
    * @param conv converter
    */
-  private CsvParser(final TextInput input, final CsvParserOptions opts, final CsvConverter conv) {
+  CsvParser(final TextInput input, final CsvParserOptions opts, final CsvConverter conv) {
     this.input = input;
     this.conv = conv;
     header = opts.get(CsvOptions.HEADER);
     separator = opts.separator();
     quotes = opts.get(CsvOptions.QUOTES);
     backslashes = opts.get(CsvOptions.BACKSLASHES);
+    data = !header;
   }
 
   /**
@@ -56,18 +59,17 @@ final class CsvParser {
    */
   static void parse(final TextInput input, final CsvParserOptions opts, final CsvConverter conv)
       throws IOException {
-    new CsvParser(input, opts, conv).parse();
+    final CsvParser parser = new CsvParser(input, opts, conv);
+    while(parser.next());
   }
 
   /**
-   * Parses a CSV expression.
+   * Parses the next line.
+   * @return {@code false} if the end of the input has been reached
    * @throws IOException query I/O exception
    */
-  private void parse() throws IOException {
-    final TokenBuilder entry = new TokenBuilder();
+  boolean next() throws IOException {
     boolean quoted = false;
-    data = !header;
-
     int ch = input.read();
     while(ch != -1) {
       if(quoted) {
@@ -101,6 +103,7 @@ final class CsvParser {
         record(entry, !entry.isEmpty());
         first = true;
         data = true;
+        return true;
       } else {
         if(ch == '\\' && backslashes) ch = bs();
         add(entry, ch);
@@ -108,6 +111,7 @@ final class CsvParser {
       ch = input.read();
     }
     record(entry, !entry.isEmpty());
+    return false;
   }
 
   /**
@@ -0,0 +1,101 @@
+package org.basex.io.parse.csv;
+
+import java.io.*;
+
+import org.basex.build.csv.*;
+import org.basex.build.csv.CsvOptions.*;
+import org.basex.io.in.*;
+import org.basex.query.value.item.*;
+import org.basex.query.value.array.*;
+import org.basex.query.value.node.*;
+import org.basex.util.*;
+
+/**
+ * This class parses CSV input record by record. Records are returned as elements
+ * (direct and attributes format) or as arrays (XQuery format).
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class CsvRecordReader extends CsvConverter {
+  /** Parser. */
+  private final CsvParser parser;
+  /** XQuery format. */
+  private final boolean xquery;
+
+  /** Current record element. */
+  private FElem record;
+  /** Current record array. */
+  private ArrayBuilder row;
+  /** Indicates if the input has been completely parsed. */
+  private boolean done;
+
+  /**
+   * Constructor.
+   * @param ni input
+   * @param opts CSV options
+   * @throws IOException I/O exception
+   */
+  public CsvRecordReader(final NewlineInput ni, final CsvParserOptions opts) throws IOException {
+    super(opts);
+    input = ni;
+    xquery = opts.get(CsvOptions.FORMAT) == CsvFormat.XQUERY;
+    // XQuery format: records are arrays without names, so the header is returned as first record
+    CsvParserOptions copts = opts;
+    if(xquery && opts.get(CsvOptions.HEADER)) {
+      copts = new CsvParserOptions(opts);
+      copts.set(CsvOptions.HEADER, false);
+    }
+    parser = new CsvParser(ni.encoding(opts.get(CsvParserOptions.ENCODING)), copts, this);
+  }
+
+  /**
+   * Parses and returns the next record.
+   * @return record, or {@code null} if all records have been returned
+   * @throws IOException I/O exception
+   */
+  public Item next() throws IOException {
+    while(!done) {
+      done = !parser.next();
+      final Item item = record != null ? record : row != null ? row.freeze() : null;
+      record = null;
+      row = null;
+      if(item != null) return item;
+    }
+    return null;
+  }
+
+  @Override
+  protected void header(final byte[] value) {
+    headers.add(ats || xquery ? value : XMLToken.encode(value, lax));
+  }
+
+  @Override
+  protected void record() {
+    if(xquery) row = new ArrayBuilder();
+    else record = new FElem(RECORD);
+    col = 0;
+  }
+
+  @Override
+  protected void entry(final byte[] value) {
+    if(xquery) {
+      row.append(Str.get(value));
+    } else {
+      final byte[] name = headers.get(col++);
+      final FElem elem;
+      if(ats) {
+        elem = new FElem(ENTRY);
+        if(name != null) elem.add(NAME, name);
+      } else {
+        elem = new FElem(name == null ? ENTRY : name);
+      }
+      record.add(elem.add(value));
+    }
+  }
+
+  @Override
+  protected Item finish(final String uri) {
+    return null;
+  }
+}
@@ -0,0 +1,202 @@
+package org.basex.io.parse.json;
+
+import static org.basex.io.parse.json.JsonConstants.*;
+
+import java.io.*;
+
+import org.basex.build.*;
+import org.basex.build.json.*;
+import org.basex.build.json.JsonOptions.*;
+import org.basex.query.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+
+/**
+ * This class converts JSON data to XML, using direct or attributes conversion, and sends
+ * the resulting nodes to a database builder. In contrast to the other converters, no
+ * intermediate tree will be created.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonBuilder extends JsonConverter {
+  /** Maximum number of cached element names. */
+  private static final int MAXNAMES = 1 << 12;
+
+  /** Attributes. */
+  private final Atts atts = new Atts();
+  /** Namespaces. */
+  private final Atts nsp = new Atts();
+  /** Cached element names for keys that have already been encoded. */
+  private final TokenObjMap<byte[]> names = new TokenObjMap<>();
+  /** Builder. */
+  private final Builder builder;
+  /** Attributes format. */
+  private final boolean ats;
+  /** Lax QName conversion. */
+  private final boolean lax;
+  /** Include string type. */
+  private final boolean strings;
+  /** Whitespace chopping. */
+  private final boolean chop;
+
+  /** Name of next element. */
+  private byte[] name = JSON;
+  /** Value of the name attribute of the next element (attributes format, can be {@code null}). */
+  private byte[] key;
+  /** Number of open pairs and items that will be skipped. */
+  private int skip;
+
+  /**
+   * Constructor.
+   * @param opts json options
+   * @param builder builder
+   * @param chop chop whitespaces of string values
+   */
+  public JsonBuilder(final JsonParserOptions opts, final Builder builder, final boolean chop) {
+    super(opts);
+    this.builder = builder;
+    this.chop = chop;
+    ats = jopts.get(JsonOptions.FORMAT) == JsonFormat.ATTRIBUTES;
+    lax = jopts.get(JsonOptions.LAX);
+    strings = jopts.get(JsonOptions.STRINGS);
+  }
+
+  /**
+   * Checks if the specified options can be processed by this converter.
+   * Type information can only be merged if the complete document is available.
+   * @param opts json options
+   * @return result of check
+   */
+  public static boolean supports(final JsonParserOptions opts) {
+    final JsonFormat format = opts.get(JsonOptions.FORMAT);
+    return (format == JsonFormat.DIRECT || format == JsonFormat.ATTRIBUTES) &&
+        !opts.get(JsonOptions.MERGE);
+  }
+
+  @Override
+  void openObject() throws QueryIOException {
+    if(skip == 0) open(OBJECT);
+  }
+
+  @Override
+  void openPair(final byte[] pair, final boolean add) {
+    if(skip != 0 || !add && ats) {
+      skip++;
+    } else if(ats) {
+      name = PAIR;
+      key = pair;
+    } else {
+      byte[] nm = names.get(pair);
+      if(nm == null) {
+        nm = XMLToken.encode(pair, lax);
+        // input with many distinct keys: discard cached names
+        if(names.size() >= MAXNAMES) names.clear();
+        names.put(pair, nm);
+      }
+      name = nm;
+    }
+  }
+
+  @Override
+  void closePair(final boolean add) {
+    if(skip != 0) skip--;
+  }
+
+  @Override
+  void closeObject() throws QueryIOException {
+    if(skip == 0) close();
+  }
+
+  @Override
+  void openArray() throws QueryIOException {
+    if(skip == 0) open(ARRAY);
+  }
+
+  @Override
+  void openItem() {
+    if(skip != 0) skip++;
+    else name = ats ? ITEM : VALUE;
+  }
+
+  @Override
+  void closeItem() {
+    if(skip != 0) skip--;
+  }
+
+  @Override
+  void closeArray() throws QueryIOException {
+    if(skip == 0) close();
+  }
+
+  @Override
+  void numberLit(final byte[] value) throws QueryIOException {
+    if(skip == 0) leaf(NUMBER, value);
+  }
+
+  @Override
+  void stringLit(final byte[] value) throws QueryIOException {
+    if(skip == 0) leaf(STRING, value);
+  }
+
+  @Override
+  void nullLit() throws QueryIOException {
+    if(skip == 0) leaf(NULL, Token.EMPTY);
+  }
+
+  @Override
+  void booleanLit(final byte[] value) throws QueryIOException {
+    if(skip == 0) leaf(BOOLEAN, value);
+  }
+
+  @Override
+  Item finish(final String uri) {
+    return null;
+  }
+
+  /**
+   * Adds an element with the given type and a text node.
+   * @param type JSON type
+   * @param value text value
+   * @throws QueryIOException query I/O exception
+   */
+  private void leaf(final byte[] type, final byte[] value) throws QueryIOException {
+    open(type);
+    try {
+      builder.text(chop ? Token.trim(value) : value);
+    } catch(final IOException ex) {
+      throw new QueryIOException(new QueryException(ex));
+    }
+    close();
+  }
+
+  /**
+   * Opens an element with the given type.
+   * @param type JSON type
+   * @throws QueryIOException query I/O exception
+   */
+  private void open(final byte[] type) throws QueryIOException {
+    if(key != null) atts.add(NAME, key);
+    if(strings || type != STRING) atts.add(TYPE, type);
+    try {
+      builder.openElem(name, atts, nsp);
+    } catch(final IOException ex) {
+      throw new QueryIOException(new QueryException(ex));
+    }
+    atts.reset();
+    key = null;
+  }
+
+  /**
+   * Closes an element.
+   * @throws QueryIOException query I/O exception
+   */
+  private void close() throws QueryIOException {
+    try {
+      builder.closeElem();
+    } catch(final IOException ex) {
+      throw new QueryIOException(new QueryException(ex));
+    }
+  }
+}
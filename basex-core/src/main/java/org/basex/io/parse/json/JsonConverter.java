@@ -46,9 +46,9 @@ public abstract class JsonConverter {
    * @return result
    */
   public final Item convert(final IO input) throws IOException {
-    final String encoding = jopts.get(JsonParserOptions.ENCODING);
     try(NewlineInput ni = new NewlineInput(input)) {
-      return convert(ni.encoding(encoding).content(), input.path());
+      ni.encoding(jopts.get(JsonParserOptions.ENCODING));
+      return convert(ni, input.path());
     }
   }
 
@@ -60,7 +60,25 @@ public abstract class JsonConverter {
    * @return result
    */
   public final Item convert(final byte[] input, final String path) throws QueryIOException {
-    JsonParser.parse(Token.string(input), path, jopts, this);
+    try(TextInput ti = new TextInput(input)) {
+      return convert(ti, path);
+    } catch(final QueryIOException ex) {
+      throw ex;
+    } catch(final IOException ex) {
+      // input is main-memory based
+      throw Util.notExpected(ex);
+    }
+  }
+
+  /**
+   * Converts the specified input stream to an XQuery item.
+   * @param input input
+   * @param path input path (can be empty string}
+   * @throws QueryIOException query I/O exception
+   * @return result
+   */
+  private Item convert(final TextInput input, final String path) throws QueryIOException {
+    JsonParser.parse(input, path, jopts, this);
     return finish(path.isEmpty() ? "" : IO.get(path).url());
   }
 
@@ -103,8 +121,9 @@ public abstract class JsonConverter {
 
   /**
    * Called when a JSON object is closed.
+   * @throws QueryIOException query exception
    */
-  abstract void closeObject();
+  abstract void closeObject() throws QueryIOException;
 
   /**
    * Called when a JSON array is opened.
@@ -114,8 +133,9 @@ public abstract class JsonConverter {
 
   /**
    * Called when an item of a JSON array is opened.
+   * @throws QueryIOException query exception
    */
-  abstract void openItem();
+  abstract void openItem() throws QueryIOException;
 
   /**
    * Called when an item of a JSON array is closed.
@@ -5,6 +5,7 @@ import static org.basex.io.parse.json.JsonConstants.*;
 import org.basex.build.json.*;
 import org.basex.query.value.node.*;
 import org.basex.util.*;
+import org.basex.util.hash.*;
 
 /**
  * <p>This class converts a JSON document to XML. The converted XML document is
@@ -48,8 +49,13 @@ import org.basex.util.*;
  * @author Leo Woerteler
  */
 public final class JsonDirectConverter extends JsonXmlConverter {
+  /** Maximum number of cached element names. */
+  private static final int MAXNAMES = 1 << 12;
+
   /** Lax QName conversion. */
   private final boolean lax;
+  /** Cached element names for keys that have already been encoded. */
+  private final TokenObjMap<byte[]> names = new TokenObjMap<>();
 
   /** Name of next element. */
   private byte[] name = JSON;
@@ -70,7 +76,14 @@ public final class JsonDirectConverter extends JsonXmlConverter {
 
   @Override
   void openPair(final byte[] key, final boolean add) {
-    name = XMLToken.encode(key, lax);
+    byte[] nm = names.get(key);
+    if(nm == null) {
+      nm = XMLToken.encode(key, lax);
+      // input with many distinct keys: discard cached names
+      if(names.size() >= MAXNAMES) names.clear();
+      names.put(key, nm);
+    }
+    name = nm;
   }
 
   @Override
@@ -1,22 +1,27 @@
 package org.basex.io.parse.json;
 
+import static org.basex.core.Text.*;
 import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
+import java.io.*;
+
 import org.basex.build.json.*;
 import org.basex.build.json.JsonOptions.*;
 import org.basex.build.json.JsonParserOptions.JsonDuplicates;
+import org.basex.io.in.*;
 import org.basex.query.*;
 import org.basex.util.*;
 import org.basex.util.hash.*;
 
 /**
  * A JSON parser generating parse events similar to a SAX XML parser.
+ * The input is read as stream; it will never be materialized as a whole.
  *
  * @author BaseX Team 2005-20, BSD License
  * @author Leo Woerteler
  */
-final class JsonParser extends InputParser {
+final class JsonParser {
   /** Names of control characters not allowed in string literals. */
   private static final String[] CTRL = {
     // U+0000 -- U+001F
@@ -26,58 +31,89 @@ final class JsonParser extends InputParser {
     "CAN", "EM",  "SUB", "ESC", "FS",  "GS",  "RS",  "US",
   };
 
+  /** Input. */
+  private final TextInput input;
+  /** Input path (can be empty string). */
+  private final String path;
   /** Converter. */
   private final JsonConverter conv;
   /** Spec. */
   private final boolean liberal;
   /** Escape flag. */
   private final boolean escape;
+  /** Newline-delimited input. */
+  private final boolean lines;
   /** Duplicates. */
   private final JsonDuplicates duplicates;
   /** Token builder for string literals. */
   private final TokenBuilder tb = new TokenBuilder();
+  /** Original characters of the currently parsed string sequence (only assigned with fallback). */
+  private final StringBuilder source;
+
+  /** Current codepoint ({@code -1} if the input is exhausted). */
+  private int curr;
+  /** Line of the current codepoint. */
+  private int line = 1;
+  /** Column of the current codepoint. */
+  private int col = 1;
+  /** Indicates if consumed characters are recorded. */
+  private boolean record;
 
   /**
-   * Constructor taking the input string and the spec according to which it is parsed.
-   * @param in input string
+   * Constructor.
+   * @param input input
+   * @param path input path
    * @param opts options
    * @param conv converter
    */
-  private JsonParser(final String in, final JsonParserOptions opts, final JsonConverter conv) {
-    super(in);
+  private JsonParser(final TextInput input, final String path, final JsonParserOptions opts,
+      final JsonConverter conv) {
+    this.input = input;
+    this.path = path;
     liberal = opts.get(JsonParserOptions.LIBERAL);
     escape = opts.get(JsonParserOptions.ESCAPE);
+    lines = opts.get(JsonParserOptions.LINES);
     final JsonDuplicates dupl = opts.get(JsonParserOptions.DUPLICATES);
     duplicates = dupl != null ? dupl : opts.get(JsonOptions.FORMAT) == JsonFormat.BASIC ?
       JsonDuplicates.RETAIN : JsonDuplicates.USE_FIRST;
+    source = conv.fallback != null ? new StringBuilder() : null;
     this.conv = conv;
   }
 
   /**
-   * Parses the input string, directs the parse events to the given handler and returns
+   * Parses the input, directs the parse events to the given handler and returns
    * the resulting value.
-   * @param input input string
-   * @param path input path (can be {@code null)}
+   * @param input input
+   * @param path input path (can be empty string)
    * @param opts options
    * @param conv converter
    * @throws QueryIOException parse exception
    */
-  static void parse(final String input, final String path, final JsonParserOptions opts,
+  static void parse(final TextInput input, final String path, final JsonParserOptions opts,
       final JsonConverter conv) throws QueryIOException {
-    final JsonParser parser = new JsonParser(input, opts, conv);
-    parser.file = path;
-    parser.parse();
+    new JsonParser(input, path, opts, conv).parse();
   }
 
   /**
-   * Parses a JSON expression.
+   * Parses a JSON expression, or newline-delimited values as members of a single array.
    * @throws QueryIOException query I/O exception
    */
   private void parse() throws QueryIOException {
+    curr = read();
     consume('\uFEFF');
     skipWs();
     try {
-      value();
+      if(lines) {
+        conv.openArray();
+        while(more()) {
+          conv.openItem();
+          value();
+          conv.closeItem();
+        }
+        conv.closeArray();
+      } else {
+        value();
+      }
     } catch(final StackOverflowError er) {
       throw error("Input is too deeply nested");
     }
@@ -89,8 +125,8 @@ final class JsonParser extends InputParser {
    * @throws QueryIOException query I/O exception
    */
   private void value() throws QueryIOException {
-    if(pos >= length) throw eof(", expected JSON value.");
-    switch(curr()) {
+    if(!more()) throw eof(", expected JSON value.");
+    switch(curr) {
       case '[':
         array();
         break;
@@ -116,15 +152,32 @@ final class JsonParser extends InputParser {
         conv.numberLit(number());
         break;
       default:
-        // boolean, null or constructor
-        if(consume("true")) conv.booleanLit(TRUE);
-        else if(consume("false")) conv.booleanLit(FALSE);
-        else if(consume("null")) conv.nullLit();
-        else throw error("Unexpected JSON value: '%'", remaining());
+        // boolean or null
+        literal();
         skipWs();
     }
   }
 
+  /**
+   * Parses a boolean or null literal.
+   * @throws QueryIOException query I/O exception
+   */
+  private void literal() throws QueryIOException {
+    final String literal = curr == 't' ? "true" : curr == 'f' ? "false" : curr == 'n' ?
+      "null" : "";
+    final int l = line, c = col, ll = literal.length();
+    int i = 0;
+    while(i < ll && consume(literal.charAt(i))) i++;
+    if(ll == 0 || i < ll) {
+      // report error at the start of the literal
+      line = l;
+      col = c;
+      throw error("Unexpected JSON value: '%'", literal.substring(0, i) + remaining());
+    }
+    if(literal.equals("null")) conv.nullLit();
+    else conv.booleanLit(token(literal));
+  }
+
   /**
    * Parses a JSON object.
    * @throws QueryIOException query I/O exception
@@ -135,7 +188,7 @@ final class JsonParser extends InputParser {
     if(!consumeWs('}', false)) {
       final TokenSet set = new TokenSet();
       do {
-        final byte[] key = !liberal || curr() == '"' ? string() : unquoted();
+        final byte[] key = !liberal || curr == '"' ? string() : unquoted();
         final boolean dupl = set.contains(key);
         if(dupl && duplicates == JsonDuplicates.REJECT)
           throw error(JSON_DUPL_X_X_X, "Key \"%\" occurs more than once", key);
@@ -146,7 +199,7 @@ final class JsonParser extends InputParser {
         value();
         conv.closePair(add);
         set.put(key);
-      } while(consumeWs(',', false) && !(liberal && curr() == '}'));
+      } while(consumeWs(',', false) && !(liberal && curr == '}'));
       consumeWs('}', true);
     }
     conv.closeObject();
@@ -164,7 +217,7 @@ final class JsonParser extends InputParser {
         conv.openItem();
         value();
         conv.closeItem();
-      } while(consumeWs(',', false) && !(liberal && curr() == ']'));
+      } while(consumeWs(',', false) && !(liberal && curr == ']'));
       consumeWs(']', true);
     }
     conv.closeArray();
@@ -176,13 +229,14 @@ final class JsonParser extends InputParser {
    * @throws QueryIOException query I/O exception
    */
   private byte[] unquoted() throws QueryIOException {
-    int cp = more() ? input.codePointAt(pos) : -1;
+    int cp = curr;
     if(cp < 0 || !Character.isJavaIdentifierStart(cp))
       throw error("Expected unquoted string, found %", remaining());
     tb.reset();
     do {
       tb.add(cp);
-      cp = input.codePointAt(pos += cp < 0x10000 ? 1 : 2);
+      consume();
+      cp = curr;
     } while(Character.isJavaIdentifierPart(cp));
     skipWs();
     return tb.toArray();
@@ -206,7 +260,7 @@ final class JsonParser extends InputParser {
     }
 
     final boolean zero = ch == '0';
-    ch = curr();
+    ch = curr;
     if(zero && ch >= '0' && ch <= '9') throw error("No digit allowed after '0'");
 
     LOOP:
@@ -223,8 +277,8 @@ final class JsonParser extends InputParser {
         case '8':
         case '9':
           tb.add(ch);
-          pos++;
-          ch = curr();
+          consume();
+          ch = curr;
           break;
         case '.':
         case 'e':
@@ -238,12 +292,12 @@ final class JsonParser extends InputParser {
 
     if(consume('.')) {
       tb.add('.');
-      ch = curr();
+      ch = curr;
       if(ch < '0' || ch > '9') throw error("Number expected after '.'");
       do {
         tb.add(ch);
-        pos++;
-        ch = curr();
+        consume();
+        ch = curr;
       } while(ch >= '0' && ch <= '9');
       if(ch != 'e' && ch != 'E') {
         skipWs();
@@ -253,15 +307,15 @@ final class JsonParser extends InputParser {
 
     // 'e' or 'E'
     tb.add(consume());
-    ch = curr();
+    ch = curr;
     if(ch == '-' || ch == '+') {
       tb.add(consume());
-      ch = curr();
+      ch = curr;
     }
 
     if(ch < '0' || ch > '9') throw error("Exponent expected");
     do tb.add(consume());
-    while((ch = curr()) >= '0' && ch <= '9');
+    while((ch = curr) >= '0' && ch <= '9');
     skipWs();
     return tb.toArray();
   }
@@ -272,23 +326,27 @@ final class JsonParser extends InputParser {
    * @throws QueryIOException query I/O exception
    */
   private byte[] string() throws QueryIOException {
-    if(!consume('"')) throw error("Expected string, found '%'", curr());
+    if(!consume('"')) throw error("Expected string, found '%'", found());
     tb.reset();
+    record = source != null;
     char high = 0; // cached high surrogate
-    while(pos < length) {
-      final int p = pos;
+    String hsource = null; // original characters of the high surrogate
+    while(more()) {
+      if(record) source.setLength(0);
       int ch = consume();
 
       // string is closed..
       if(ch == '"') {
+        record = false;
         // unpaired surrogate?
-        if(high != 0) add(high, pos - 7, p);
+        if(high != 0) add(high, hsource);
         skipWs();
         return tb.toArray();
       }
 
       // escape sequence
       if(ch == '\\') {
+        if(!more()) break;
         ch = consume();
         switch(ch) {
           case '\\':
@@ -311,19 +369,19 @@ final class JsonParser extends InputParser {
             ch = '\t';
             break;
           case 'u':
-            if(pos + 4 >= length) throw eof(", expected four-digit hex value");
             ch = 0;
             for(int i = 0; i < 4; i++) {
-              final char x = consume();
+              if(!more()) throw eof(", expected four-digit hex value");
+              final int x = consume();
               if(x >= '0' && x <= '9')      ch = 16 * ch + x      - '0';
               else if(x >= 'a' && x <= 'f') ch = 16 * ch + x + 10 - 'a';
               else if(x >= 'A' && x <= 'F') ch = 16 * ch + x + 10 - 'A';
-              else throw error("Illegal hexadecimal digit: '%'", x);
+              else throw error("Illegal hexadecimal digit: '%'", chars(x));
             }
             break;
 
           default:
-            throw error("Unknown character escape: '\\%'", ch);
+            throw error("Unknown character escape: '\\%'", chars(ch));
         }
       } else if(!liberal && ch <= 0x1F) {
         throw error("Non-escaped control character: '\\%'", CTRL[ch]);
@@ -335,7 +393,7 @@ final class JsonParser extends InputParser {
           ch = (high - 0xD800 << 10) + ch - 0xDC00 + 0x10000;
         } else {
           // add invalid high surrogate, treat expected low surrogate as new character
-          add(high, p, pos);
+          add(high, hsource);
         }
         high = 0;
       }
@@ -343,8 +401,9 @@ final class JsonParser extends InputParser {
       if(ch >= 0xD800 && ch <= 0xDBFF) {
         // remember high surrogate
         high = (char) ch;
+        if(record) hsource = source.toString();
       } else {
-        add(ch, p, pos);
+        add(ch, source);
       }
     }
     throw eof(" in string literal");
@@ -353,10 +412,10 @@ final class JsonParser extends InputParser {
   /**
    * Adds the specified character.
    * @param ch character
-   * @param s start position of invalid unicode sequence
-   * @param e end position
+   * @param chars original characters of the invalid unicode sequence
+   *   (only required if a fallback function has been assigned)
    */
-  private void add(final int ch, final int s, final int e) {
+  private void add(final int ch, final CharSequence chars) {
     if(escape) {
       if(ch == '\\') {
         tb.add("\\\\");
@@ -381,20 +440,23 @@ final class JsonParser extends InputParser {
     } else if(conv.fallback == null) {
       tb.add(REPLACEMENT);
     } else {
-      tb.add(conv.fallback.convert(input.substring(s, e)));
+      tb.add(conv.fallback.convert(chars.toString()));
     }
   }
 
-  /** Consumes all whitespace characters from the remaining query. */
-  private void skipWs() {
-    while(pos < length) {
-      switch(input.charAt(pos)) {
+  /**
+   * Consumes all whitespace characters from the remaining input.
+   * @throws QueryIOException query I/O exception
+   */
+  private void skipWs() throws QueryIOException {
+    while(true) {
+      switch(curr) {
         case ' ':
         case '\t':
         case '\r':
         case '\n':
         case '\u00A0': // non-breaking space
-          pos++;
+          consume();
           break;
         default:
           return;
@@ -415,10 +477,95 @@ final class JsonParser extends InputParser {
       skipWs();
       return true;
     }
-    if(err) throw error("Expected '%', found '%'", ch, curr());
+    if(err) throw error("Expected '%', found '%'", ch, found());
     return false;
   }
 
+  /**
+   * Checks if more characters are found.
+   * @return result of check
+   */
+  private boolean more() {
+    return curr != -1;
+  }
+
+  /**
+   * Consumes the current character.
+   * @return consumed character, or {@code -1} if the input is exhausted
+   * @throws QueryIOException query I/O exception
+   */
+  private int consume() throws QueryIOException {
+    final int ch = curr;
+    if(ch != -1) {
+      if(ch == '\n') {
+        line++;
+        col = 1;
+      } else if(ch != '\r') {
+        col++;
+      }
+      if(record) source.appendCodePoint(ch);
+      curr = read();
+    }
+    return ch;
+  }
+
+  /**
+   * Consumes the current character if it equals the specified one.
+   * @param ch character to consume
+   * @return true if character was found
+   * @throws QueryIOException query I/O exception
+   */
+  private boolean consume(final int ch) throws QueryIOException {
+    if(curr != ch) return false;
+    consume();
+    return true;
+  }
+
+  /**
+   * Reads the next codepoint from the input.
+   * @return codepoint, or {@code -1} if the input is exhausted
+   * @throws QueryIOException query I/O exception
+   */
+  private int read() throws QueryIOException {
+    try {
+      return input.read();
+    } catch(final IOException ex) {
+      throw new QueryIOException(IOERR_X.get(info(), ex));
+    }
+  }
+
+  /**
+   * Returns the current character as string.
+   * @return string (empty if the input is exhausted)
+   */
+  private String found() {
+    return chars(curr);
+  }
+
+  /**
+   * Returns the string representation of the specified character.
+   * @param ch character
+   * @return string (empty if the input is exhausted)
+   */
+  private static String chars(final int ch) {
+    return ch == -1 ? "" : new String(Character.toChars(ch));
+  }
+
+  /**
+   * Returns a maximum of 15 remaining characters that have not yet been parsed.
+   * The characters will be consumed, so this function may only be called if an error is raised.
+   * @return remaining characters
+   * @throws QueryIOException query I/O exception
+   */
+  private String remaining() throws QueryIOException {
+    final StringBuilder sb = new StringBuilder();
+    for(int i = 0; i < 15 && curr != -1 && curr != '\n'; i++) {
+      sb.appendCodePoint(curr);
+      curr = read();
+    }
+    return sb + (curr == -1 ? "" : DOTS);
+  }
+
   /**
    * Throws an end-of-input error.
    * @param desc description
@@ -447,7 +594,14 @@ final class JsonParser extends InputParser {
    * @return build exception
    */
   private QueryIOException error(final QueryError err, final String msg, final Object... ext) {
-    final InputInfo ii = new InputInfo(this);
-    return new QueryIOException(err.get(ii, ii.line(), ii.column(), Util.inf(msg, ext)));
+    return new QueryIOException(err.get(info(), line, col, Util.inf(msg, ext)));
+  }
+
+  /**
+   * Returns input information on the current parsing position.
+   * @return input information
+   */
+  private InputInfo info() {
+    return new InputInfo(path, line, col);
   }
 }
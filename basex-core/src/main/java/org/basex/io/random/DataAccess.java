@@ -16,12 +16,18 @@ public final class DataAccess implements Closeable {
   private final Buffers buffers = new Buffers();
   /** Reference to the data input stream. */
   private final RandomAccessFile raf;
+  /** Journal (can be {@code null}). */
+  private final Journal journal;
+  /** Name of the file. */
+  private final String name;
   /** File size. */
   private long length;
   /** Changed flag. */
   private boolean changed;
   /** Offset. */
   private int off;
+  /** Counter for pages read by the last reading thread (can be {@code null}). */
+  private ThreadUsage.Reads reads;
 
   /**
    * Constructor, initializing the file reader.
@@ -29,11 +35,24 @@ public final class DataAccess implements Closeable {
    * @throws IOException I/O Exception
    */
   public DataAccess(final IOFile file) throws IOException {
+    this(file, null);
+  }
+
+  /**
+   * Constructor, initializing the file reader.
+   * @param file the file to be read
+   * @param journal journal (can be {@code null})
+   * @throws IOException I/O Exception
+   */
+  public DataAccess(final IOFile file, final Journal journal) throws IOException {
+    this.journal = journal;
+    name = file.name();
     RandomAccessFile f = null;
     try {
       f = new RandomAccessFile(file.file(), "rw");
       length = f.length();
       raf = f;
+      if(journal != null) journal.register(name, f);
       cursor(0);
     } catch(final IOException ex) {
       if(f != null) f.close();
@@ -50,7 +69,7 @@ public final class DataAccess implements Closeable {
         if(buffer.dirty) writeBlock(buffer);
       }
       if(changed) {
-        raf.setLength(length);
+        if(journal == null || !journal.length(name, length)) raf.setLength(length);
         changed = false;
       }
     } catch(final IOException ex) {
@@ -221,9 +240,13 @@ public final class DataAccess implements Closeable {
     try {
       if(buffer.dirty) writeBlock(buffer);
       buffer.pos = b;
-      raf.seek(buffer.pos);
-      if(buffer.pos < raf.length())
-        raf.readFully(buffer.data, 0, (int) Math.min(length - buffer.pos, IO.BLOCKSIZE));
+      if(journal == null || !journal.read(name, b, buffer.data)) {
+        raf.seek(buffer.pos);
+        if(buffer.pos < raf.length()) {
+          raf.readFully(buffer.data, 0, (int) Math.min(length - buffer.pos, IO.BLOCKSIZE));
+          reads = ThreadUsage.read(reads);
+        }
+      }
     } catch(final IOException ex) {
       Util.stack(ex);
     }
@@ -413,8 +436,10 @@ public final class DataAccess implements Closeable {
    */
   private void writeBlock(final Buffer buffer) throws IOException {
     final long pos = buffer.pos, len = Math.min(IO.BLOCKSIZE, length - pos);
-    raf.seek(pos);
-    raf.write(buffer.data, 0, (int) len);
+    if(journal == null || !journal.write(name, pos, buffer.data, (int) len)) {
+      raf.seek(pos);
+      raf.write(buffer.data, 0, (int) len);
+    }
     buffer.dirty = false;
   }
 
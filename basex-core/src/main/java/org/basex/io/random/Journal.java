@@ -0,0 +1,480 @@
+package org.basex.io.random;
+
+import static org.basex.data.DataText.*;
+
+import java.io.*;
+import java.nio.channels.*;
+import java.util.*;
+import java.util.Map.Entry;
+
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.io.out.*;
+import org.basex.io.out.DataOutput;
+import org.basex.util.*;
+
+/**
+ * Write-ahead journal of database updates.
+ *
+ * While an update is journaled, modified pages of the database files are appended to the
+ * journal instead of being written to their original position. Pages that are requested again
+ * will be read from the journal. When the update is committed, the contents of the rewritten
+ * meta files are appended as well, followed by a commit record. The journal is then forced to
+ * disk, and the changes are applied to the database files without waiting for them to be
+ * written. The database files are synchronized, and the journal is truncated, if the journal
+ * exceeds a given size or if the database is closed.
+ *
+ * If the database was not properly closed, the committed changes will be applied again when it
+ * is opened. Changes of uncommitted updates will be ignored, as they have not been written to
+ * the database files.
+ *
+ * Operations that write index structures directly to disk cannot be journaled. In this case,
+ * all pending changes will be written to the database files, and the update will proceed as
+ * before: an update file indicates that the database may be corrupt after an interruption.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class Journal {
+  /** Size of the journal after which a checkpoint will be performed. */
+  private static final long CHECKPOINT = 1 << 26;
+  /** Record: page of a file. */
+  private static final int PAGE = 1;
+  /** Record: length of a file. */
+  private static final int LENGTH = 2;
+  /** Record: contents of a file. */
+  private static final int FILE = 3;
+  /** Record: commit. */
+  private static final int COMMIT = 4;
+
+  /** Meta data. */
+  private final MetaData meta;
+  /** Random access files of the database files, indexed by their names. */
+  private final HashMap<String, RandomAccessFile> files = new HashMap<>();
+  /** Uncommitted pages (positions in the journal, lengths), indexed by file names and offsets. */
+  private final HashMap<String, HashMap<Long, long[]>> pages = new HashMap<>();
+  /** Uncommitted file lengths, indexed by file names. */
+  private final HashMap<String, Long> lengths = new HashMap<>();
+  /** Uncommitted file contents, indexed by file names. */
+  private final HashMap<String, byte[]> contents = new HashMap<>();
+  /** Names of files that have been rewritten since the last checkpoint. */
+  private final HashSet<String> written = new HashSet<>();
+
+  /** Journal file (lazy instantiation). */
+  private RandomAccessFile journal;
+  /** Size of the journal. */
+  private long size;
+  /** Indicates if updates are journaled. */
+  private boolean active;
+
+  /**
+   * Constructor.
+   * @param meta meta data
+   */
+  public Journal(final MetaData meta) {
+    this.meta = meta;
+  }
+
+  /**
+   * Registers a database file. Journaled changes will be applied to this file.
+   * @param name name of the file
+   * @param file random access file
+   */
+  synchronized void register(final String name, final RandomAccessFile file) {
+    files.put(name, file);
+  }
+
+  /**
+   * Starts journaling.
+   * @throws IOException I/O exception
+   */
+  public synchronized void start() throws IOException {
+    if(journal == null) {
+      journal = new RandomAccessFile(meta.dbFile(DATAWAL).file(), "rw");
+      size = journal.length();
+    }
+    active = true;
+  }
+
+  /**
+   * Indicates if updates are currently journaled.
+   * @return result of check
+   */
+  public synchronized boolean active() {
+    return active;
+  }
+
+  /**
+   * Appends a page to the journal.
+   * @param name name of the file
+   * @param pos file offset
+   * @param data page data
+   * @param len number of bytes
+   * @return {@code true} if the page has been journaled
+   * @throws IOException I/O exception
+   */
+  synchronized boolean write(final String name, final long pos, final byte[] data,
+      final int len) throws IOException {
+    if(!active) return false;
+
+    final ArrayOutput ao = new ArrayOutput();
+    try(DataOutput out = record(ao, PAGE, name)) {
+      out.write5(pos);
+      out.write4(len);
+    }
+    final byte[] header = ao.finish();
+    journal.seek(size);
+    journal.write(header);
+    journal.write(data, 0, len);
+    pages.computeIfAbsent(name, k -> new HashMap<>()).put(pos,
+        new long[] { size + header.length, len });
+    size += header.length + len;
+    return true;
+  }
+
+  /**
+   * Reads a journaled page.
+   * @param name name of the file
+   * @param pos file offset
+   * @param data page data
+   * @return {@code true} if the page has been read from the journal
+   * @throws IOException I/O exception
+   */
+  synchronized boolean read(final String name, final long pos, final byte[] data)
+      throws IOException {
+    final HashMap<Long, long[]> map = pages.get(name);
+    final long[] page = map != null ? map.get(pos) : null;
+    if(page == null) return false;
+
+    journal.seek(page[0]);
+    journal.readFully(data, 0, (int) page[1]);
+    return true;
+  }
+
+  /**
+   * Assigns a new file length.
+   * @param name name of the file
+   * @param length file length
+   * @return {@code true} if the length has been journaled
+   * @throws IOException I/O exception
+   */
+  synchronized boolean length(final String name, final long length) throws IOException {
+    if(!active) return false;
+
+    final ArrayOutput ao = new ArrayOutput();
+    try(DataOutput out = record(ao, LENGTH, name)) {
+      out.write5(length);
+    }
+    append(ao.finish());
+    lengths.put(name, length);
+    return true;
+  }
+
+  /**
+   * Writes a database file. If updates are journaled, the contents will be appended to the
+   * journal and written to the file after the update has been committed.
+   * @param file file
+   * @param journal journal (can be {@code null})
+   * @param output output function
+   * @throws IOException I/O exception
+   */
+  public static void write(final IOFile file, final Journal journal, final Output output)
+      throws IOException {
+
+    if(journal != null && journal.active()) {
+      final ArrayOutput ao = new ArrayOutput();
+      try(DataOutput out = new DataOutput(ao)) {
+        output.write(out);
+      }
+      journal.file(file.name(), ao.finish());
+    } else {
+      try(DataOutput out = new DataOutput(file)) {
+        output.write(out);
+      }
+    }
+  }
+
+  /**
+   * Commits the journaled changes and applies them to the database files.
+   * If an exception is raised before the changes have been applied, journaling remains active,
+   * and the changes can be written via {@link #stop()}.
+   * @throws IOException I/O exception
+   */
+  public synchronized void commit() throws IOException {
+    if(!active) return;
+
+    append(new byte[] { COMMIT });
+    journal.getChannel().force(false);
+    apply();
+    active = false;
+    if(size > CHECKPOINT) checkpoint();
+  }
+
+  /**
+   * Stops journaling. All uncommitted changes are written to the database files, and the
+   * update file is created, which indicates that the database may be corrupt after an
+   * interruption.
+   * @throws IOException I/O exception
+   */
+  public synchronized void stop() throws IOException {
+    if(!active) return;
+
+    final IOFile upd = meta.updateFile();
+    if(!upd.touch()) throw Util.notExpected("%: could not create lock file.", meta.name);
+    active = false;
+    apply();
+    checkpoint();
+  }
+
+  /**
+   * Synchronizes the database files and deletes the journal.
+   * @throws IOException I/O exception
+   */
+  public synchronized void checkpoint() throws IOException {
+    if(journal == null) return;
+
+    for(final RandomAccessFile file : files.values()) {
+      // skip files of closed index structures
+      final FileDescriptor fd = file.getFD();
+      if(fd.valid()) fd.sync();
+    }
+    for(final String name : written) sync(new IOFile(meta.dir, name));
+    written.clear();
+    journal.close();
+    journal = null;
+    size = 0;
+    meta.dbFile(DATAWAL).delete();
+  }
+
+  /**
+   * Closes the journal. Pending changes are written to the database files.
+   */
+  public synchronized void close() {
+    try {
+      stop();
+      checkpoint();
+    } catch(final IOException ex) {
+      Util.stack(ex);
+    }
+    files.clear();
+  }
+
+  /**
+   * Applies the committed changes of an existing journal to the database files.
+   * Changes will only be applied if the database is not opened by another process.
+   * @param meta meta data
+   * @throws IOException I/O exception
+   */
+  public static void recover(final MetaData meta) throws IOException {
+    final IOFile wal = meta.dbFile(DATAWAL);
+    if(!wal.exists()) return;
+
+    try(RandomAccessFile table = new RandomAccessFile(meta.dbFile(DATATBL).file(), "rw");
+        FileLock lock = tryLock(table)) {
+      if(lock == null) return;
+
+      final HashMap<String, RandomAccessFile> raf = new HashMap<>();
+      try(RandomAccessFile journal = new RandomAccessFile(wal.file(), "r")) {
+        // find end of last commit record
+        long end = 0;
+        final long length = journal.length();
+        try {
+          while(journal.getFilePointer() < length) {
+            if(record(journal, null, null, meta) == COMMIT) end = journal.getFilePointer();
+          }
+        } catch(final EOFException ex) {
+          // incomplete record: skip uncommitted changes
+          Util.debug(ex);
+        }
+        // apply committed changes
+        journal.seek(0);
+        while(journal.getFilePointer() < end) record(journal, raf, meta.dir, meta);
+      } finally {
+        for(final RandomAccessFile file : raf.values()) {
+          file.getFD().sync();
+          file.close();
+        }
+      }
+    }
+    wal.delete();
+  }
+
+  /** Output function. */
+  public interface Output {
+    /**
+     * Writes data to the specified output.
+     * @param out output stream
+     * @throws IOException I/O exception
+     */
+    void write(DataOutput out) throws IOException;
+  }
+
+  // PRIVATE METHODS ==============================================================================
+
+  /**
+   * Appends the contents of a file to the journal.
+   * @param name name of the file
+   * @param data file contents
+   * @throws IOException I/O exception
+   */
+  private synchronized void file(final String name, final byte[] data) throws IOException {
+    final ArrayOutput ao = new ArrayOutput();
+    try(DataOutput out = record(ao, FILE, name)) {
+      out.write4(data.length);
+      out.writeBytes(data);
+    }
+    append(ao.finish());
+    contents.put(name, data);
+  }
+
+  /**
+   * Appends a record to the journal.
+   * @param record record
+   * @throws IOException I/O exception
+   */
+  private void append(final byte[] record) throws IOException {
+    journal.seek(size);
+    journal.write(record);
+    size += record.length;
+  }
+
+  /**
+   * Applies uncommitted changes to the database files.
+   * @throws IOException I/O exception
+   */
+  private void apply() throws IOException {
+    for(final Entry<String, HashMap<Long, long[]>> entry : pages.entrySet()) {
+      final RandomAccessFile file = files.get(entry.getKey());
+      for(final Entry<Long, long[]> page : entry.getValue().entrySet()) {
+        final long[] pg = page.getValue();
+        final byte[] data = new byte[(int) pg[1]];
+        journal.seek(pg[0]);
+        journal.readFully(data);
+        file.seek(page.getKey());
+        file.write(data);
+      }
+    }
+    for(final Entry<String, Long> entry : lengths.entrySet()) {
+      files.get(entry.getKey()).setLength(entry.getValue());
+    }
+    for(final Entry<String, byte[]> entry : contents.entrySet()) {
+      final String name = entry.getKey();
+      new IOFile(meta.dir, name).write(entry.getValue());
+      written.add(name);
+    }
+    pages.clear();
+    lengths.clear();
+    contents.clear();
+  }
+
+  /**
+   * Creates the output for a new record.
+   * @param ao array output
+   * @param type record type
+   * @param name name of the file
+   * @return output stream
+   * @throws IOException I/O exception
+   */
+  private static DataOutput record(final ArrayOutput ao, final int type, final String name)
+      throws IOException {
+    final byte[] token = Token.token(name);
+    final DataOutput out = new DataOutput(ao);
+    out.write1(type);
+    out.write1(token.length);
+    out.writeBytes(token);
+    return out;
+  }
+
+  /**
+   * Reads a record from the journal and optionally applies it.
+   * @param journal journal
+   * @param raf opened files (if {@code null}, changes will not be applied)
+   * @param dir database directory
+   * @param meta meta data
+   * @return record type
+   * @throws IOException I/O exception
+   */
+  private static int record(final RandomAccessFile journal,
+      final HashMap<String, RandomAccessFile> raf, final IOFile dir, final MetaData meta)
+      throws IOException {
+
+    final int type = journal.readUnsignedByte();
+    if(type == COMMIT) return type;
+    if(type < PAGE || type > COMMIT) throw new IOException(meta.name + ": invalid journal.");
+
+    final String name = Token.string(bytes(journal, journal.readUnsignedByte()));
+    final long pos = type == FILE ? 0 : read5(journal);
+    final byte[] data = type == LENGTH ? null : bytes(journal, journal.readInt());
+    if(raf != null) {
+      if(type == FILE) {
+        final IOFile file = new IOFile(dir, name);
+        file.write(data);
+        sync(file);
+      } else {
+        RandomAccessFile file = raf.get(name);
+        if(file == null) {
+          file = new RandomAccessFile(new IOFile(dir, name).file(), "rw");
+          raf.put(name, file);
+        }
+        if(type == LENGTH) {
+          file.setLength(pos);
+        } else {
+          file.seek(pos);
+          file.write(data);
+        }
+      }
+    }
+    return type;
+  }
+
+  /**
+   * Tries to exclusively lock the specified file.
+   * @param file file
+   * @return lock, or {@code null} if the file is locked by another process or thread
+   * @throws IOException I/O exception
+   */
+  private static FileLock tryLock(final RandomAccessFile file) throws IOException {
+    try {
+      return file.getChannel().tryLock();
+    } catch(final OverlappingFileLockException ex) {
+      Util.debug(ex);
+      return null;
+    }
+  }
+
+  /**
+   * Reads the specified number of bytes.
+   * @param journal journal
+   * @param length number of bytes
+   * @return bytes
+   * @throws IOException I/O exception
+   */
+  private static byte[] bytes(final RandomAccessFile journal, final int length)
+      throws IOException {
+    final byte[] data = new byte[length];
+    journal.readFully(data);
+    return data;
+  }
+
+  /**
+   * Reads a 5-byte value.
+   * @param journal journal
+   * @return value
+   * @throws IOException I/O exception
+   */
+  private static long read5(final RandomAccessFile journal) throws IOException {
+    return (long) journal.readUnsignedByte() << 32 | (long) journal.readInt() & 0xFFFFFFFFL;
+  }
+
+  /**
+   * Forces the contents of a file to disk.
+   * @param file file
+   * @throws IOException I/O exception
+   */
+  private static void sync(final IOFile file) throws IOException {
+    if(!file.exists()) return;
+    try(RandomAccessFile raf = new RandomAccessFile(file.file(), "rw")) {
+      raf.getFD().sync();
+    }
+  }
+}
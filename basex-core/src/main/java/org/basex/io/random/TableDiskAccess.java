@@ -10,7 +10,6 @@ import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.io.*;
 import org.basex.io.in.DataInput;
-import org.basex.io.out.DataOutput;
 import org.basex.util.*;
 
 /**
@@ -25,10 +24,16 @@ public final class TableDiskAccess extends TableAccess {
   private final Buffers buffers = new Buffers();
   /** File storing all pages. */
   private final RandomAccessFile file;
+  /** Name of the file. */
+  private final String name;
+  /** Journal (can be {@code null}). */
+  private final Journal journal;
   /** Bitmap storing free (=0) and used (=1) pages. */
   private BitArray usedPages;
   /** File lock. */
   private FileLock lock;
+  /** Counter for pages read by the last reading thread (can be {@code null}). */
+  private ThreadUsage.Reads reads;
 
   /** First pre values (ascending order); will be initialized with the first update. */
   private int[] fPreIndex;
@@ -75,7 +80,11 @@ public final class TableDiskAccess extends TableAccess {
     }
 
     // initialize data file
-    file = new RandomAccessFile(meta.dbFile(DATATBL).file(), "rw");
+    final IOFile io = meta.dbFile(DATATBL);
+    file = new RandomAccessFile(io.file(), "rw");
+    name = io.name();
+    journal = meta.journal;
+    if(journal != null) journal.register(name, file);
     if(!lock(write)) throw new BaseXException(Text.DB_PINNED_X, meta.name);
   }
 
@@ -104,7 +113,7 @@ public final class TableDiskAccess extends TableAccess {
     }
     if(!dirty || !all) return;
 
-    try(DataOutput out = new DataOutput(meta.dbFile(DATATBL + 'i'))) {
+    Journal.write(meta.dbFile(DATATBL + 'i'), journal, out -> {
       final int p = pages;
       boolean regular = true;
 
@@ -129,7 +138,7 @@ public final class TableDiskAccess extends TableAccess {
         for(int s = 0; s < p; s++) out.writeNum(pageIndex[s]);
         out.writeLongs(usedPages.toArray());
       }
-    }
+    });
     dirty = false;
   }
 
@@ -525,8 +534,12 @@ public final class TableDiskAccess extends TableAccess {
       if(pre >= pages) {
         pages = pre + 1;
       } else {
-        file.seek(buffer.pos * IO.BLOCKSIZE);
-        file.readFully(buffer.data);
+        final long pos = buffer.pos * IO.BLOCKSIZE;
+        if(journal == null || !journal.read(name, pos, buffer.data)) {
+          file.seek(pos);
+          file.readFully(buffer.data);
+          reads = ThreadUsage.read(reads);
+        }
       }
     } catch(final IOException ex) {
       Util.stack(ex);
@@ -541,8 +554,11 @@ public final class TableDiskAccess extends TableAccess {
   private void write(final Buffer buffer) throws IOException {
     if(!buffer.dirty) return;
 
-    file.seek(buffer.pos * IO.BLOCKSIZE);
-    file.write(buffer.data);
+    final long pos = buffer.pos * IO.BLOCKSIZE;
+    if(journal == null || !journal.write(name, pos, buffer.data, IO.BLOCKSIZE)) {
+      file.seek(pos);
+      file.write(buffer.data);
+    }
     buffer.dirty = false;
   }
 
@@ -145,8 +145,16 @@ abstract class MarkupSerializer extends StandardSerializer {
       final QNmSet qnames = cdata();
       final int vl = val.length;
       if(qnames.isEmpty() || elems.isEmpty() || !qnames.contains(elems.peek())) {
-        for(int k = 0; k < vl; k += cl(val, k)) {
-          printChar(cp(val, k));
+        for(int k = 0; k < vl;) {
+          // write runs of plain characters in one go
+          final int p = plain(val, k);
+          if(p > k) {
+            out.write(val, k, p - k);
+            k = p;
+          } else {
+            printChar(cp(val, k));
+            k += cl(val, k);
+          }
         }
       } else {
         out.print(CDATA_O);
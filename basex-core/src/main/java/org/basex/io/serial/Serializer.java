@@ -51,6 +51,11 @@ public abstract class Serializer implements Closeable {
   /** Indicates if an element is currently being opened. */
   private boolean opening;
 
+  /** Database of the cached element names. */
+  private Data qdata;
+  /** Cached element names (keys: name and namespace ids). */
+  private final IntObjMap<QNm> qnames = new IntObjMap<>();
+
   /**
    * Returns a default serializer.
    * @param os output stream reference
@@ -375,15 +380,11 @@ public abstract class Serializer implements Closeable {
         preparePi(data.name(pre, Data.PI), data.atom(pre++));
       } else {
         // element node:
-        final byte[] name = data.name(pre, kind);
-        byte[] nsPrefix = EMPTY, nsUri = null;
-        if(nsExist) {
-          nsPrefix = prefix(name);
-          nsUri = data.nspaces.uri(data.uriId(pre, kind));
-        }
+        final QNm name = qname(data, pre, nsExist);
+        byte[] nsPrefix = EMPTY, nsUri = name.uri();
+        if(nsExist) nsPrefix = prefix(name.string());
         // open element, serialize namespace declaration if it's new
-        openElement(new QNm(name, nsUri));
-        if(nsUri == null) nsUri = EMPTY;
+        openElement(name);
         namespace(nsPrefix, nsUri, false);
 
         // database contains namespaces: add declarations
@@ -428,6 +429,29 @@ public abstract class Serializer implements Closeable {
     }
   }
 
+  /**
+   * Returns the name of an element. Names are cached and reused for all elements
+   * with the same name and namespace ids.
+   * @param data data reference
+   * @param pre pre value
+   * @param ns namespace flag
+   * @return name
+   */
+  private QNm qname(final Data data, final int pre, final boolean ns) {
+    if(qdata != data) {
+      qnames.clear();
+      qdata = data;
+    }
+    final int nameId = data.nameId(pre), uriId = ns ? data.uriId(pre, Data.ELEM) : 0;
+    final int key = nameId << 8 | uriId;
+    QNm name = qnames.get(key);
+    if(name == null) {
+      name = new QNm(data.elemNames.key(nameId), ns ? data.nspaces.uri(uriId) : null);
+      qnames.put(key, name);
+    }
+    return name;
+  }
+
   /**
    * Serializes a node fragment.
    * @param node database node
@@ -142,6 +142,24 @@ public abstract class StandardSerializer extends OutputSerializer {
     return form == null || ascii(text) ? text : token(Normalizer.normalize(string(text), form));
   }
 
+  /**
+   * Returns the end position of a run of ASCII characters that can be written without
+   * being encoded, mapped or escaped.
+   * @param text text
+   * @param start start position
+   * @return end position (identical to the start position if no run was found)
+   */
+  protected final int plain(final byte[] text, final int start) {
+    if(map != null || encoding != Strings.UTF8) return start;
+    final int tl = text.length;
+    int t = start;
+    for(; t < tl; t++) {
+      final byte b = text[t];
+      if(b >= ' ' && b < 0x7F ? b == '&' || b == '<' || b == '>' : b != '\t') break;
+    }
+    return t;
+  }
+
   /**
    * Replaces a character with an entry from the character map.
    * @param cp codepoint
@@ -376,6 +376,11 @@ public final class QueryContext extends Job implements Closeable {
     }
   }
 
+  @Override
+  public boolean snapshots() {
+    return true;
+  }
+
   /**
    * Assigns an external property.
    * @param key key
@@ -697,7 +702,9 @@ public final class QueryContext extends Job implements Closeable {
         vb.add(materialize.apply(item));
       }
 
-      // invalidate current node set in context, apply updates
+      // lock databases whose documents have been locked, invalidate current node set in context,
+      // apply updates
+      context.locking.write(jc().locks);
       if(context.data() != null) context.invalidate();
       updates.apply(this);
 
@@ -237,6 +237,8 @@ public enum QueryError {
   /** Error code. */
   DB_RANGE_X_X(DB, "range", "Database '%' value out of range: %."),
   /** Error code. */
+  DB_REFBACKUP_X(DB, "backup", "Backup '%' is referenced by incremental backups."),
+  /** Error code. */
   DB_TARGET_X(DB, "target", "Invalid target path: %."),
 
   // Fetch Module
@@ -323,12 +325,16 @@ public enum QueryError {
 
   // Jobs Module
 
+  /** Error code. */
+  JOBS_CRON_X(JOBS, "cron", "Invalid cron expression: %."),
+  /** Error code. */
+  JOBS_DISCARDED_X(JOBS, "discarded", "Result was discarded, cache limit was exceeded: %."),
   /** Error code. */
   JOBS_ID_EXISTS_X(JOBS, "id", "Job id already exists: %."),
   /** Error code. */
   JOBS_ID_INVALID_X(JOBS, "id", "Invalid job name: %."),
   /** Error code. */
-  JOBS_OPTIONS(JOBS, "options", "Either 'cache' or 'interval' option is allowed."),
+  JOBS_OPTIONS(JOBS, "options", "Options 'interval' and 'cron' are exclusive."),
   /** Error code. */
   JOBS_OVERFLOW(JOBS, "overflow", "Too many queries queued."),
   /** Error code. */
@@ -8,6 +8,7 @@ import java.util.*;
 import org.basex.build.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.core.locks.*;
 import org.basex.core.users.*;
 import org.basex.data.*;
 import org.basex.io.*;
@@ -176,7 +177,7 @@ public final class QueryResources {
     // open and register database
     if(!ctx.perm(Perm.READ, name)) throw BASEX_PERMISSION_X_X.get(ii, Perm.READ, name);
     try {
-      return addData(Open.open(name, ctx, ctx.options));
+      return addData(open(name));
     } catch(final IOException ex) {
       throw DB_OPEN2_X.get(ii, ex);
     }
@@ -265,11 +266,27 @@ public final class QueryResources {
     return modules;
   }
 
+  /**
+   * Opens a database. If the database is currently updated, and if a snapshot has been assigned
+   * to the job, the snapshot will be returned.
+   * @param name name of database
+   * @return database instance
+   * @throws IOException I/O exception
+   */
+  private Data open(final String name) throws IOException {
+    final Context ctx = qc.context;
+    final Snapshot snapshot = qc.jc().locks.snapshot(name);
+    if(snapshot == null) return Open.open(name, ctx, ctx.options);
+
+    if(!ctx.perm(Perm.READ, name)) throw new BaseXException(Text.PERM_REQUIRED_X, Perm.READ);
+    return snapshot.data(ctx.options);
+  }
+
   /**
    * Removes and closes the specified database. Called during updates.
    * @param name name of database to be removed
    */
-  public void remove(final String name) {
+  public synchronized void remove(final String name) {
     final boolean mainmem = qc.context.options.get(MainOptions.MAINMEM);
     final int ds = datas.size();
     for(int d = globalData ? 1 : 0; d < ds; d++) {
@@ -402,7 +419,7 @@ public final class QueryResources {
     // try to open existing database
     if(withdb && dbName != null) {
       try {
-        return addData(Open.open(dbName, ctx, ctx.options));
+        return addData(open(dbName));
       } catch(final IOException ex) {
         Util.debug(ex);
       }
@@ -753,6 +753,9 @@ public enum Function implements AFunction {
   /** XQuery function. */
   _CSV_PARSE(CsvParse.class, "parse(string[,options])", arg(STR_ZO, MAP_ZO), ITEM_ZO, CSV_URI),
   /** XQuery function. */
+  _CSV_RECORDS(CsvRecords.class, "records(uri[,options])", arg(STR_O, MAP_ZO), ITEM_ZM,
+      flag(NDT), CSV_URI),
+  /** XQuery function. */
   _CSV_SERIALIZE(CsvSerialize.class, "serialize(item[,options])", arg(ITEM_ZO, ITEM_ZO), STR_O,
       CSV_URI),
 
@@ -783,8 +786,8 @@ public enum Function implements AFunction {
   _DB_CREATE(DbCreate.class, "create(name[,inputs[,paths[,options]]])",
       arg(STR_O, ITEM_ZM, STR_ZM, MAP_ZO), EMP, flag(UPD), DB_URI),
   /** XQuery function. */
-  _DB_CREATE_BACKUP(DbCreateBackup.class, "create-backup(database)",
-      arg(STR_O), EMP, flag(UPD), DB_URI),
+  _DB_CREATE_BACKUP(DbCreateBackup.class, "create-backup(database[,options])",
+      arg(STR_O, MAP_ZO), EMP, flag(UPD), DB_URI),
   /** XQuery function. */
   _DB_DELETE(DbDelete.class, "delete(database,path)", arg(STR_O, STR_O), EMP, flag(UPD), DB_URI),
   /** XQuery function. */
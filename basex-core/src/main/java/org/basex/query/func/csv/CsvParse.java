@@ -41,10 +41,14 @@ public class CsvParse extends StandardFunc {
    */
   protected final Item parse(final IO io, final QueryContext qc) throws QueryException {
     final CsvParserOptions opts = toOptions(1, new CsvParserOptions(), qc);
+    // register converter as child job: parallel parsing will be stopped with the query
+    final CsvConverter conv = qc.pushJob(CsvConverter.get(opts));
     try {
-      return CsvConverter.get(opts).convert(io);
+      return conv.convert(io);
     } catch(final IOException ex) {
       throw CSV_PARSE_X.get(info, ex);
+    } finally {
+      qc.popJob();
     }
   }
 }
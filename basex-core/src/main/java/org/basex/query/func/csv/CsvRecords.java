@@ -0,0 +1,55 @@
+package org.basex.query.func.csv;
+
+import static org.basex.query.QueryError.*;
+
+import java.io.*;
+
+import org.basex.build.csv.*;
+import org.basex.io.*;
+import org.basex.io.in.*;
+import org.basex.io.parse.csv.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.iter.*;
+import org.basex.query.value.*;
+import org.basex.query.value.item.*;
+
+/**
+ * Function implementation.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class CsvRecords extends StandardFunc {
+  @Override
+  public Iter iter(final QueryContext qc) throws QueryException {
+    final IO io = checkPath(0, qc);
+    final CsvParserOptions opts = toOptions(1, new CsvParserOptions(), qc);
+
+    return new Iter() {
+      NewlineInput ni;
+      CsvRecordReader reader;
+
+      @Override
+      public Item next() throws QueryException {
+        try {
+          if(reader == null) {
+            ni = new NewlineInput(io);
+            qc.resources.add(ni);
+            reader = new CsvRecordReader(ni, opts);
+          }
+          final Item item = reader.next();
+          if(item == null) qc.resources.remove(ni);
+          return item;
+        } catch(final IOException ex) {
+          throw CSV_PARSE_X.get(info, ex);
+        }
+      }
+    };
+  }
+
+  @Override
+  public Value value(final QueryContext qc) throws QueryException {
+    return iter(qc).value(qc, this);
+  }
+}
@@ -3,10 +3,12 @@ package org.basex.query.func.db;
 import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
+import org.basex.core.*;
 import org.basex.data.*;
 import org.basex.query.*;
 import org.basex.query.func.*;
 import org.basex.query.util.*;
+import org.basex.query.value.item.*;
 
 /**
  * Function implementation.
@@ -40,8 +42,45 @@ abstract class DbAccess extends StandardFunc {
     return norm;
   }
 
+  /**
+   * Returns the name of the addressed database if its documents are locked instead of the
+   * database. In this case, the database must not be opened before the updates are applied.
+   * @param qc query context
+   * @return name of database, or {@code null}
+   * @throws QueryException query exception
+   */
+  final String documents(final QueryContext qc) throws QueryException {
+    if(!(exprs[0] instanceof Str)) return null;
+    final String name = string(((Str) exprs[0]).string());
+    if(!qc.jc().locks.documents.contains(name)) return null;
+    if(!Databases.validName(name)) throw INVDB_X.get(info, name);
+    return name;
+  }
+
+  /**
+   * Notifies the visitor of a lock on the database and the addressed document.
+   * @param visitor visitor
+   * @param i index of the path argument
+   * @return if more expressions should be visited
+   */
+  final boolean documentLock(final ASTVisitor visitor, final int i) {
+    final String db = exprs[0] instanceof Str ? string(((Str) exprs[0]).string()) : null;
+    final String path = i < exprs.length && exprs[i] instanceof Str ?
+      MetaData.normPath(string(((Str) exprs[i]).string())) : null;
+    return visitor.lock(db, path);
+  }
+
+  /**
+   * Notifies the visitor of the locks of this function.
+   * @param visitor visitor
+   * @return if more expressions should be visited
+   */
+  boolean lock(final ASTVisitor visitor) {
+    return dataLock(visitor, 0);
+  }
+
   @Override
   public boolean accept(final ASTVisitor visitor) {
-    return dataLock(visitor, 0) && super.accept(visitor);
+    return lock(visitor) && super.accept(visitor);
   }
 }
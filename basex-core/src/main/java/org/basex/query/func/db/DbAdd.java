@@ -6,6 +6,8 @@ import org.basex.data.*;
 import org.basex.query.*;
 import org.basex.query.up.primitives.*;
 import org.basex.query.up.primitives.db.*;
+import org.basex.query.up.primitives.name.*;
+import org.basex.query.util.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.seq.*;
 import org.basex.util.*;
@@ -20,7 +22,9 @@ import org.basex.util.options.*;
 public final class DbAdd extends DbNew {
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    final Data data = checkData(qc);
+    // locked documents: open database when the updates are applied
+    final String name = documents(qc);
+    final Data data = name == null ? checkData(qc) : null;
     byte[] path = null;
     if(exprs.length > 2) {
       path = toTokenOrNull(exprs[2], qc);
@@ -29,7 +33,13 @@ public final class DbAdd extends DbNew {
     final NewInput input = checkInput(toNodeOrAtomItem(1, qc), path == null ? EMPTY : path);
     final Options opts = toOptions(3, new Options(), qc);
 
-    qc.updates().add(new DBAdd(data, input, opts, false, qc, info), qc);
+    qc.updates().add(data == null ? new DBDocuments(name, qc, info).add(input, opts) :
+      new DBAdd(data, input, opts, false, qc, info), qc);
     return Empty.VALUE;
   }
+
+  @Override
+  boolean lock(final ASTVisitor visitor) {
+    return documentLock(visitor, 2);
+  }
 }
@@ -4,6 +4,7 @@ import static org.basex.query.QueryError.*;
 import static org.basex.util.Token.*;
 
 import org.basex.core.*;
+import org.basex.core.cmd.*;
 import org.basex.query.*;
 import org.basex.query.up.primitives.name.*;
 import org.basex.query.value.item.*;
@@ -23,7 +24,8 @@ public final class DbCreateBackup extends DbAccess {
     if(!Databases.validName(name)) throw DB_NAME_X.get(info, name);
     if(!qc.context.soptions.dbExists(name)) throw DB_OPEN1_X.get(info, name);
 
-    qc.updates().add(new BackupCreate(name, qc, info), qc);
+    final BackupOptions options = toOptions(1, new BackupOptions(), qc);
+    qc.updates().add(new BackupCreate(name, options, qc, info), qc);
     return Empty.VALUE;
   }
 }
@@ -7,7 +7,9 @@ import org.basex.io.*;
 import org.basex.query.*;
 import org.basex.query.up.*;
 import org.basex.query.up.primitives.db.*;
+import org.basex.query.up.primitives.name.*;
 import org.basex.query.up.primitives.node.*;
+import org.basex.query.util.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.seq.*;
 import org.basex.util.*;
@@ -22,13 +24,20 @@ import org.basex.util.list.*;
 public final class DbDelete extends DbAccess {
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    final Data data = checkData(qc);
+    // locked documents: open database and resolve resources when the updates are applied
+    final String name = documents(qc);
+    final Data data = name == null ? checkData(qc) : null;
     final String path = path(1, qc);
 
+    final Updates updates = qc.updates();
+    if(data == null) {
+      updates.add(new DBDocuments(name, qc, info).delete(path), qc);
+      return Empty.VALUE;
+    }
+
     // delete XML resources
     final IntList docs = data.resources.docs(path);
     final int ds = docs.size();
-    final Updates updates = qc.updates();
     for(int d = 0; d < ds; d++) {
       updates.add(new DeleteNode(docs.get(d), data, info), qc);
     }
@@ -40,4 +49,9 @@ public final class DbDelete extends DbAccess {
     }
     return Empty.VALUE;
   }
+
+  @Override
+  boolean lock(final ASTVisitor visitor) {
+    return documentLock(visitor, 1);
+  }
 }
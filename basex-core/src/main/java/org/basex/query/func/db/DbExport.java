@@ -5,6 +5,7 @@ import static org.basex.util.Token.*;
 
 import java.io.*;
 
+import org.basex.core.*;
 import org.basex.core.cmd.*;
 import org.basex.data.*;
 import org.basex.io.serial.*;
@@ -28,8 +29,9 @@ public final class DbExport extends DbAccess {
     final String path = string(toToken(exprs[1], qc));
     final Item so = exprs.length > 2 ? exprs[2].item(qc, info) : Empty.VALUE;
     final SerializerOptions sopts = FuncOptions.serializer(so, info);
+    final int threads = qc.context.options.get(MainOptions.EXPORTPARALLEL);
     try {
-      Export.export(data, path, sopts, null);
+      Export.export(data, path, sopts, threads, null);
     } catch(final IOException ex) {
       throw SER_X.get(info, ex);
     }
@@ -9,7 +9,9 @@ import org.basex.query.*;
 import org.basex.query.up.*;
 import org.basex.query.up.primitives.*;
 import org.basex.query.up.primitives.db.*;
+import org.basex.query.up.primitives.name.*;
 import org.basex.query.up.primitives.node.*;
+import org.basex.query.util.*;
 import org.basex.query.value.item.*;
 import org.basex.query.value.seq.*;
 import org.basex.util.*;
@@ -25,12 +27,20 @@ import org.basex.util.options.*;
 public final class DbReplace extends DbNew {
   @Override
   public Item item(final QueryContext qc, final InputInfo ii) throws QueryException {
-    final Data data = checkData(qc);
+    // locked documents: open database and resolve resources when the updates are applied
+    final String name = documents(qc);
+    final Data data = name == null ? checkData(qc) : null;
     final String path = path(1, qc);
     final Item item = toNodeOrAtomItem(2, qc);
     final Options opts = toOptions(3, new Options(), qc);
 
     final Updates updates = qc.updates();
+    if(data == null) {
+      final NewInput input = item instanceof Bin ? null : checkInput(item, token(path));
+      updates.add(new DBDocuments(name, qc, info).replace(path, item, input, opts), qc);
+      return Empty.VALUE;
+    }
+
     final IntList docs = data.resources.docs(path);
     int d = 0;
 
@@ -55,4 +65,9 @@ public final class DbReplace extends DbNew {
     for(; d < ds; d++) updates.add(new DeleteNode(docs.get(d), data, info), qc);
     return Empty.VALUE;
   }
+
+  @Override
+  boolean lock(final ASTVisitor visitor) {
+    return documentLock(visitor, 1);
+  }
 }
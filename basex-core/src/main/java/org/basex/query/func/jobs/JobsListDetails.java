@@ -31,7 +31,8 @@ public final class JobsListDetails extends StandardFunc {
     final ValueBuilder vb = new ValueBuilder(qc);
 
     final byte[][] atts = {
-      ID, TYPE, STATE, USER, DURATION, START, END, INTERVAL, READS, WRITES, TIME
+      ID, TYPE, STATE, USER, DURATION, START, END, INTERVAL, READS, WRITES, TIME, PROGRESS,
+      CPU, ALLOCATED, PAGES, OUTPUT
     };
     for(final byte[] key : ids) {
       final TokenList entry = JobsList.entry(key, jobs, max);
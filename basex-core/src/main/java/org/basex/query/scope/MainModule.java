@@ -2,6 +2,7 @@ package org.basex.query.scope;
 
 import java.util.*;
 
+import org.basex.core.*;
 import org.basex.core.locks.*;
 import org.basex.query.*;
 import org.basex.query.expr.*;
@@ -176,6 +177,8 @@ public final class MainModule extends AModule {
     private final Locks locks;
     /** Updating flag. */
     private final boolean updating;
+    /** Lock documents instead of databases. */
+    private final boolean documents;
     /** Focus level. */
     private int level;
 
@@ -187,6 +190,7 @@ public final class MainModule extends AModule {
     private LockVisitor(final Locks locks, final QueryContext qc) {
       this.locks = locks;
       updating = qc.updating;
+      documents = updating && qc.context.soptions.get(StaticOptions.DOCLOCKS);
       level = qc.ctxItem == null ? 0 : 1;
     }
 
@@ -201,6 +205,15 @@ public final class MainModule extends AModule {
       return true;
     }
 
+    @Override
+    public boolean lock(final String db, final String path) {
+      // lock database if path is unknown
+      if(db == null || path == null || path.isEmpty() || !documents) return lock(db, false);
+      locks.writes.add(Locking.document(db, path));
+      locks.documents.add(db);
+      return true;
+    }
+
     @Override
     public void enterFocus() {
       level++;
@@ -115,10 +115,13 @@ abstract class ContextModifier {
         data.startUpdate(ctx.options);
         datas.add(data);
       }
-      // apply node and database update
+      // apply node and database updates; optimizations of multiple databases may run in parallel
+      final ArrayList<DataUpdates> optimize = new ArrayList<>();
       for(final DataUpdates up : dbUpdates.values()) {
-        up.apply(qc);
+        if(up.optimize()) optimize.add(up);
+        else up.apply(qc);
       }
+      if(!optimize.isEmpty()) new Optimizations(optimize).apply(qc);
     } catch(final IOException ex) {
       throw DB_LOCK2_X.get(null, ex);
     } finally {
@@ -158,6 +158,16 @@ final class DataUpdates {
     return data;
   }
 
+  /**
+   * Indicates if this instance exclusively optimizes a persistent database.
+   * Called after the updates have been prepared.
+   * @return result of check
+   */
+  boolean optimize() {
+    return !data.inMemory() && auc.updatesSize() == 0 && puts.isEmpty() &&
+        dbUpdates.size() == 1 && dbUpdates.get(0).type == UpdateType.DBOPTIMIZE;
+  }
+
   /**
    * Applies all updates for this specific database.
    * @param qc query context
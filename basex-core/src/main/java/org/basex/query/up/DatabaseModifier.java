@@ -25,8 +25,9 @@ final class DatabaseModifier extends ContextModifier {
   synchronized void add(final Update update, final QueryContext qc) throws QueryException {
     // check permissions
     if(update instanceof NameUpdate) {
-      if(!qc.context.perm(Perm.CREATE, ((NameUpdate) update).name()))
-        throw BASEX_PERMISSION_X.get(update.info(), Perm.CREATE);
+      final Perm perm = update.type == UpdateType.DBDOCUMENTS ? Perm.WRITE : Perm.CREATE;
+      if(!qc.context.perm(perm, ((NameUpdate) update).name()))
+        throw BASEX_PERMISSION_X.get(update.info(), perm);
     } else if(update instanceof DataUpdate) {
       if(!qc.context.perm(Perm.WRITE, ((DataUpdate) update).data().meta.name))
         throw BASEX_PERMISSION_X.get(update.info(), Perm.WRITE);
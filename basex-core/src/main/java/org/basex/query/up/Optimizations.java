@@ -0,0 +1,154 @@
+package org.basex.query.up;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.basex.core.*;
+import org.basex.core.jobs.*;
+import org.basex.query.*;
+import org.basex.util.*;
+
+/**
+ * Applies updates that exclusively optimize databases. As each database is optimized
+ * independently, multiple databases can be processed in parallel. The number of threads is
+ * limited by {@link MainOptions#OPTIMIZEPARALLEL}. No further optimizations will be started as
+ * long as more than half of the available memory is consumed.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+final class Optimizations extends Job {
+  /** Updates to be applied. */
+  private final List<DataUpdates> updates;
+  /** Number of applied updates. */
+  private volatile int applied;
+
+  /**
+   * Constructor.
+   * @param updates updates to be applied
+   */
+  Optimizations(final List<DataUpdates> updates) {
+    this.updates = updates;
+  }
+
+  /**
+   * Applies all updates.
+   * @param qc query context
+   * @throws QueryException query exception
+   */
+  void apply(final QueryContext qc) throws QueryException {
+    final int size = updates.size();
+    final int threads = Math.max(1, Math.min(size,
+        qc.context.options.get(MainOptions.OPTIMIZEPARALLEL)));
+
+    qc.pushJob(this);
+    try {
+      if(threads == 1) {
+        for(final DataUpdates up : updates) {
+          up.apply(qc);
+          applied++;
+        }
+      } else {
+        parallel(threads, qc);
+      }
+    } finally {
+      qc.popJob();
+    }
+  }
+
+  /**
+   * Applies all updates in parallel. If an optimization fails, all running optimizations will
+   * be awaited before the first error is raised.
+   * @param threads maximum number of threads
+   * @param qc query context
+   * @throws QueryException query exception
+   */
+  private void parallel(final int threads, final QueryContext qc) throws QueryException {
+    final long max = Runtime.getRuntime().maxMemory() / 2;
+    final ExecutorService pool = Executors.newFixedThreadPool(threads);
+    final CompletionService<Void> cs = new ExecutorCompletionService<>(pool);
+    Throwable error = null;
+    try {
+      int running = 0;
+      for(final DataUpdates up : updates) {
+        // wait for a running optimization if the thread or memory budget is exhausted
+        while(running > 0 && (running == threads || Performance.memory() > max)) {
+          final Throwable th = result(cs);
+          if(error == null) error = th;
+          running--;
+        }
+        // skip remaining databases if an optimization has failed
+        if(error != null) break;
+        cs.submit(() -> {
+          up.apply(qc);
+          return null;
+        });
+        running++;
+      }
+      // wait until all optimizations have been finished
+      for(; running > 0; running--) {
+        final Throwable th = result(cs);
+        if(error == null) error = th;
+      }
+    } finally {
+      pool.shutdown();
+      await(pool);
+    }
+    if(error instanceof QueryException) throw (QueryException) error;
+    if(error instanceof RuntimeException) throw (RuntimeException) error;
+    if(error instanceof Error) throw (Error) error;
+    if(error != null) throw Util.notExpected(error);
+  }
+
+  /**
+   * Waits for the next finished optimization.
+   * @param cs completion service
+   * @return error raised by the optimization, or {@code null}
+   */
+  private Throwable result(final CompletionService<Void> cs) {
+    boolean interrupted = false;
+    try {
+      while(true) {
+        try {
+          cs.take().get();
+          applied++;
+          return null;
+        } catch(final InterruptedException ex) {
+          // databases must not be released before all optimizations have been finished
+          Util.debug(ex);
+          interrupted = true;
+        } catch(final ExecutionException ex) {
+          return ex.getCause();
+        }
+      }
+    } finally {
+      if(interrupted) Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Waits until all threads of the pool have been terminated.
+   * @param pool thread pool (must have been shut down)
+   */
+  private static void await(final ExecutorService pool) {
+    boolean interrupted = false;
+    try {
+      while(true) {
+        try {
+          if(pool.awaitTermination(1, TimeUnit.DAYS)) return;
+        } catch(final InterruptedException ex) {
+          // databases must not be released before all optimizations have been finished
+          Util.debug(ex);
+          interrupted = true;
+        }
+      }
+    } finally {
+      if(interrupted) Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public double progressInfo() {
+    return (double) applied / updates.size();
+  }
+}
@@ -26,6 +26,10 @@ public enum UpdateType {
   /** Alter backup.         */ BACKUPALTER,
   /** Create backup.        */ BACKUPCREATE,
 
+  // Operations on resources of databases whose documents are locked
+
+  /** Update documents.     */ DBDOCUMENTS,
+
   // Operations on nodes of existing databases
 
   /** Dummy type, indicating start of node updates. */ _NODE_UPDATES_,
@@ -17,20 +17,26 @@ import org.basex.util.*;
  * @author Lukas Kircher
  */
 public final class BackupCreate extends NameUpdate {
+  /** Backup options. */
+  private final BackupOptions options;
+
   /**
    * Constructor.
    * @param name name of database to be backed up
+   * @param options backup options
    * @param qc query context
    * @param info input info
    */
-  public BackupCreate(final String name, final QueryContext qc, final InputInfo info) {
+  public BackupCreate(final String name, final BackupOptions options, final QueryContext qc,
+      final InputInfo info) {
     super(UpdateType.BACKUPCREATE, name, qc, info);
+    this.options = options;
   }
 
   @Override
   public void apply() throws QueryException {
     try {
-      CreateBackup.backup(name, qc.context.soptions, null);
+      CreateBackup.backup(name, options, qc.context, null);
     } catch(final IOException ex) {
       throw UPDBERROR_X.get(info, ex);
     }
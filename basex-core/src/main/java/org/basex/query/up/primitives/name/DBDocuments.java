@@ -0,0 +1,168 @@
+package org.basex.query.up.primitives.name;
+
+import static org.basex.query.QueryError.*;
+import static org.basex.util.Token.*;
+
+import java.io.*;
+
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.data.*;
+import org.basex.io.*;
+import org.basex.query.*;
+import org.basex.query.func.*;
+import org.basex.query.up.atomic.*;
+import org.basex.query.up.primitives.*;
+import org.basex.query.up.primitives.db.*;
+import org.basex.query.value.item.*;
+import org.basex.util.*;
+import org.basex.util.hash.*;
+import org.basex.util.list.*;
+import org.basex.util.options.*;
+
+/**
+ * Update primitive for the {@link Function#_DB_ADD}, {@link Function#_DB_REPLACE} and
+ * {@link Function#_DB_DELETE} functions if documents are locked instead of databases
+ * (see {@link StaticOptions#DOCLOCKS}). The database is neither opened nor accessed before the
+ * updates are applied, i.e., before the database has been locked. Input documents are parsed
+ * in advance.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class DBDocuments extends NameUpdate {
+  /** Paths of deleted resources. */
+  private final StringList deletes = new StringList(0);
+  /** Paths of replaced resources. */
+  private final StringList replaces = new StringList(0);
+  /** Binary resources to be stored. */
+  private final TokenObjMap<Item> stores = new TokenObjMap<>();
+  /** Documents to be added (can be {@code null}). */
+  private DBNew add;
+
+  /**
+   * Constructor.
+   * @param name name of database
+   * @param qc query context
+   * @param info input info
+   */
+  public DBDocuments(final String name, final QueryContext qc, final InputInfo info) {
+    super(UpdateType.DBDOCUMENTS, name, qc, info);
+  }
+
+  /**
+   * Adds a document.
+   * @param input document to add
+   * @param opts database options
+   * @return self reference
+   * @throws QueryException query exception
+   */
+  public DBDocuments add(final NewInput input, final Options opts) throws QueryException {
+    final DBNew dbnew = new DBNew(qc, new DBOptions(opts, DBOptions.PARSING, info), info, input);
+    if(add == null) add = dbnew;
+    else add.merge(dbnew);
+    return this;
+  }
+
+  /**
+   * Replaces a resource.
+   * @param path path to the resource
+   * @param item binary item or document to add
+   * @param input document to add (must be {@code null} if a binary item is specified)
+   * @param opts database options
+   * @return self reference
+   * @throws QueryException query exception
+   */
+  public DBDocuments replace(final String path, final Item item, final NewInput input,
+      final Options opts) throws QueryException {
+    replaces.add(path);
+    if(input != null) add(input, opts);
+    else stores.put(token(path), item);
+    return this;
+  }
+
+  /**
+   * Deletes a resource.
+   * @param path path to the resource
+   * @return self reference
+   */
+  public DBDocuments delete(final String path) {
+    deletes.add(path);
+    return this;
+  }
+
+  @Override
+  public void merge(final Update update) throws QueryException {
+    final DBDocuments docs = (DBDocuments) update;
+    for(final String path : docs.replaces) {
+      if(replaces.contains(path)) throw UPMULTDOC_X_X.get(info, name, path);
+      replaces.add(path);
+    }
+    deletes.add(docs.deletes);
+    for(final byte[] path : docs.stores) stores.put(path, docs.stores.get(path));
+    if(docs.add != null) {
+      if(add == null) add = docs.add;
+      else add.merge(docs.add);
+    }
+  }
+
+  @Override
+  public void prepare() throws QueryException {
+    if(add != null) add.prepare(name, false);
+  }
+
+  @Override
+  public void apply() throws QueryException {
+    // database is opened after it has been locked
+    final Data data = qc.resources.database(name, info);
+    final boolean disk = !data.inMemory();
+
+    // check targets, collect documents and binary resources to be deleted
+    final IntList docs = new IntList();
+    final StringList binaries = new StringList(0);
+    for(final String path : deletes) {
+      docs.add(data.resources.docs(path).finish());
+      if(disk) {
+        if(data.meta.binary(path) == null) throw DB_PATH_X.get(info, path);
+        binaries.add(path);
+      }
+    }
+    for(final String path : replaces) {
+      docs.add(data.resources.docs(path).finish());
+      final Item item = stores.get(token(path));
+      if(disk) {
+        final IOFile bin = data.meta.binary(path);
+        if(bin == null || bin.isDir()) throw DB_TARGET_X.get(info, path);
+        if(item == null && bin.exists()) binaries.add(path);
+      } else if(item != null) {
+        throw STRNOD_X_X.get(info, item.type, item);
+      }
+    }
+
+    final MainOptions options = qc.context.options;
+    try {
+      data.startUpdate(options);
+    } catch(final IOException ex) {
+      throw DB_LOCK2_X.get(info, ex);
+    }
+    try {
+      // delete existing documents, add new documents, store and delete binary resources
+      final AtomicUpdateCache auc = new AtomicUpdateCache(data);
+      for(final int pre : docs.ddo().finish()) auc.addDelete(pre);
+      auc.execute(false);
+      if(add != null) add.add(data);
+      for(final byte[] path : stores) {
+        new DBStore(data, string(path), stores.get(path), info).apply();
+      }
+      for(final String path : binaries) Delete.deleteBinary(data, path);
+      Optimize.finish(data);
+    } catch(final IOException ex) {
+      throw UPDBERROR_X.get(info, ex);
+    } finally {
+      data.finishUpdate(options);
+    }
+  }
+
+  @Override
+  protected String operation() { return "updated"; }
+}
@@ -96,6 +96,18 @@ public abstract class ASTVisitor {
     return true;
   }
 
+  /**
+   * Notifies the visitor of a document lock. Overwritten by {@link MainModule}.
+   * Returns {@code false} if the database is not known statically.
+   * @param db database ({@code null} if unknown)
+   * @param path normalized path to the document ({@code null} if unknown)
+   * @return if more expressions should be visited ({@code true} by default)
+   */
+  @SuppressWarnings("unused")
+  public boolean lock(final String db, final String path) {
+    return lock(db, false);
+  }
+
   /**
    * Notifies the visitor of an expression entering a focus. Overwritten by {@link MainModule}.
    */
@@ -19,6 +19,8 @@ public final class B64Lazy extends B64 implements Lazy {
   private final IO input;
   /** Error message. */
   private final QueryError error;
+  /** Temporary input (will be deleted when the current request has been processed). */
+  private final boolean temporary;
   /** Caching flag. */
   private boolean cache;
 
@@ -28,8 +30,19 @@ public final class B64Lazy extends B64 implements Lazy {
    * @param error error message to be thrown
    */
   public B64Lazy(final IO input, final QueryError error) {
+    this(input, error, false);
+  }
+
+  /**
+   * Constructor.
+   * @param input input
+   * @param error error message to be thrown
+   * @param temporary temporary input (contents will be cached if the item is materialized)
+   */
+  public B64Lazy(final IO input, final QueryError error, final boolean temporary) {
     this.input = input;
     this.error = error;
+    this.temporary = temporary;
   }
 
   @Override
@@ -64,6 +77,20 @@ public final class B64Lazy extends B64 implements Lazy {
     }
   }
 
+  @Override
+  public Item materialize(final QueryContext qc, final boolean copy) {
+    // temporary input may be deleted before the item is accessed again: cache contents
+    if(temporary) {
+      try {
+        cache(null);
+      } catch(final QueryException ex) {
+        Util.debug(ex);
+        return null;
+      }
+    }
+    return this;
+  }
+
   @Override
   public boolean isCached() {
     return data != null;
@@ -4,6 +4,9 @@ import static org.basex.util.Token.*;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.concurrent.locks.*;
 
 import org.basex.core.*;
 import org.basex.core.users.*;
@@ -23,6 +26,12 @@ import org.basex.util.*;
  *   <li><b>Performance</b>: Measured time in milliseconds</li>
  * </ul>
  *
+ * If {@link StaticOptions#LOGBUFFER} is assigned a positive value, log entries will be added to a
+ * lock-free buffer and written in batches by a background thread. The buffer is written if
+ * half of it is full, or after {@link #INTERVAL} milliseconds. If the buffer is full, the entries
+ * will be written by the requesting thread. Buffered entries are written before log files are
+ * accessed.
+ *
  * @author BaseX Team 2005-20, BSD License
  * @author Christian Gruen
  */
@@ -38,11 +47,20 @@ public final class Log implements QueryTracer {
     /** OK.      */ OK
   }
 
+  /** Interval for writing buffered log entries (ms). */
+  private static final long INTERVAL = 500;
+
   /** Static options. */
   private final StaticOptions sopts;
+  /** Buffered log entries. */
+  private final Queue<Entry> entries = new ConcurrentLinkedQueue<>();
+  /** Number of buffered log entries. */
+  private final AtomicInteger buffered = new AtomicInteger();
 
   /** Current log file. */
   private LogFile file;
+  /** Thread that writes buffered log entries (can be {@code null}). */
+  private volatile Thread writer;
 
   /**
    * Constructor.
@@ -58,6 +76,7 @@ public final class Log implements QueryTracer {
    * @return log file, or {@code null} if it does not exist
    */
   public LogFile file(final String name) {
+    flush();
     LogFile lf = file;
     if(lf == null || !lf.valid(name)) lf = new LogFile(name, dir());
     return lf.exists() ? lf : null;
@@ -121,15 +140,61 @@ public final class Log implements QueryTracer {
     tb.add('\t').add(info != null ? chop(normalize(token(info)), ml) : EMPTY);
     if(perf != null) tb.add('\t').add(perf);
     tb.add(Prop.NL);
+    final Entry entry = new Entry(DateTime.format(date, DateTime.DATE), tb.finish());
+
+    // buffer log entry, wake up writer if half of the buffer is full
+    final int max = sopts.get(StaticOptions.LOGBUFFER);
+    if(max > 0 && buffered.get() < max) {
+      entries.add(entry);
+      final Thread thread = writer();
+      if(buffered.incrementAndGet() >= (max + 1) / 2) LockSupport.unpark(thread);
+      return;
+    }
 
+    // write buffered entries and log entry
+    try {
+      synchronized(sopts) {
+        drain();
+        write(entry.name, entry.line);
+      }
+    } catch(final IOException ex) {
+      Util.stack(ex);
+    }
+  }
+
+  /**
+   * Returns the thread that writes buffered log entries. Starts a new thread if required.
+   * @return thread
+   */
+  private Thread writer() {
+    Thread thread = writer;
+    if(thread == null) {
+      synchronized(entries) {
+        thread = writer;
+        if(thread == null) {
+          thread = new Thread(() -> {
+            while(writer == Thread.currentThread()) {
+              LockSupport.parkNanos(INTERVAL * 1000000L);
+              flush();
+            }
+          }, "LogWriter");
+          thread.setDaemon(true);
+          writer = thread;
+          thread.start();
+        }
+      }
+    }
+    return thread;
+  }
+
+  /**
+   * Writes buffered log entries.
+   */
+  private void flush() {
+    if(buffered.get() == 0) return;
     try {
       synchronized(sopts) {
-        // create new log file and write log entry
-        final String name = DateTime.format(date, DateTime.DATE);
-        if(file != null && !file.valid(name)) close();
-        if(file == null) file = LogFile.create(name, dir());
-        // write log entry
-        file.write(tb.finish());
+        drain();
       }
     } catch(final IOException ex) {
       Util.stack(ex);
@@ -137,26 +202,71 @@ public final class Log implements QueryTracer {
   }
 
   /**
-   * Closes the log file.
+   * Writes buffered log entries in batches.
+   * Must be called by the thread that owns the monitor of the static options.
+   * @throws IOException I/O exception
+   */
+  private void drain() throws IOException {
+    final TokenBuilder tb = new TokenBuilder();
+    String name = null;
+    for(Entry entry; (entry = entries.poll()) != null;) {
+      buffered.decrementAndGet();
+      if(name != null && !name.equals(entry.name)) write(name, tb.next());
+      name = entry.name;
+      tb.add(entry.line);
+    }
+    if(name != null) write(name, tb.finish());
+  }
+
+  /**
+   * Writes log entries to the log file with the specified name.
+   * Must be called by the thread that owns the monitor of the static options.
+   * @param name name of log file
+   * @param lines log entries
+   * @throws IOException I/O exception
+   */
+  private void write(final String name, final byte[] lines) throws IOException {
+    // create new log file and write log entries
+    if(file != null && !file.valid(name)) closeFile();
+    if(file == null) file = LogFile.create(name, dir());
+    file.write(lines);
+  }
+
+  /**
+   * Writes buffered log entries and closes the log file.
    */
   public void close() {
+    final Thread thread = writer;
+    writer = null;
+    if(thread != null) LockSupport.unpark(thread);
     try {
       synchronized(sopts) {
-        if(file != null) {
-          file.close();
-          file = null;
-        }
+        drain();
+        closeFile();
       }
     } catch(final IOException ex) {
       Util.stack(ex);
     }
   }
 
+  /**
+   * Closes the current log file.
+   * Must be called by the thread that owns the monitor of the static options.
+   * @throws IOException I/O exception
+   */
+  private void closeFile() throws IOException {
+    if(file != null) {
+      file.close();
+      file = null;
+    }
+  }
+
   /**
    * Returns all log files.
    * @return log directory
    */
   public IOFile[] files() {
+    flush();
     return dir().children(".*\\" + IO.LOGSUFFIX);
   }
 
@@ -173,4 +283,22 @@ public final class Log implements QueryTracer {
     writeServer(LogType.TRACE, info);
     return false;
   }
+
+  /** Buffered log entry. */
+  private static final class Entry {
+    /** Name of log file. */
+    private final String name;
+    /** Log entry. */
+    private final byte[] line;
+
+    /**
+     * Constructor.
+     * @param name name of log file
+     * @param line log entry
+     */
+    private Entry(final String name, final byte[] line) {
+      this.name = name;
+      this.line = line;
+    }
+  }
 }
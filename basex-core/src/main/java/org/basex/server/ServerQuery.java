@@ -137,6 +137,7 @@ public final class ServerQuery extends Job {
       int hits = 0;
       final PrintOutput po = PrintOutput.get(encode ? new ServerOutput(out) : out);
       final SerializerOptions sopts = full ? SerializerMode.API.get() : qc.serParams();
+      final JobUsage usage = jc().usage;
       try(Serializer ser = Serializer.get(po, sopts)) {
         for(Item item; (item = qc.next(iter)) != null;) {
           if(iterative) {
@@ -150,6 +151,7 @@ public final class ServerQuery extends Job {
             ser.serialize(item);
           }
           hits++;
+          if(usage != null) usage.output(po.size());
         }
       }
       qi.serializing = perf.ns();
@@ -0,0 +1,98 @@
+package org.basex.util;
+
+import java.lang.management.*;
+import java.lang.reflect.*;
+
+/**
+ * This class returns resource figures of single threads: consumed CPU time, allocated bytes,
+ * and the number of pages that have been read from disk.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class ThreadUsage {
+  /** Thread management bean. */
+  private static final ThreadMXBean BEAN = ManagementFactory.getThreadMXBean();
+  /** Method for measuring allocated bytes (can be {@code null}). */
+  private static final Method ALLOCATED;
+  /** Counters for read pages. */
+  private static final ThreadLocal<Reads> READS = ThreadLocal.withInitial(Reads::new);
+
+  static {
+    final Class<?> clazz = Reflect.find("com.sun.management.ThreadMXBean");
+    Method allocated = null;
+    if(clazz != null && clazz.isInstance(BEAN)) {
+      allocated = Reflect.method(clazz, "getThreadAllocatedBytes", long.class);
+      if(Reflect.invoke(allocated, BEAN, Thread.currentThread().getId()) == null) allocated = null;
+    }
+    ALLOCATED = allocated;
+  }
+
+  /** Hidden constructor. */
+  private ThreadUsage() { }
+
+  /**
+   * Returns the CPU time consumed by the specified thread.
+   * @param id thread id
+   * @return time (ns), or {@code -1} if the time cannot be measured
+   */
+  public static long cpu(final long id) {
+    try {
+      return BEAN.isThreadCpuTimeSupported() && BEAN.isThreadCpuTimeEnabled() ?
+        BEAN.getThreadCpuTime(id) : -1;
+    } catch(final UnsupportedOperationException ex) {
+      Util.debug(ex);
+      return -1;
+    }
+  }
+
+  /**
+   * Returns the number of bytes that have been allocated by the specified thread.
+   * @param id thread id
+   * @return bytes, or {@code -1} if the value cannot be measured
+   */
+  public static long allocated(final long id) {
+    final Object bytes = Reflect.invoke(ALLOCATED, BEAN, id);
+    return bytes instanceof Long ? (Long) bytes : -1;
+  }
+
+  /**
+   * Registers a page that has been read by the current thread.
+   * The thread-local counter is only looked up if the cached counter belongs to another thread.
+   * @param cached counter that has been returned by the last call (can be {@code null})
+   * @return counter of the current thread, which can be cached by the caller
+   */
+  public static Reads read(final Reads cached) {
+    final Reads reads = cached != null && cached.thread == Thread.currentThread() ? cached :
+      READS.get();
+    reads.pages++;
+    return reads;
+  }
+
+  /**
+   * Returns the counter for the pages that have been read by the current thread.
+   * @return counter
+   */
+  public static Reads reads() {
+    return READS.get();
+  }
+
+  /**
+   * Counter for the pages that have been read by a thread.
+   * The counter is only updated by its thread, but it can be accessed by other threads.
+   */
+  public static final class Reads {
+    /** Thread. */
+    private final Thread thread = Thread.currentThread();
+    /** Number of read pages. */
+    private long pages;
+
+    /**
+     * Returns the number of read pages.
+     * @return number of pages
+     */
+    public long pages() {
+      return pages;
+    }
+  }
+}
@@ -334,13 +334,18 @@ public final class HttpPayload {
     } else if(type.isXML()) {
       return new DBNode(input);
     } else if(type.isText()) {
-      return Str.get(new NewlineInput(input).content());
+      try(NewlineInput ni = new NewlineInput(input)) {
+        return Str.get(ni.content());
+      }
     } else if(type.isMultipart()) {
       try(InputStream is = input.inputStream()) {
         final HttpPayload hp = new HttpPayload(is, true, null, options);
         hp.extractParts(concat(DASHES, hp.boundary(type)), null);
         return hp.payloads();
       }
+    } else if(input instanceof IOFile) {
+      // large payloads are cached in temporary files: return lazy item
+      return new B64Lazy(input, FILE_IO_ERROR_X, true);
     } else {
       return B64.get(input.read());
     }
@@ -36,6 +36,14 @@ public interface HttpText {
   String ACCEPT = "Accept";
   /** HTTP header string. */
   String ALLOW = "Allow";
+  /** HTTP header string. */
+  String ETAG = "ETag";
+  /** HTTP header string. */
+  String IF_NONE_MATCH = "If-None-Match";
+  /** HTTP header string. */
+  String ACCEPT_ENCODING = "Accept-Encoding";
+  /** HTTP header string. */
+  String VARY = "Vary";
 
   /** Content-Disposition (lower case). */
   byte[] CONTENT_DISPOSITION = token("content-disposition");
@@ -1,10 +1,13 @@
 package org.basex.build;
 
+import static org.basex.util.Token.*;
 import static org.junit.Assert.*;
 
 import org.basex.*;
 import org.basex.core.*;
 import org.basex.core.cmd.*;
+import org.basex.data.*;
+import org.basex.index.resource.*;
 import org.basex.io.*;
 import org.basex.util.*;
 import org.junit.*;
@@ -153,6 +156,34 @@ public final class AddDeleteTest extends SandboxTest {
     assertEquals(NFLDR - 1, docs());
   }
 
+  /**
+   * Looks up documents by their paths.
+   */
+  @Test public void paths() {
+    execute(new Add("c.xml", "<c/>"));
+    execute(new Add("b/b.xml", "<b/>"));
+    execute(new Add("b/c/c.xml", "<c/>"));
+    execute(new Add("b/c/d.xml", "<d/>"));
+    execute(new Add("b.xml", "<b/>"));
+    execute(new Add("a.xml", "<a/>"));
+    // flush path index
+    execute(new Close());
+    execute(new Open(NAME));
+
+    final Resources resources = context.data().resources;
+    assertEquals("a", string(context.data().name(resources.doc("a.xml") + 1, Data.ELEM)));
+    assertEquals("c", string(context.data().name(resources.doc("c.xml") + 1, Data.ELEM)));
+    assertEquals(-1, resources.doc("b"));
+
+    assertEquals(6, resources.docs("", true).size());
+    assertEquals(4, resources.docs("", false).size());
+    assertEquals(3, resources.docs("b", true).size());
+    assertEquals(2, resources.docs("b/", false).size());
+    assertEquals(2, resources.docs("b/c", false).size());
+    assertEquals(1, resources.docs("b.xml", false).size());
+    assertEquals(0, resources.docs("x", false).size());
+  }
+
   /**
    * Adds/deletes with target.
    */
@@ -0,0 +1,139 @@
+package org.basex.build;
+
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.build.json.*;
+import org.basex.build.json.JsonOptions.*;
+import org.basex.core.*;
+import org.basex.core.MainOptions.MainParser;
+import org.basex.core.cmd.*;
+import org.basex.io.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * JSON Parser Test.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class JsonParserTest extends SandboxTest {
+  /** JSON options. */
+  private JsonParserOptions jopts;
+
+  /** Temporary JSON file. */
+  private static final String TEMP = Prop.TEMPDIR + NAME + IO.JSONSUFFIX;
+  /** Sample JSON document. */
+  private static final String JSON =
+      "{ \"a\": [ 1, \"x\", null, true, { } ], \"b c\": { \"a\": \" y \" } }";
+
+  /**
+   * Creates the initial database.
+   */
+  @BeforeClass public static void before() {
+    set(MainOptions.PARSER, MainParser.JSON);
+  }
+
+  /**
+   * Removes the temporary JSON file.
+   */
+  @AfterClass public static void after() {
+    new IOFile(TEMP).delete();
+  }
+
+  /**
+   * Sets initial options. Whitespaces are preserved to compare the results with json:parse.
+   */
+  @Before public void init() {
+    jopts = new JsonParserOptions();
+    context.options.set(MainOptions.JSONPARSER, jopts);
+    set(MainOptions.CHOP, false);
+  }
+
+  /**
+   * Drops the database.
+   */
+  @After public void finish() {
+    execute(new DropDB(NAME));
+  }
+
+  /**
+   * Imports a document in the direct format.
+   */
+  @Test public void direct() {
+    check(JSON, "");
+  }
+
+  /**
+   * Imports a document in the attributes format.
+   */
+  @Test public void attributes() {
+    jopts.set(JsonOptions.FORMAT, JsonFormat.ATTRIBUTES);
+    check(JSON, "'format': 'attributes'");
+
+    // duplicate keys are skipped
+    write(new IOFile(TEMP), "{ \"a\": 1, \"a\": { \"b\": 2 }, \"c\": 3 }");
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals("a c", query("string-join(/json/pair/@name, ' ')"));
+    assertEquals("1", query("/json/pair[@name = 'a']/string()"));
+  }
+
+  /**
+   * Imports a document with merged type information (intermediate tree).
+   */
+  @Test public void merge() {
+    jopts.set(JsonOptions.MERGE, true);
+    check(JSON, "'merge': true()");
+  }
+
+  /**
+   * Imports newline-delimited JSON.
+   */
+  @Test public void lines() {
+    jopts.set(JsonParserOptions.LINES, true);
+    check("{ \"a\": 1 }\n\n[ \"b\" ]\n\"c\"\n", "'lines': true()");
+  }
+
+  /**
+   * Chops whitespaces of string values.
+   */
+  @Test public void chop() {
+    set(MainOptions.CHOP, true);
+    write(new IOFile(TEMP), JSON);
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals("y", query("/json/b_0020c/a/string()"));
+
+    jopts.set(JsonOptions.MERGE, true);
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals("y", query("/json/b_0020c/a/string()"));
+  }
+
+  /**
+   * Imports newline-delimited JSON with more distinct keys than names are cached.
+   */
+  @Test public void distinctKeys() {
+    jopts.set(JsonParserOptions.LINES, true);
+    final StringBuilder sb = new StringBuilder();
+    for(int i = 0; i < 10000; i++) sb.append("{ \"k").append(i % 5000).append("\": ").
+      append(i).append(" }\n");
+    write(new IOFile(TEMP), sb.toString());
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals("10000", query("count(/json/_/*)"));
+    assertEquals("5000", query("count(distinct-values(/json/_/*/name()))"));
+    assertEquals("k1234", query("/json/_[6235]/*/name()"));
+  }
+
+  /**
+   * Creates a database from the specified input and compares it with the result of json:parse.
+   * @param input input
+   * @param options options of json:parse
+   */
+  private void check(final String input, final String options) {
+    write(new IOFile(TEMP), input);
+    execute(new CreateDB(NAME, TEMP));
+    assertEquals(query("json:parse(file:read-text('" + TEMP + "'), map { " + options + " })"),
+        query("."));
+  }
+}
@@ -0,0 +1,154 @@
+package org.basex.core.locks;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import java.util.concurrent.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.query.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * This class tests the locking of single documents.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class DocumentLockingTest extends SandboxTest {
+  /** Enables document locks. */
+  @Before public void init() {
+    context.soptions.set(StaticOptions.DOCLOCKS, true);
+    execute(new CreateDB(NAME, "<a/>"));
+    execute(new Close());
+  }
+
+  /** Disables document locks. */
+  @After public void finish() {
+    execute(new DropDB(NAME));
+    context.soptions.set(StaticOptions.DOCLOCKS, false);
+  }
+
+  /** Checks the assigned locks. */
+  @Test public void locks() {
+    locks(_DB_ADD.args(NAME, " <b/>", "b.xml"), Locking.document(NAME, "b.xml"), NAME);
+    locks(_DB_REPLACE.args(NAME, "/b.xml", " <b/>"), Locking.document(NAME, "b.xml"), NAME);
+    locks(_DB_DELETE.args(NAME, "b.xml") + ',' + _DB_DELETE.args(NAME, "c.xml"),
+        Locking.document(NAME, "b.xml") + ',' + Locking.document(NAME, "c.xml"), NAME);
+
+    // unknown paths, additional locks: lock database
+    locks(_DB_ADD.args(NAME, " <b/>"), NAME, "(none)");
+    locks(_DB_ADD.args(NAME, " <b/>", "b.xml") + ',' + _DB_OPEN.args(NAME) + "/x ! (delete node .)",
+        NAME, "(none)");
+  }
+
+  /** Runs updates on different documents in parallel. */
+  @Test public void parallel() {
+    final String query = _PROF_SLEEP.args(1000) + ',' + _DB_ADD.args(NAME, " <b/>", "%.xml");
+    final Thread thread = new Thread(() -> query(query.replace("%", "1")));
+    final Performance perf = new Performance();
+    thread.start();
+    query(query.replace("%", "2"));
+    try {
+      thread.join();
+    } catch(final InterruptedException ex) {
+      throw new AssertionError(ex);
+    }
+    assertTrue(perf.ns() / 1000000 < 1900);
+    assertEquals("3", query(_DB_OPEN.args(NAME) + " => count()"));
+  }
+
+  /**
+   * Runs an update with document locks in parallel with an update that locks the database.
+   * @throws Exception exception
+   */
+  @Test public void deadlock() throws Exception {
+    // database name is sorted before the prefix of document locks
+    final String db = "Books";
+    execute(new CreateDB(db, "<a/>"));
+    execute(new Close());
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      // document lock is acquired first, database lock is acquired before updates are applied
+      final Future<?> docs = executor.submit(() -> query(_PROF_SLEEP.args(1000) + ',' +
+          _DB_ADD.args(db, " <y/>", "x.xml")));
+      while(query(_JOBS_LIST.args() + " => count()").equals("1"));
+
+      // other locks exist: database is locked
+      final Future<?> dbs = executor.submit(() -> query(_DB_ADD.args(db, " <z/>", "x.xml") +
+          ", insert node <n/> into " + _DB_OPEN.args(db, db + ".xml") + "/a"));
+      docs.get(10, TimeUnit.SECONDS);
+      dbs.get(10, TimeUnit.SECONDS);
+      assertEquals("3", query(_DB_OPEN.args(db) + " => count()"));
+      assertEquals("1", query("count(" + _DB_OPEN.args(db, db + ".xml") + "/a/n)"));
+    } finally {
+      executor.shutdownNow();
+      execute(new DropDB(db));
+    }
+  }
+
+  /**
+   * Drops a database while an update with document locks is evaluated.
+   * @throws Exception exception
+   */
+  @Test public void drop() throws Exception {
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // database is not opened before the updates are applied
+      final Future<?> docs = executor.submit(() -> query(_DB_ADD.args(NAME, " <b/>", "b.xml") +
+          ',' + _PROF_SLEEP.args(1000)));
+      while(query(_JOBS_LIST.args() + " => count()").equals("1"));
+      Thread.sleep(200);
+      execute(new DropDB(NAME));
+      try {
+        docs.get(10, TimeUnit.SECONDS);
+        fail("Database was not dropped.");
+      } catch(final ExecutionException ex) {
+        assertFalse(context.soptions.dbExists(NAME));
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Replaces and deletes documents. */
+  @Test public void update() {
+    query(_DB_REPLACE.args(NAME, "b.xml", " <b/>"));
+    query(_DB_REPLACE.args(NAME, "b.xml", " <c/>"));
+    assertEquals("c", query(_DB_OPEN.args(NAME, "b.xml") + "/* ! name()"));
+
+    query(_DB_DELETE.args(NAME, "b.xml") + ',' + _DB_ADD.args(NAME, " <d/>", "b.xml"));
+    assertEquals("d", query(_DB_OPEN.args(NAME, "b.xml") + "/* ! name()"));
+
+    query(_DB_DELETE.args(NAME, "b.xml"));
+    assertEquals("1", query(_DB_OPEN.args(NAME) + " => count()"));
+
+    query(_DB_REPLACE.args(NAME, "c.bin", " xs:hexBinary('41')"));
+    assertEquals("QQ==", query(_DB_RETRIEVE.args(NAME, "c.bin") + " => string()"));
+    query(_DB_DELETE.args(NAME, "c.bin"));
+    assertEquals("false", query(_DB_EXISTS.args(NAME, "c.bin")));
+  }
+
+  /**
+   * Checks the write and document locks of a query.
+   * @param query query
+   * @param writes expected write locks
+   * @param documents expected databases with document locks
+   */
+  private static void locks(final String query, final String writes, final String documents) {
+    try(QueryProcessor qp = new QueryProcessor(query, context)) {
+      qp.parse();
+      qp.addLocks();
+      final Locks locks = qp.qc.jc().locks;
+      locks.finish(context);
+      assertEquals(writes, locks.writes.toString());
+      assertEquals(documents, locks.documents.toString());
+    } catch(final QueryException ex) {
+      throw new AssertionError(ex);
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package org.basex.core.locks;
+
+import static org.basex.core.jobs.JobPriority.*;
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.basex.core.jobs.*;
+import org.junit.*;
+
+/**
+ * This class tests the scheduling of jobs with different priorities.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class JobPriorityTest {
+  /** Job id. */
+  private static final Long ID = 0L;
+
+  /**
+   * Queued jobs with higher priorities are started first.
+   * @throws InterruptedException interrupted exception
+   */
+  @Test public void order() throws InterruptedException {
+    for(final LockQueue queue : new LockQueue[] { new FairLockQueue(1),
+        new NonfairLockQueue(1) }) {
+      queue.acquire(ID, true, false, INTERACTIVE);
+
+      final List<JobPriority> started = Collections.synchronizedList(new ArrayList<>());
+      final Thread background = start(queue, BACKGROUND, started);
+      final Thread batch = start(queue, BATCH, started);
+      final Thread interactive = start(queue, INTERACTIVE, started);
+      queue.release(INTERACTIVE);
+
+      for(final Thread thread : new Thread[] { background, batch, interactive }) thread.join();
+      assertEquals(Arrays.asList(INTERACTIVE, BATCH, BACKGROUND), started);
+    }
+  }
+
+  /**
+   * Slots are reserved for interactive jobs.
+   * @throws InterruptedException interrupted exception
+   */
+  @Test public void reserved() throws InterruptedException {
+    final LockQueue queue = new FairLockQueue(4);
+    for(int j = 0; j < 3; j++) queue.acquire(ID, true, false, BATCH);
+
+    // batch job is queued, interactive job is started
+    final List<JobPriority> started = Collections.synchronizedList(new ArrayList<>());
+    final Thread batch = start(queue, BATCH, started);
+    queue.acquire(ID, true, false, INTERACTIVE);
+    assertTrue(started.isEmpty());
+
+    queue.release(INTERACTIVE);
+    assertTrue(started.isEmpty());
+    queue.release(BATCH);
+    batch.join();
+    assertEquals(Collections.singletonList(BATCH), started);
+  }
+
+  /**
+   * Reserved slots are not assigned to jobs whose priority has been raised.
+   * @throws InterruptedException interrupted exception
+   */
+  @Test public void aging() throws InterruptedException {
+    final LockQueue queue = new FairLockQueue(4);
+    for(int j = 0; j < 3; j++) queue.acquire(ID, true, false, BATCH);
+
+    // batch job remains queued after its priority has been raised
+    final List<JobPriority> started = Collections.synchronizedList(new ArrayList<>());
+    final Thread batch = start(queue, BATCH, started);
+    Thread.sleep(LockQueue.AGING * 2);
+    assertTrue(started.isEmpty());
+
+    queue.release(BATCH);
+    batch.join();
+    assertEquals(Collections.singletonList(BATCH), started);
+  }
+
+  /**
+   * Queued jobs whose priority has been raised do not block jobs that can be started.
+   * @throws InterruptedException interrupted exception
+   */
+  @Test public void agingBlocked() throws InterruptedException {
+    for(final LockQueue queue : new LockQueue[] { new FairLockQueue(4),
+        new NonfairLockQueue(4) }) {
+      queue.acquire(ID, true, false, BACKGROUND);
+
+      // background job is queued; after aging, it is placed before new interactive jobs
+      final List<JobPriority> started = Collections.synchronizedList(new ArrayList<>());
+      final Thread background = start(queue, BACKGROUND, started);
+      Thread.sleep(LockQueue.AGING * 2);
+      queue.acquire(ID, true, false, INTERACTIVE);
+      started.add(INTERACTIVE);
+      queue.release(INTERACTIVE);
+
+      queue.release(BACKGROUND);
+      background.join();
+      assertEquals(Arrays.asList(INTERACTIVE, BACKGROUND), started);
+    }
+  }
+
+  /**
+   * The number of background jobs is limited.
+   * @throws InterruptedException interrupted exception
+   */
+  @Test public void background() throws InterruptedException {
+    final LockQueue queue = new NonfairLockQueue(4);
+    queue.acquire(ID, true, false, BACKGROUND);
+
+    final List<JobPriority> started = Collections.synchronizedList(new ArrayList<>());
+    final Thread background = start(queue, BACKGROUND, started);
+    queue.acquire(ID, true, false, BATCH);
+    assertTrue(started.isEmpty());
+
+    queue.release(BACKGROUND);
+    background.join();
+    assertEquals(Collections.singletonList(BACKGROUND), started);
+    queue.release(BATCH);
+  }
+
+  /**
+   * Starts a thread that queues a job. After the job has been started, its priority is recorded
+   * and the job is released. Waits until the job has been queued.
+   * @param queue lock queue
+   * @param priority priority of the job
+   * @param started list of started jobs
+   * @return thread
+   * @throws InterruptedException interrupted exception
+   */
+  private static Thread start(final LockQueue queue, final JobPriority priority,
+      final List<JobPriority> started) throws InterruptedException {
+    final Thread thread = new Thread(() -> {
+      try {
+        queue.acquire(ID, true, false, priority);
+        started.add(priority);
+        queue.release(priority);
+      } catch(final InterruptedException ex) {
+        throw new AssertionError(ex);
+      }
+    });
+    thread.start();
+    while(thread.getState() != Thread.State.TIMED_WAITING) Thread.sleep(1);
+    return thread;
+  }
+}
@@ -0,0 +1,84 @@
+package org.basex.core.locks;
+
+import static org.basex.query.func.Function.*;
+import static org.junit.Assert.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * This class tests read-only queries on snapshots of updated databases.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class SnapshotTest extends SandboxTest {
+  /** Query for returning all running jobs except for the current one. */
+  private static final String LIST_JOBS = _JOBS_LIST_DETAILS.args() +
+      "[@state = 'running'] ! string(@id)[. != " + _JOBS_CURRENT.args() + ']';
+
+  /** Enables snapshots. */
+  @Before public void init() {
+    context.soptions.set(StaticOptions.SNAPSHOTS, true);
+    execute(new CreateDB(NAME, "<a/>"));
+    execute(new Close());
+  }
+
+  /** Disables snapshots. */
+  @After public void finish() {
+    execute(new DropDB(NAME));
+    context.soptions.set(StaticOptions.SNAPSHOTS, false);
+  }
+
+  /** Reads a database while it is updated. */
+  @Test public void read() {
+    // no readers: no snapshot is created, first reader waits for the update
+    String id = update("b");
+    assertEquals(0, snapshots());
+    assertEquals("2", count());
+
+    // reader has waited: snapshot is created for the next update
+    id = update("c");
+    assertEquals(1, snapshots());
+
+    // read committed state without waiting for the update
+    assertEquals("2", count());
+
+    // wait for update; snapshot is deleted afterwards
+    query(_JOBS_WAIT.args(id));
+    assertEquals("3", count());
+    assertEquals(0, snapshots());
+  }
+
+  /**
+   * Starts a slow update and returns as soon as its locks have been acquired.
+   * @param name name of the element to be added
+   * @return job id
+   */
+  private static String update(final String name) {
+    new Thread(() -> query(_PROF_SLEEP.args(2000) + ',' +
+        _DB_ADD.args(NAME, " <" + name + "/>", name + ".xml"))).start();
+    String id;
+    do id = query(LIST_JOBS); while(id.isEmpty());
+    return id;
+  }
+
+  /**
+   * Returns the number of documents of the database.
+   * @return count
+   */
+  private static String count() {
+    return query(_DB_OPEN.args(NAME) + " => count()");
+  }
+
+  /**
+   * Returns the number of existing snapshots.
+   * @return count
+   */
+  private static int snapshots() {
+    return context.soptions.dbPath(".snapshots").children().length;
+  }
+}
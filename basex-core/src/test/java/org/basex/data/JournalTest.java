@@ -0,0 +1,88 @@
+package org.basex.data;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.*;
+import org.basex.io.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * This class tests the write-ahead journal of database updates.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class JournalTest extends SandboxTest {
+  /** Initializes a test. */
+  @Before public void init() {
+    set(MainOptions.WAL, true);
+  }
+
+  /** Finalizes a test. */
+  @After public void finish() {
+    set(MainOptions.WAL, false);
+    execute(new DropDB(NAME));
+  }
+
+  /**
+   * Journals updates and checks that the journal is deleted when the database is closed.
+   */
+  @Test public void update() {
+    set(MainOptions.UPDINDEX, true);
+    try {
+      execute(new CreateDB(NAME, "<X/>"));
+      for(int n = 0; n < 100; n++) {
+        query("insert node <A>" + n + "</A> into /X");
+      }
+      query("delete node //A[. mod 2 = 0]");
+      query("replace value of node //A[1] with 'abc'");
+      final IOFile wal = context.data().meta.dbFile(DataText.DATAWAL);
+      assertTrue(wal.exists());
+      assertEquals("50", query("count(//A)"));
+
+      execute(new Close());
+      assertFalse(wal.exists());
+      execute(new Open(NAME));
+      assertEquals("50", query("count(//A)"));
+      assertEquals("abc", query("string(//A[1])"));
+      assertEquals("1", query("count(//A[text() = '99'])"));
+    } finally {
+      set(MainOptions.UPDINDEX, false);
+    }
+  }
+
+  /**
+   * Applies committed changes of a journal that was not deleted.
+   * @throws IOException I/O exception
+   */
+  @Test public void recover() throws IOException {
+    execute(new CreateDB(NAME, "<X/>"));
+    execute(new Close());
+
+    // back up database files
+    final IOFile dir = context.soptions.dbPath(NAME), backup = new IOFile(sandbox(), "backup");
+    backup.md();
+    for(final IOFile file : dir.children()) file.copyTo(new IOFile(backup, file.name()));
+
+    // perform updates, back up journal
+    execute(new Open(NAME));
+    for(int n = 0; n < 10; n++) query("insert node <A>" + n + "</A> into /X");
+    final IOFile wal = context.data().meta.dbFile(DataText.DATAWAL);
+    wal.copyTo(new IOFile(backup, wal.name()));
+    execute(new Close());
+
+    // restore old database files and journal, apply journal
+    for(final IOFile file : backup.children()) file.copyTo(new IOFile(dir, file.name()));
+    assertTrue(wal.exists());
+    execute(new Open(NAME));
+    assertFalse(wal.exists());
+    assertEquals("10", query("count(//A)"));
+    assertEquals("9", query("string(//A[last()])"));
+    backup.delete();
+  }
+}
@@ -53,6 +53,28 @@ public final class TextInputTest {
     run(data);
   }
 
+  /**
+   * Tests bulk copying of UTF-8 input.
+   * @throws IOException I/O exception
+   */
+  @Test public void copy() throws IOException {
+    final boolean[] delims = new boolean[0x80];
+    delims['<'] = true;
+    final String in = "ab\u00e9\u3053\ud83d\ude00c<d\re";
+    try(TextInput ti = new TextInput(Token.token(in))) {
+      final TokenBuilder tb = new TokenBuilder();
+      assertEquals(12, ti.copy(tb, delims));
+      assertEquals("ab\u00e9\u3053\ud83d\ude00c", tb.toString());
+      assertEquals('<', ti.read());
+      assertEquals(1, ti.copy(tb.reset(), delims));
+      assertEquals("d", tb.toString());
+      assertEquals('\r', ti.read());
+    }
+    try(TextInput ti = new TextInput(Token.token(in)).encoding("UTF-16")) {
+      assertEquals(0, ti.copy(new TokenBuilder(), delims));
+    }
+  }
+
   /**
    * Test unknown encoding.
    * @throws IOException I/O exception
@@ -3,8 +3,10 @@ package org.basex.query;
 import static org.basex.query.QueryError.*;
 
 import org.basex.*;
+import org.basex.core.cmd.*;
 import org.basex.io.serial.*;
 import org.junit.*;
+import org.junit.Test;
 
 /**
  * This class tests the serializers.
@@ -101,4 +103,16 @@ public final class SerializerTest extends SandboxTest {
     query(option + "<a xml:space='default'>T<b/></a>", "<a xml:space=\"default\">T<b/></a>");
     query(option + "<a xml:space='x'>T<b/></a>", "<a xml:space=\"x\">T<b/></a>");
   }
+
+  /** Test: database nodes. */
+  @Test public void database() {
+    execute(new CreateDB(NAME, "<a xmlns='A' xmlns:p='P'><b><p:c>x &amp; y&#x9;z</p:c>"
+        + "<c xmlns=''/></b><p:c/><b/></a>"));
+    query("/", "<a xmlns=\"A\" xmlns:p=\"P\">\n<b>\n<p:c>x &amp; y\tz</p:c>\n"
+        + "<c xmlns=\"\"/>\n</b>\n<p:c/>\n<b/>\n</a>");
+    query("//*:c", "<p:c xmlns:p=\"P\" xmlns=\"A\">x &amp; y\tz</p:c>\n"
+        + "<c xmlns:p=\"P\"/>\n<p:c xmlns:p=\"P\" xmlns=\"A\"/>");
+    query(SerializerOptions.LIMIT.arg("20") + '/', "<a xmlns=\"A\" xmlns:p");
+    execute(new DropDB(NAME));
+  }
 }
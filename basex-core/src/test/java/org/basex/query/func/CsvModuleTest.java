@@ -24,6 +24,43 @@ public final class CsvModuleTest extends SandboxTest {
     query(func.args(path) + "//entry[. = 'Picard'] ! string()", "Picard");
     query(func.args(path, " map { 'header': true() }") + "/descendant::Name[1] ! string()",
         "Picard");
+    query(func.args(path, " map { 'parallel': 4 }") + "//entry[. = 'Picard'] ! string()",
+        "Picard");
+  }
+
+  /** Test method. */
+  @Test public void docParallel() {
+    final Function func = _CSV_DOC;
+    final String path = sandbox().path() + "/parallel.csv";
+    // records with quoted newlines, quotes and backslashes, spanning several chunks
+    query(_FILE_WRITE_TEXT.args(path, " string-join((1 to 60000) ! ('a' || . || "
+        + "',\"x&#10;\"\"' || . || '\\&#10;y\",b\\&#10;' || string-join(1 to . mod 20)), "
+        + "'&#10;')"));
+    query("file:size('" + path + "') > 2000000", true);
+    for(final String options : new String[] { "", ", 'backslashes': true()",
+        ", 'quotes': false()", ", 'header': true()" }) {
+      query("deep-equal(" + func.args(path, " map { 'parallel': 1" + options + " }") + ", "
+          + func.args(path, " map { 'parallel': 4" + options + " }") + ')', true);
+    }
+    // without the backslashes option, escaped newlines terminate records (empty lines are skipped)
+    query("count(" + func.args(path, " map { 'parallel': 4 }") + "/csv/record)", 117000);
+    query("count(" + func.args(path, " map { 'parallel': 4, 'backslashes': true() }")
+        + "/csv/record)", 60000);
+  }
+
+  /** Test method. */
+  @Test public void records() {
+    final Function func = _CSV_RECORDS;
+    final String path = "src/test/resources/input.csv";
+    query("count(" + func.args(path) + ')', 4);
+    query(func.args(path, " map { 'header': true() }") + "[1]/Name ! string()", "Picard");
+    query(func.args(path, " map { 'format': 'xquery' }") + "[2] instance of array(*)", true);
+    // XQuery format: header is returned as first record
+    query(func.args(path, " map { 'format': 'xquery', 'header': true() }") + "[1]?1", "Name");
+    query("count(" + func.args(path, " map { 'format': 'xquery', 'header': true() }") + ')', 4);
+    query("head(" + func.args(path, " map { 'format': 'attributes', 'header': true() }")
+        + ")/entry[1]/@name ! string()", "Name");
+    error(func.args("src/test/resources/unknown.csv"), WHICHRES_X);
   }
 
   /** Test method. */
@@ -491,6 +491,45 @@ public final class DbModuleTest extends SandboxTest {
     query("0[contains(" + _FILE_READ_TEXT.args(path) + ", '&lt;')]", "");
     // deletes the exported file
     query(_FILE_DELETE.args(path));
+
+    // exports the database to an archive
+    final IOFile zip = new IOFile(Prop.TEMPDIR, NAME + IO.ZIPSUFFIX);
+    query(func.args(NAME, zip));
+    query(_ARCHIVE_ENTRIES.args(_FILE_READ_BINARY.args(zip)) + " ! string()",
+        XML.replaceAll(".*/", ""));
+    query(_FILE_DELETE.args(zip));
+
+    // exports documents in parallel
+    set(MainOptions.EXPORTPARALLEL, 2);
+    query(func.args(NAME, new IOFile(Prop.TEMPDIR, NAME)));
+    query(_FILE_EXISTS.args(path), true);
+    query(_FILE_DELETE.args(path));
+    set(MainOptions.EXPORTPARALLEL, 1);
+
+    // archives written by one and several threads have the same contents
+    query(_DB_ADD.args(NAME, " <a>{ (1 to 10000) ! <b>{ . }</b> }</a>", "a.xml"));
+    query(func.args(NAME, zip));
+    final String entries = _ARCHIVE_EXTRACT_TEXT.args(_FILE_READ_BINARY.args(zip));
+    final String single = query("string-join(" + entries + ")");
+    set(MainOptions.EXPORTPARALLEL, 2);
+    query(func.args(NAME, zip));
+    set(MainOptions.EXPORTPARALLEL, 1);
+    assertEquals(single, query("string-join(" + entries + ")"));
+    query("count(" + entries + ")", 2);
+    query(_FILE_DELETE.args(zip));
+
+    // TAR archives (only the GZIP layer can be decompressed by the archive module)
+    final IOFile tgz = new IOFile(Prop.TEMPDIR, NAME + IO.TGZSUFFIX);
+    final String tar = _ARCHIVE_EXTRACT_BINARY.args(_FILE_READ_BINARY.args(tgz));
+    query(func.args(NAME, tgz));
+    final String length = query(_BIN_LENGTH.args(tar));
+    query("exists(" + _BIN_FIND.args(tar, 0,
+        _CONVERT_STRING_TO_BASE64.args("<b>10000</b>")) + ')', true);
+    set(MainOptions.EXPORTPARALLEL, 2);
+    query(func.args(NAME, tgz));
+    set(MainOptions.EXPORTPARALLEL, 1);
+    assertEquals(length, query(_BIN_LENGTH.args(tar)));
+    query(_FILE_DELETE.args(tgz));
   }
 
   /** Test method. */
@@ -720,6 +759,27 @@ public final class DbModuleTest extends SandboxTest {
     query(_DB_INFO.args(NAME) + "//" + lc(MainOptions.UPDINDEX) + "/text()", true);
   }
 
+  /** Test method. */
+  @Test public void optimizeParallel() {
+    final Function func = _DB_OPTIMIZE;
+    final String dbs = "(1 to 4) ! ('" + NAME + "' || .)";
+    execute(new Close());
+    query(dbs + " ! " + _DB_CREATE.args(" .", " <a>{ . }</a>", "a.xml"));
+    set(MainOptions.OPTIMIZEPARALLEL, 4);
+    try {
+      query(dbs + " ! " + func.args(" .", true, " map { 'textindex': false() }"));
+      query("distinct-values(" + dbs + " ! " + _DB_INFO.args(" .") + "//textindex)", false);
+      query("deep-equal(" + dbs + " ! string(" + _DB_OPEN.args(" .") + "), " + dbs + ")", true);
+      // opened database cannot be fully optimized: running optimizations will be finished
+      execute(new Open(NAME));
+      error("(" + dbs + ", '" + NAME + "') ! " + func.args(" .", true), UPDBERROR_X);
+      query("deep-equal(" + dbs + " ! string(" + _DB_OPEN.args(" .") + "), " + dbs + ")", true);
+    } finally {
+      set(MainOptions.OPTIMIZEPARALLEL, 1);
+      query(dbs + " ! " + _DB_DROP.args(" ."));
+    }
+  }
+
   /** Test method. */
   @Test public void option() {
     final Function func = _DB_OPTION;
@@ -852,6 +912,49 @@ public final class DbModuleTest extends SandboxTest {
     error(func.args(" ''"), DB_NAME_X);
   }
 
+  /** Test method. */
+  @Test public void restoreIncremental() {
+    final Function func = _DB_RESTORE;
+    final String count = "count(" + _DB_OPEN.args(NAME) + ")";
+    final String backups = "sort(" + _DB_BACKUPS.args(NAME) + ")";
+    final String incremental = " map { 'incremental': true() }";
+    final int docs = Integer.parseInt(query(count));
+    execute(new Close());
+
+    // full backup, incremental backups with added and deleted resources
+    query(_DB_CREATE_BACKUP.args(NAME));
+    query(_DB_ADD.args(NAME, " <a>{ string-join((1 to 100000) ! 'X') }</a>", "a.xml"));
+    query(_DB_STORE.args(NAME, "raw.data", "bla"));
+    query(_DB_CREATE_BACKUP.args(NAME, incremental));
+    query(_DB_DELETE.args(NAME, "raw.data"));
+    query(_DB_ADD.args(NAME, " <b/>", "b.xml"));
+    query(_DB_CREATE_BACKUP.args(NAME, " map { 'incremental': true(), 'compress': false() }"));
+    query("count(" + _DB_BACKUPS.args(NAME) + ")", 3);
+
+    // restore latest backup
+    query(_DB_DROP.args(NAME));
+    query(func.args(NAME));
+    query(count, docs + 2);
+    query("string-length(" + _DB_OPEN.args(NAME, "a.xml") + ")", 100000);
+    query(_DB_EXISTS.args(NAME, "raw.data"), false);
+
+    // restore intermediate and full backup
+    query(func.args(" " + backups + "[2]"));
+    query(count, docs + 1);
+    query(_DB_RETRIEVE.args(NAME, "raw.data"), "bla");
+    query(func.args(" " + backups + "[1]"));
+    query(count, docs);
+    query(_DB_EXISTS.args(NAME, "raw.data"), false);
+
+    // backups referenced by incremental backups cannot be dropped
+    error(_DB_DROP_BACKUP.args(" " + backups + "[1]"), DB_REFBACKUP_X);
+    error(_DB_DROP_BACKUP.args(" " + backups + "[2]"), DB_REFBACKUP_X);
+    query(_DB_DROP_BACKUP.args(" " + backups + "[3]"));
+    query(_DB_DROP_BACKUP.args(" " + backups + "[2]"));
+    query("count(" + _DB_BACKUPS.args(NAME) + ")", 1);
+    query(_DB_DROP_BACKUP.args(NAME));
+  }
+
   /** Test method. */
   @Test public void retrieve() {
     final Function func = _DB_RETRIEVE;
@@ -7,6 +7,8 @@ import static org.junit.Assert.*;
 import java.io.*;
 
 import org.basex.*;
+import org.basex.core.*;
+import org.basex.core.cmd.XQuery;
 import org.basex.core.users.*;
 import org.basex.query.*;
 import org.basex.util.*;
@@ -137,6 +139,52 @@ public final class JobsModuleTest extends SandboxTest {
         JOBS_RANGE_X);
   }
 
+  /** Test method. */
+  @Test public void evalCron() {
+    final Function func = _JOBS_EVAL;
+    query(func.args("1", " ()", " map{ 'id':'cron', 'cron':'*/5 8-18 * * 1-5' }"));
+    query(_JOBS_LIST_DETAILS.args("cron") + "/@interval/string()", "*/5 8-18 * * 1-5");
+    query(_JOBS_STOP.args("cron"));
+
+    error(func.args("1", " ()", " map{ 'cron':'* * *' }"), JOBS_CRON_X);
+    error(func.args("1", " ()", " map{ 'cron':'60 * * * *' }"), JOBS_CRON_X);
+    error(func.args("1", " ()", " map{ 'cron':'* * 31 2 *' }"), JOBS_CRON_X);
+    error(func.args("1", " ()", " map{ 'cron':'* * * * *', 'interval':'PT1S' }"), JOBS_OPTIONS);
+
+    // cache result of latest run
+    query(func.args("1", " ()", " map{ 'id':'cron', 'cron':'* * * * *', 'cache':true() }"));
+    error(_JOBS_RESULT.args("cron"), JOBS_RUNNING_X);
+    query(_JOBS_STOP.args("cron"));
+  }
+
+  /**
+   * Test method.
+   * @throws IOException I/O exception */
+  @Test public void evalIntervalCache() throws IOException {
+    final String id = "interval";
+    query(_JOBS_EVAL.args("1", " ()", " map{ 'id':'" + id + "', 'interval':'PT1S', " +
+        "'cache':true() }"));
+    try {
+      // results of subsequent runs are cached
+      for(int r = 0; r < 2; r++) {
+        while(true) {
+          try {
+            assertEquals("1", eval(_JOBS_RESULT.args(id)));
+            break;
+          } catch(final QueryException ex) {
+            // job is running, or result has already been retrieved
+            if(ex.error() != JOBS_UNKNOWN_X) assertSame(JOBS_RUNNING_X, ex.error());
+          }
+          Performance.sleep(10);
+        }
+      }
+      query(_JOBS_LIST.args() + "[. = '" + id + "']", id);
+    } finally {
+      query(_JOBS_STOP.args(id));
+    }
+    error(_JOBS_RESULT.args(id), JOBS_UNKNOWN_X);
+  }
+
   /** Test method. */
   @Test public void evalService() {
     final Function func = _JOBS_EVAL;
@@ -149,6 +197,15 @@ public final class JobsModuleTest extends SandboxTest {
     query("exists(" + _JOBS_SERVICES.args() + "[@id = 'ID'])", false);
   }
 
+  /** Test method. */
+  @Test public void evalPriority() {
+    final Function func = _JOBS_EVAL;
+    query(func.args("1", " ()", " map{ 'cache':true(), 'priority':'batch', 'id':'batch' }"));
+    query(_JOBS_WAIT.args("batch"));
+    query(_JOBS_RESULT.args("batch"), 1);
+    error(func.args("1", " ()", " map{ 'priority':'low' }"), INVALIDOPT_X);
+  }
+
   /** Test method. */
   @Test public void evalURI() {
     final Function func = _JOBS_EVAL;
@@ -187,11 +244,37 @@ public final class JobsModuleTest extends SandboxTest {
       query(list + "/@user/string()", UserText.ADMIN);
       query(list + "/@state/string() = ('running', 'queued')", true);
       query(list + "/@duration/string() castable as xs:dayTimeDuration", true);
+      query(list + "/@allocated/string() castable as xs:integer", true);
     } finally {
       query(_JOBS_STOP.args(id));
     }
   }
 
+  /** Test method. */
+  @Test public void limits() {
+    // limit assigned to a user
+    query(_USER_UPDATE_INFO.args(" <info allocated='1'/>", UserText.ADMIN));
+    try {
+      new XQuery(VERY_SLOW_QUERY).execute(context);
+      fail("Memory limit was not enforced.");
+    } catch(final BaseXException ex) {
+      assertEquals(Util.info(Text.LIMIT_EXCEEDED_X, "allocated"), ex.getMessage());
+    } finally {
+      query(_USER_UPDATE_INFO.args(" <info/>", UserText.ADMIN));
+    }
+
+    // limits of static options are ignored for admin users
+    context.soptions.set(StaticOptions.JOBOUTPUT, 1);
+    try {
+      final String result = new XQuery("(1 to 200000) ! 'xxxxxxxxxx'").execute(context);
+      assertTrue(result.length() > 1 << 20);
+    } catch(final BaseXException ex) {
+      fail(ex.getMessage());
+    } finally {
+      context.soptions.set(StaticOptions.JOBOUTPUT, 0);
+    }
+  }
+
   /**
    * Test method.
    * @throws IOException I/O exception */
@@ -261,6 +344,42 @@ public final class JobsModuleTest extends SandboxTest {
     error(func.args(id), DB_OPEN2_X);
   }
 
+  /** Test method. */
+  @Test public void resultStore() {
+    final Function func = _JOBS_RESULT;
+    final String files = "count(file:list(db:option('dbpath') || '/.jobs'))";
+    context.soptions.set(StaticOptions.CACHESTORE, 1);
+    try {
+      // persisted result
+      final String query = "(<a>{ 1 to 3 }</a>, 1, 2.5, 'x', xs:date('2020-01-01'), text { 't' }, "
+          + "document { <b xmlns='u'>{ (1 to 1000) ! <c/> }</b> })";
+      query(_JOBS_EVAL.args(query, " ()", " map{ 'cache':true(), 'id':'persisted' }"));
+      query(_JOBS_WAIT.args("persisted"));
+      query(files, 1);
+      query("deep-equal(" + func.args("persisted") + ", " + query + ')', true);
+      query(files, 0);
+
+      // function items are kept in main memory
+      query(_JOBS_EVAL.args("map { 1: 2 }", " ()", " map{ 'cache':true(), 'id':'map' }"));
+      query(_JOBS_WAIT.args("map"));
+      query(files, 0);
+      query(func.args("map") + "(1)", 2);
+
+      // oldest result is discarded if the maximum size is exceeded
+      final String large = "string-join((1 to 30000) ! random:uuid())";
+      query(_JOBS_EVAL.args(large, " ()", " map{ 'cache':true(), 'id':'large1' }"));
+      query(_JOBS_WAIT.args("large1"));
+      query(_JOBS_EVAL.args(large, " ()", " map{ 'cache':true(), 'id':'large2' }"));
+      query(_JOBS_WAIT.args("large2"));
+      query(files, 1);
+      error(func.args("large1"), JOBS_DISCARDED_X);
+      error(func.args("large1"), JOBS_UNKNOWN_X);
+      query("string-length(" + func.args("large2") + ')', 1080000);
+    } finally {
+      context.soptions.set(StaticOptions.CACHESTORE, 0);
+    }
+  }
+
   /** Test method. */
   @Test public void waitFor() {
     final Function func = _JOBS_WAIT;
@@ -116,6 +116,16 @@ public final class JsonModuleTest extends SandboxTest {
     error("json:parse('42', map {'spec':'garbage'})", INVALIDOPT_X);
   }
 
+  /** Tests newline-delimited input. */
+  @Test public void parseLines() {
+    parse("{}&#xa;&#xa;[1]&#xd;&#xa;", "'lines':true()",
+        "<json type=\"array\">\n<_ type=\"object\"/>\n"
+        + "<_ type=\"array\">\n<_ type=\"number\">1</_>\n</_>\n</json>");
+    query("array:size(" + _JSON_PARSE.args("1&#xa;2&#xa;3", " map { 'lines': true(), "
+        + "'format': 'xquery' }") + ')', 3);
+    parseError("{}&#xa;{", "'lines':true()");
+  }
+
   /** Test method. */
   @Test public void serialize() {
     serial("<json type='object'/>", "", "{\n}");
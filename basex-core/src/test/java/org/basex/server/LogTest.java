@@ -0,0 +1,86 @@
+package org.basex.server;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.basex.*;
+import org.basex.core.*;
+import org.basex.io.*;
+import org.basex.server.Log.*;
+import org.basex.util.*;
+import org.junit.*;
+import org.junit.Test;
+
+/**
+ * This class tests the buffered writing of log entries.
+ *
+ * @author BaseX Team 2005-20, BSD License
+ * @author Christian Gruen
+ */
+public final class LogTest extends SandboxTest {
+  /** Number of log entries. */
+  private static final int ENTRIES = 1000;
+
+  /** Log instance. */
+  private Log log;
+
+  /** Enables logging. */
+  @Before public void init() {
+    context.soptions.set(StaticOptions.LOG, true);
+    log = new Log(context.soptions);
+  }
+
+  /** Disables logging. */
+  @After public void finish() {
+    log.close();
+    for(final IOFile file : log.files()) file.delete();
+    context.soptions.set(StaticOptions.LOG, false);
+    context.soptions.set(StaticOptions.LOGBUFFER, 0);
+  }
+
+  /**
+   * Writes log entries synchronously.
+   * @throws IOException I/O exception
+   */
+  @Test public void sync() throws IOException {
+    write();
+  }
+
+  /**
+   * Writes log entries asynchronously.
+   * @throws IOException I/O exception
+   */
+  @Test public void async() throws IOException {
+    context.soptions.set(StaticOptions.LOGBUFFER, 10);
+    write();
+  }
+
+  /**
+   * Writes log entries in parallel and checks if all entries have been written.
+   * @throws IOException I/O exception
+   */
+  private void write() throws IOException {
+    final ArrayList<Thread> threads = new ArrayList<>();
+    for(int t = 0; t < 4; t++) {
+      final int tt = t;
+      threads.add(new Thread(() -> {
+        for(int e = 0; e < ENTRIES; e++) log.writeServer(LogType.INFO, tt + ":" + e);
+      }));
+    }
+    for(final Thread thread : threads) thread.start();
+    for(final Thread thread : threads) {
+      try {
+        thread.join();
+      } catch(final InterruptedException ex) {
+        throw new AssertionError(ex);
+      }
+    }
+
+    final String name = DateTime.format(new Date(), DateTime.DATE);
+    final LogFile file = log.file(name);
+    assertNotNull(file);
+    assertEquals(4 * ENTRIES, file.read().size());
+  }
+}